@@ -1,5 +1,10 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 import customer.Customer;
 import customer.RegularCustomer;
 import customer.PremiumCustomer;
@@ -7,25 +12,100 @@ import account.Account;
 import account.SavingsAccount;
 import account.CheckingAccount;
 import account.AccountManager;
+import api.BankApiServer;
+import batch.BatchProcessor;
+import batch.BatchResult;
+import batch.InterestAccrualJob;
+import batch.MonthlyFeeJob;
+import batch.PeriodLedger;
+import batch.PostingJob;
+import batch.PostingResult;
+import batch.ReconciliationJob;
+import batch.ReconciliationResult;
+import batch.StatementRenderer;
+import batch.StatementRun;
+import batch.StatementRunResult;
+import exceptions.DurabilityException;
 import exceptions.ValidationException;
+import storage.SnapshotStore;
+import storage.TransactionJournal;
+import storage.WriteAheadLog;
+import transaction.IdempotencyCache;
+import transaction.SegmentArchive;
 import transaction.TransactionManager;
+import transaction.TransactionPage;
+import transaction.TransactionProcessor;
 import transaction.Transaction;
+import transaction.VelocityChecker;
 import ui.AccountUI;
 import ui.CustomerUI;
 import utils.CustomUtils;
 import utils.InputService;
 import utils.InputValidator;
+import utils.Money;
 
 
 public class Main {
     private static AccountManager accountManager = new AccountManager();
     private static TransactionManager transactionManager = new TransactionManager();
+    private static TransactionProcessor transactionProcessor = new TransactionProcessor(transactionManager);
     private static Scanner scanner = new Scanner(System.in);
     private static AccountUI accountUI;
     private static CustomerUI customerUI;
     static InputService inputService = new InputService(scanner);
 
+    private static final Path DATA_DIRECTORY = Path.of("data");
+    // Full log segments older than this move from the heap to compressed archive files
+    private static final long ARCHIVE_AGE_MILLIS = TimeUnit.DAYS.toMillis(90);
+    // Write-ahead log records between checkpoints that drop intents already in the journal
+    private static final int WAL_CHECKPOINT_RECORDS = 10_000;
+    private static TransactionJournal journal;
+    private static WriteAheadLog writeAheadLog;
+    private static SnapshotStore snapshotStore;
+    private static VelocityChecker velocityChecker; // Null until persistence has started
+
     public static void main(String[] args) {
+        // Restore saved accounts and transactions before anything else
+        startPersistence();
+
+        // Headless mode: java Main --batch <input.csv> <results.csv>
+        if (args.length == 3 && args[0].equals("--batch")) {
+            runBatch(Path.of(args[1]), Path.of(args[2]));
+            stopPersistence();
+            return;
+        }
+
+        // Local HTTP/JSON API: java Main --serve [port]
+        if (args.length >= 1 && args[0].equals("--serve")) {
+            runServer(args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+            stopPersistence();
+            return;
+        }
+
+        // Statements for every account: java Main --statements <directory> [yyyy-MM]
+        // or one concatenated file: java Main --statement-archive <file> [yyyy-MM]
+        if (args.length >= 2 && (args[0].equals("--statements") || args[0].equals("--statement-archive"))) {
+            runStatements(Path.of(args[1]), args[0].equals("--statement-archive"),
+                    args.length > 2 ? YearMonth.parse(args[2]) : YearMonth.now());
+            stopPersistence();
+            return;
+        }
+
+        // Ledger check against account balances, from the last checkpoint: java Main --reconcile
+        if (args.length == 1 && args[0].equals("--reconcile")) {
+            runReconciliation();
+            stopPersistence();
+            return;
+        }
+
+        // Month-end postings: java Main --post-interest|--post-fees [yyyy-MM], last month by default
+        if (args.length >= 1 && (args[0].equals("--post-interest") || args[0].equals("--post-fees"))) {
+            runMonthEndPosting(args[0].equals("--post-interest") ? "Interest" : "Fees",
+                    args.length > 1 ? YearMonth.parse(args[1]) : YearMonth.now().minusMonths(1));
+            stopPersistence();
+            return;
+        }
+
         // Initialize UI components
         accountUI = new AccountUI(accountManager, scanner);
         customerUI = new CustomerUI(accountManager, scanner);
@@ -70,6 +150,21 @@ public class Main {
     private static void runTest() {
         System.out.println("\nRunning tests...\n");
         test.AccountTest.runAllTests();
+        test.AccountIndexTest.runAllTests();
+        test.AccountStoreTest.runAllTests();
+        test.TransactionManagerTest.runAllTests();
+        test.TransactionJournalTest.runAllTests();
+        test.WriteAheadLogTest.runAllTests();
+        test.SnapshotStoreTest.runAllTests();
+        test.TransactionEventsTest.runAllTests();
+        test.IdempotencyCacheTest.runAllTests();
+        test.BatchProcessorTest.runAllTests();
+        test.BankApiServerTest.runAllTests();
+        test.InterestAccrualJobTest.runAllTests();
+        test.MonthlyFeeJobTest.runAllTests();
+        test.StatementRunTest.runAllTests();
+        test.ReconciliationJobTest.runAllTests();
+        test.VelocityCheckerTest.runAllTests();
     }
 
 
@@ -85,37 +180,8 @@ public class Main {
             return;
         }
 
-        CustomUtils.print("\n" + "=".repeat(60));
-        CustomUtils.print("ACCOUNT STATEMENT");
-        CustomUtils.print("=".repeat(60));
-
-        // Account Information
-        CustomUtils.print("\nACCOUNT INFORMATION:");
-        CustomUtils.print("Account Number: " + account.getAccountNumber());
-        CustomUtils.print("Account Type: " + account.getAccountType());
-        CustomUtils.print("Customer: " + account.getCustomer().getName());
-        CustomUtils.print("Customer ID: " + account.getCustomer().getCustomerId());
-        CustomUtils.print("Status: " + account.getStatus());
-        CustomUtils.print("Current Balance: $" + String.format("%.2f", account.getBalance()));
-
-        // Account-specific details
-        if (account instanceof SavingsAccount) {
-            SavingsAccount savings = (SavingsAccount) account;
-            CustomUtils.print("Interest Rate: " + savings.getInterestRate() + "%");
-            CustomUtils.print("Minimum Balance: $" + String.format("%.2f", savings.getMinimumBalance()));
-            CustomUtils.print("Interest Earned: $" + String.format("%.2f", savings.calculateInterest()));
-        } else if (account instanceof CheckingAccount) {
-            CheckingAccount checking = (CheckingAccount) account;
-            CustomUtils.print("Overdraft Limit: $" + String.format("%.2f", checking.getOverdraftLimit()));
-            CustomUtils.print("Monthly Fee: $" + String.format("%.2f", checking.getMonthlyFee()));
-            if (account.getCustomer().getCustomerType().equals("Premium")) {
-                CustomUtils.print("Monthly Fee Status: WAIVED");
-            }
-        }
-
-        CustomUtils.print("\n" + "=".repeat(60));
-        CustomUtils.print("Statement Date: " + LocalDate.now());
-        CustomUtils.print("=".repeat(60));
+        StatementRenderer renderer = new StatementRenderer(transactionManager, YearMonth.now(), LocalDate.now());
+        CustomUtils.printInline(renderer.render(account, new StringBuilder(4096)).toString());
 
         CustomUtils.printSuccess("Account statement generated successfully!");
     }
@@ -250,9 +316,10 @@ public class Main {
             }
 
             if (accountManager.addAccount(account)) {
+                saveSnapshot(); // New accounts are only persisted by snapshots
                 displayAccountCreationSuccess(account, customer);
             } else {
-                CustomUtils.printError("Cannot create more accounts. Maximum limit reached.");
+                CustomUtils.printError("Account could not be added. Duplicate account number.");
             }
 
         } catch (Exception e) {
@@ -282,17 +349,17 @@ public class Main {
         CustomUtils.print("Account Number: " + account.getAccountNumber());
         CustomUtils.print("Customer: " + customer.getName() + " (" + customer.getCustomerType() + ")");
         CustomUtils.print("Account Type: " + account.getAccountType());
-        CustomUtils.print("Initial Balance: $" + String.format("%.2f", account.getBalance()));
+        CustomUtils.print("Initial Balance: $" + Money.format(account.getBalanceCents()));
 
         if (account instanceof SavingsAccount) {
             SavingsAccount savings = (SavingsAccount) account;
             CustomUtils.print("Interest Rate: " + savings.getInterestRate() + "%");
-            CustomUtils.print("Minimum Balance: $" + String.format("%.2f", savings.getMinimumBalance()));
+            CustomUtils.print("Minimum Balance: $" + Money.format(savings.getMinimumBalanceCents()));
         } else if (account instanceof CheckingAccount) {
             CheckingAccount checking = (CheckingAccount) account;
-            CustomUtils.print("Overdraft Limit: $" + String.format("%.2f", checking.getOverdraftLimit()));
-            CustomUtils.print("Monthly Fee: $" + String.format("%.2f", checking.getMonthlyFee()));
-            if (customer.getCustomerType().equals("Premium")) {
+            CustomUtils.print("Overdraft Limit: $" + Money.format(checking.getOverdraftLimitCents()));
+            CustomUtils.print("Monthly Fee: $" + Money.format(checking.getMonthlyFeeCents()));
+            if (checking.isMonthlyFeeWaived()) {
                 CustomUtils.print("Monthly Fee Status: WAIVED (Premium Customer)");
             }
         }
@@ -321,7 +388,7 @@ public class Main {
             CustomUtils.print("\nAccount Details:");
             CustomUtils.print("Customer: " + sourceAccount.getCustomer().getName());
             CustomUtils.print("Account Type: " + sourceAccount.getAccountType());
-            CustomUtils.print("Current Balance: $" + String.format("%.2f", sourceAccount.getBalance()));
+            CustomUtils.print("Current Balance: $" + Money.format(sourceAccount.getBalanceCents()));
 
             CustomUtils.print("\nTransaction type:");
             CustomUtils.print("1. Deposit");
@@ -345,10 +412,10 @@ public class Main {
     }
 
     private static void handleDepositWithdrawal(Account account, int transactionType) {
-        double amount = inputService.getPositiveDouble("Enter amount: $");
+        long amount = Money.toCents(inputService.getPositiveDouble("Enter amount: $"));
 
         String type = (transactionType == 1) ? "DEPOSIT" : "WITHDRAWAL";
-        double previousBalance = account.getBalance();
+        long previousBalance = account.getBalanceCents();
 
         // For withdrawals, validate FIRST before showing confirmation
         if (transactionType == 2) { // WITHDRAWAL
@@ -358,20 +425,20 @@ public class Main {
 
             if (account instanceof SavingsAccount) {
                 SavingsAccount savings = (SavingsAccount) account;
-                double newBalance = previousBalance - amount;
-                if (newBalance < savings.getMinimumBalance()) {
+                long newBalance = previousBalance - amount;
+                if (newBalance < savings.getMinimumBalanceCents()) {
                     isValidWithdrawal = false;
-                    errorMessage = String.format("Withdrawal would violate minimum balance of $%.2f",
-                            savings.getMinimumBalance());
+                    errorMessage = "Withdrawal would violate minimum balance of $"
+                            + Money.format(savings.getMinimumBalanceCents());
                 }
             } else if (account instanceof CheckingAccount) {
                 CheckingAccount checking = (CheckingAccount) account;
-                double newBalance = previousBalance - amount;
-                double maxNegative = -checking.getOverdraftLimit();
+                long newBalance = previousBalance - amount;
+                long maxNegative = -checking.getOverdraftLimitCents();
                 if (newBalance < maxNegative) {
                     isValidWithdrawal = false;
-                    errorMessage = String.format("Withdrawal would exceed overdraft limit of $%.2f",
-                            checking.getOverdraftLimit());
+                    errorMessage = "Withdrawal would exceed overdraft limit of $"
+                            + Money.format(checking.getOverdraftLimitCents());
                 }
             }
 
@@ -379,33 +446,30 @@ public class Main {
             if (!isValidWithdrawal) {
                 CustomUtils.printError("Withdrawal not allowed!");
                 CustomUtils.printError(errorMessage);
-                CustomUtils.print(String.format("Current balance: $%.2f", previousBalance));
-                CustomUtils.print(String.format("Requested: $%.2f", amount));
+                CustomUtils.print("Current balance: $" + Money.format(previousBalance));
+                CustomUtils.print("Requested: $" + Money.format(amount));
                 return; // Exit without showing confirmation
             }
         }
 
         // Only show confirmation for valid transactions
-        double newBalance = (transactionType == 1) ? previousBalance + amount : previousBalance - amount;
+        long newBalance = (transactionType == 1) ? previousBalance + amount : previousBalance - amount;
         displayTransactionConfirmation(account.getAccountNumber(), type, amount, previousBalance, newBalance);
 
         boolean confirmed = inputService.getConfirmation("\nConfirm transaction?");
 
         if (confirmed) {
             try {
-                boolean success = account.processTransaction(amount, type);
-                if (success) {
-                    // Create and record transaction
-                    Transaction transaction = new Transaction(account.getAccountNumber(), type, amount, account.getBalance());
-                    transactionManager.addTransaction(transaction);
-
-                    CustomUtils.printSuccess("Transaction completed successfully!");
-                    CustomUtils.print("New Balance: $" + String.format("%.2f", account.getBalance()));
-                } else {
-                    CustomUtils.printError("Transaction failed unexpectedly!");
-                }
+                // Apply and record the transaction as one unit
+                Transaction transaction = transactionProcessor.processTransaction(account, amount, type);
+
+                CustomUtils.printSuccess("Transaction completed successfully!");
+                CustomUtils.print("New Balance: $" + Money.format(transaction.getBalanceAfterCents()));
             } catch (IllegalArgumentException e) {
                 CustomUtils.printError("Transaction Error: " + e.getMessage());
+            } catch (DurabilityException e) {
+                // Applied in memory; retrying would apply it twice
+                CustomUtils.printError("Transaction applied, but it may not survive a restart: " + e.getMessage());
             }
         } else {
             CustomUtils.print("Transaction cancelled.");
@@ -431,9 +495,9 @@ public class Main {
         CustomUtils.print("\nTarget Account Details:");
         CustomUtils.print("Customer: " + targetAccount.getCustomer().getName());
         CustomUtils.print("Account Type: " + targetAccount.getAccountType());
-        CustomUtils.print("Current Balance: $" + String.format("%.2f", targetAccount.getBalance()));
+        CustomUtils.print("Current Balance: $" + Money.format(targetAccount.getBalanceCents()));
 
-        double amount = inputService.getPositiveDouble("Enter amount: $");
+        long amount = Money.toCents(inputService.getPositiveDouble("Enter amount: $"));
 
         // Display transfer confirmation
         displayTransferConfirmation(sourceAccount, targetAccount, amount);
@@ -442,77 +506,58 @@ public class Main {
 
         if (confirmed) {
             try {
-                boolean success = sourceAccount.transfer(targetAccount, amount);
-                if (success) {
-                    // Record both transactions (withdrawal from source, deposit to target)
-                    Transaction withdrawalTransaction = new Transaction(
-                            sourceAccount.getAccountNumber(),
-                            "TRANSFER_OUT",
-                            amount,
-                            sourceAccount.getBalance()
-                    );
-                    transactionManager.addTransaction(withdrawalTransaction);
-
-                    Transaction depositTransaction = new Transaction(
-                            targetAccount.getAccountNumber(),
-                            "TRANSFER_IN",
-                            amount,
-                            targetAccount.getBalance()
-                    );
-                    transactionManager.addTransaction(depositTransaction);
-
-                    CustomUtils.printSuccess("Transfer completed successfully!");
-                    CustomUtils.print("\nSource Account:");
-                    CustomUtils.print("New Balance: $" + String.format("%.2f", sourceAccount.getBalance()));
-                    CustomUtils.print("\nTarget Account:");
-                    CustomUtils.print("New Balance: $" + String.format("%.2f", targetAccount.getBalance()));
-                } else {
-                    CustomUtils.printError("Transfer failed!");
-                }
+                // Withdrawal, deposit and both TRANSFER_OUT/TRANSFER_IN records commit together
+                Transaction[] transferTransactions = transactionProcessor.transfer(sourceAccount, targetAccount, amount);
+
+                CustomUtils.printSuccess("Transfer completed successfully!");
+                CustomUtils.print("\nSource Account:");
+                CustomUtils.print("New Balance: $" + Money.format(transferTransactions[0].getBalanceAfterCents()));
+                CustomUtils.print("\nTarget Account:");
+                CustomUtils.print("New Balance: $" + Money.format(transferTransactions[1].getBalanceAfterCents()));
             } catch (IllegalArgumentException e) {
                 CustomUtils.printError("Transfer Error: " + e.getMessage());
+            } catch (DurabilityException e) {
+                CustomUtils.printError("Transfer applied, but it may not survive a restart: " + e.getMessage());
             }
         } else {
             CustomUtils.print("Transfer cancelled.");
         }
     }
 
-    private static void displayTransferConfirmation(Account sourceAccount, Account targetAccount, double amount) {
+    private static void displayTransferConfirmation(Account sourceAccount, Account targetAccount, long amount) {
         CustomUtils.print("\nTRANSFER CONFIRMATION");
         CustomUtils.printDivider(40);
 
         CustomUtils.print("FROM:");
         CustomUtils.print("  Account: " + sourceAccount.getAccountNumber());
         CustomUtils.print("  Customer: " + sourceAccount.getCustomer().getName());
-        CustomUtils.print("  Current Balance: $" + String.format("%.2f", sourceAccount.getBalance()));
+        CustomUtils.print("  Current Balance: $" + Money.format(sourceAccount.getBalanceCents()));
 
         CustomUtils.print("\nTO:");
         CustomUtils.print("  Account: " + targetAccount.getAccountNumber());
         CustomUtils.print("  Customer: " + targetAccount.getCustomer().getName());
-        CustomUtils.print("  Current Balance: $" + String.format("%.2f", targetAccount.getBalance()));
+        CustomUtils.print("  Current Balance: $" + Money.format(targetAccount.getBalanceCents()));
 
         CustomUtils.print("\nTRANSFER DETAILS:");
-        CustomUtils.print("  Amount: $" + String.format("%.2f", amount));
-        CustomUtils.print("  From New Balance: $" + String.format("%.2f", sourceAccount.getBalance() - amount));
-        CustomUtils.print("  To New Balance: $" + String.format("%.2f", targetAccount.getBalance() + amount));
+        CustomUtils.print("  Amount: $" + Money.format(amount));
+        CustomUtils.print("  From New Balance: $" + Money.format(sourceAccount.getBalanceCents() - amount));
+        CustomUtils.print("  To New Balance: $" + Money.format(targetAccount.getBalanceCents() + amount));
 
-        CustomUtils.print("  Date/Time: " + java.time.LocalDateTime.now().format(
-                java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy hh:mm a")));
+        CustomUtils.print("  Date/Time: " + Transaction.formatTimestamp(System.currentTimeMillis()));
         CustomUtils.printDivider(40);
     }
 
     private static void displayTransactionConfirmation(String accountNumber, String type,
-                                                       double amount, double previousBalance, double newBalance) {
+                                                       long amount, long previousBalance, long newBalance) {
         CustomUtils.print("\nTRANSACTION CONFIRMATION");
         CustomUtils.printDivider(30);
-        CustomUtils.print("Transaction ID: TXN" + String.format("%03d", Transaction.getTransactionCounter() + 1));
+        CustomUtils.print("Transaction ID: " + Transaction.formatTransactionId(Transaction.getTransactionCounter() + 1));
         CustomUtils.print("Account: " + accountNumber);
         CustomUtils.print("Type: " + type);
-        CustomUtils.print("Amount: $" + String.format("%.2f", amount));
-        CustomUtils.print("Previous Balance: $" + String.format("%.2f", previousBalance));
-        CustomUtils.print("New Balance: $" + String.format("%.2f", newBalance));
-        CustomUtils.print("Date/Time: " + java.time.LocalDateTime.now().format(
-                java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy hh:mm a")));
+        CustomUtils.print("Amount: $" + Money.format(amount));
+        CustomUtils.print("Previous Balance: $" + Money.format(previousBalance));
+        CustomUtils.print("New Balance: $" + Money.format(newBalance));
+        CustomUtils.print("Date/Time: " + Transaction.formatTimestamp(System.currentTimeMillis()));
         CustomUtils.printDivider(30);
     }
 
@@ -530,14 +575,193 @@ public class Main {
                 return;
             }
 
-            transactionManager.viewTransactionsByAccount(accountNumber);
+            // Fetch one page at a time so long histories are never loaded all at once
+            TransactionPage page = transactionManager.getTransactionPage(
+                    accountNumber, TransactionPage.NEWEST, TransactionManager.DEFAULT_PAGE_SIZE);
+            if (page.isEmpty()) {
+                CustomUtils.print("No transactions found for account: " + accountNumber);
+                return;
+            }
+
+            transactionManager.printHistoryHeader(accountNumber);
+            transactionManager.printTransactionRows(page);
+            while (page.hasMore() && inputService.getConfirmation("Show older transactions?")) {
+                page = transactionManager.getTransactionPage(
+                        accountNumber, page.getNextCursor(), TransactionManager.DEFAULT_PAGE_SIZE);
+                transactionManager.printTransactionRows(page);
+            }
+            transactionManager.printHistorySummary(accountNumber);
 
         } catch (Exception e) {
             CustomUtils.printError("Error viewing transaction history: " + e.getMessage());
         }
     }
 
+    private static void runBatch(Path input, Path output) {
+        // Rows are recorded in the journal, which is synced when persistence stops;
+        // waiting on the write-ahead log for every row would serialize the run on fsync.
+        // Velocity rules apply to batch debits as to any other; rows carry no idempotency keys
+        BatchProcessor batchProcessor = new BatchProcessor(accountManager,
+                new TransactionProcessor(transactionManager, null, null, velocityChecker));
+        try {
+            BatchResult result = batchProcessor.process(input, output);
+            CustomUtils.printSuccess(String.format("Processed %d rows in %d ms (%.0f rows/sec)",
+                    result.getRowCount(), result.getElapsedMillis(), result.getRowsPerSecond()));
+            CustomUtils.print("Applied: " + result.getAppliedCount()
+                    + ", Invalid: " + result.getInvalidCount()
+                    + ", Rejected: " + result.getRejectedCount());
+            CustomUtils.print("Results written to " + output);
+            reportArchiveFailure(); // A large batch is where the log grows fastest
+            saveSnapshot();
+        } catch (IOException | RuntimeException e) {
+            CustomUtils.printError("Batch failed: " + e.getMessage());
+        }
+    }
+
+    private static void runMonthEndPosting(String name, YearMonth period) {
+        try {
+            PeriodLedger ledger = new PeriodLedger(DATA_DIRECTORY.resolve("ledger"));
+            PostingJob job = name.equals("Interest")
+                    ? new InterestAccrualJob(accountManager, transactionManager, ledger)
+                    : new MonthlyFeeJob(accountManager, transactionManager, ledger);
+            PostingResult result = job.run(period);
+            if (result.isAlreadyDone()) {
+                CustomUtils.print(name + " for " + period + " already posted");
+                return;
+            }
+            CustomUtils.printSuccess(String.format("Posted %s for %s to %d accounts in %d ms (%.0f accounts/sec)",
+                    name.toLowerCase(), period, result.getPostedCount(), result.getElapsedMillis(), result.getAccountsPerSecond()));
+            CustomUtils.print("Total: $" + Money.format(result.getTotalCents())
+                    + ", Skipped: " + result.getSkippedCount()
+                    + ", Declined: " + result.getDeclinedCount());
+            saveSnapshot();
+        } catch (IOException | RuntimeException e) {
+            CustomUtils.printError(name + " posting failed: " + e.getMessage());
+        }
+    }
+
+    private static void runStatements(Path output, boolean archive, YearMonth period) {
+        StatementRun statementRun = new StatementRun(accountManager, transactionManager);
+        try {
+            StatementRunResult result = archive
+                    ? statementRun.writeArchive(output, period, null)
+                    : statementRun.writeFiles(output, period, null);
+            CustomUtils.printSuccess(String.format("Wrote %d statements for %s in %d ms (%.0f statements/sec, %.1f MB/s)",
+                    result.getStatementCount(), period, result.getElapsedMillis(),
+                    result.getStatementsPerSecond(), result.getMegabytesPerSecond()));
+            CustomUtils.print("Output: " + output);
+        } catch (IOException | RuntimeException e) {
+            CustomUtils.printError("Statement run failed: " + e.getMessage());
+        }
+    }
+
+    private static void runReconciliation() {
+        try {
+            ReconciliationResult result = new ReconciliationJob(accountManager, transactionManager,
+                    DATA_DIRECTORY.resolve("reconciliation.checkpoint")).run();
+            CustomUtils.print(String.format("Checked %d accounts, replayed %d new transactions in %d ms",
+                    result.getAccountsChecked(), result.getTransactionsReplayed(), result.getElapsedMillis()));
+            if (result.isBalanced()) {
+                CustomUtils.printSuccess("All accounts reconcile");
+                return;
+            }
+            CustomUtils.printError(result.getMismatches().size() + " account(s) do not reconcile:");
+            for (ReconciliationResult.Mismatch mismatch : result.getMismatches()) {
+                CustomUtils.print("  " + mismatch);
+            }
+        } catch (IOException | RuntimeException e) {
+            CustomUtils.printError("Reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    private static void runServer(int port) {
+        try (BankApiServer server = new BankApiServer(new InetSocketAddress("127.0.0.1", port),
+                accountManager, transactionManager, transactionProcessor, Main::saveSnapshot)) {
+            server.start();
+            CustomUtils.printSuccess("API listening on http://127.0.0.1:" + server.getPort() + "/accounts");
+            CustomUtils.printInline("Press Enter to stop...");
+            if (scanner.hasNextLine()) {
+                scanner.nextLine();
+            } else {
+                // No console (e.g. started in the background): serve until the process is stopped
+                Runtime.getRuntime().addShutdownHook(new Thread(Main::stopPersistence));
+                Thread.currentThread().join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            CustomUtils.printError("Could not start API server: " + e.getMessage());
+        }
+    }
+
+    // Load the newest snapshot, replay the journal records written after it, then keep persisting
+    private static void startPersistence() {
+        try {
+            journal = new TransactionJournal(DATA_DIRECTORY.resolve("transactions.journal"));
+            snapshotStore = new SnapshotStore(DATA_DIRECTORY.resolve("snapshots"), accountManager, journal);
+            long replayFrom = snapshotStore.load();
+            journal.replay(transactionManager, accountManager, replayFrom);
+            // Balances before replayFrom are already in the snapshot; that history is loaded when first read
+            transactionManager.deferHistory(journal, replayFrom);
+            transactionManager.enableArchiving(new SegmentArchive(DATA_DIRECTORY.resolve("archive"), 8), ARCHIVE_AGE_MILLIS);
+            reportArchiveFailure();
+            transactionManager.attachJournal(journal);
+
+            writeAheadLog = new WriteAheadLog(DATA_DIRECTORY.resolve("bank.wal"));
+            writeAheadLog.enableCheckpoints(WAL_CHECKPOINT_RECORDS, transactionManager::syncJournal);
+            // Intents the journal lost (or that never applied) from the last run, before any new ones
+            int recovered = writeAheadLog.recover(accountManager, transactionManager, journal);
+            if (recovered > 0) {
+                CustomUtils.print("Recovered " + recovered + " operation(s) from the write-ahead log");
+            }
+            velocityChecker = new VelocityChecker(VelocityChecker.defaultRules());
+            velocityChecker.setFlagListener((accountNumber, rule, amountCents) ->
+                    CustomUtils.print("Velocity flag on " + accountNumber + ": $" + Money.format(amountCents) + " (" + rule + ")"));
+            transactionProcessor = new TransactionProcessor(transactionManager, writeAheadLog,
+                    new IdempotencyCache(), velocityChecker);
+            snapshotStore.start(30, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            CustomUtils.printError("Could not open data files, changes will not be saved: " + e.getMessage());
+        }
+    }
+
+    private static void reportArchiveFailure() {
+        IOException failure = transactionManager.getArchiveFailure();
+        if (failure != null) {
+            CustomUtils.printError("Transaction archiving stopped; old history stays in memory: " + failure.getMessage());
+        }
+    }
+
+    private static void saveSnapshot() {
+        if (snapshotStore == null) {
+            return;
+        }
+        try {
+            snapshotStore.snapshot();
+        } catch (IOException e) {
+            CustomUtils.printError("Could not save snapshot: " + e.getMessage());
+        }
+    }
+
+    // Final snapshot first (it records the journal position), then close the logs
+    private static void stopPersistence() {
+        try {
+            if (snapshotStore != null) {
+                snapshotStore.close();
+            }
+            if (writeAheadLog != null) {
+                writeAheadLog.close();
+            }
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (IOException e) {
+            CustomUtils.printError("Error saving data: " + e.getMessage());
+        }
+    }
+
     private static void exitApplication() {
+        stopPersistence();
         CustomUtils.print();
         CustomUtils.printSuccess("Thank you for using Bank Account Management System!");
         CustomUtils.print("Goodbye!");
@@ -3,61 +3,193 @@ package account;
 import customer.Customer;
 import transaction.Transactable;
 import utils.CustomUtils;
+import utils.Money;
 import exceptions.InsufficientFundsException;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
 public abstract class Account implements Transactable {
+    // Opening balance of an account restored from a snapshot that did not record one
+    public static final long UNKNOWN_BALANCE = Long.MIN_VALUE;
+
     private final String accountNumber;
     private Customer customer;
-    private double balance;
+    // Balance in cents; updated only by compare-and-set
+    private final AtomicLong balance;
     private String status;
+    // Balance before the first recorded transaction, in cents
+    private volatile long openingBalanceCents;
+    // Position in the global lock order used by transfers
+    private final int lockOrder;
+    private final ReentrantLock lock = new ReentrantLock();
 
-    private static int accountCounter = 0;
+    private static final AtomicInteger accountCounter = new AtomicInteger();
 
     public Account(Customer customer, double openingBalance) {
-        this.accountNumber = generateAccountNumber();
+        int number = accountCounter.incrementAndGet();
+        this.accountNumber = formatAccountNumber(number);
+        this.lockOrder = number;
         this.customer = customer;
-        this.balance = openingBalance;
+        this.balance = new AtomicLong(Money.toCents(openingBalance));
+        this.openingBalanceCents = balance.get();
         this.status = "Active";
     }
 
-    private String generateAccountNumber() {
-        accountCounter++;
-        return String.format("ACC%03d", accountCounter);
+    // Recreate a persisted account, keeping its number; later numbers continue after it
+    protected Account(String accountNumber, Customer customer, long balanceCents, String status) {
+        int number = parseAccountNumber(accountNumber);
+        if (number < 0) {
+            throw new IllegalArgumentException("Invalid account number: " + accountNumber);
+        }
+        this.accountNumber = accountNumber;
+        this.lockOrder = number;
+        this.customer = customer;
+        this.balance = new AtomicLong(balanceCents);
+        this.openingBalanceCents = UNKNOWN_BALANCE; // Set by whoever restores it, if it was kept
+        this.status = status;
+        accountCounter.accumulateAndGet(number, Math::max);
+    }
+
+    // e.g. 7 -> "ACC007"
+    public static String formatAccountNumber(int number) {
+        return String.format("ACC%03d", number);
+    }
+
+    // Numeric part of "ACCnnn", or -1 if the string is not an account number
+    public static int parseAccountNumber(String accountNumber) {
+        return AccountIndex.parseKey(accountNumber);
     }
 
     // Getters and Setters
     public String getAccountNumber() { return accountNumber; }
     public Customer getCustomer() { return customer; }
-    public double getBalance() { return balance; }
+    public double getBalance() { return Money.toDollars(balance.get()); }
+    public long getBalanceCents() { return balance.get(); }
     public String getStatus() { return status; }
-    public static int getAccountCounter() { return accountCounter; }
-    public void setBalance(double balance) { this.balance = balance; }
+    public long getOpeningBalanceCents() { return openingBalanceCents; }
+    public static int getAccountCounter() { return accountCounter.get(); }
+    public void setBalance(double balance) { this.balance.set(Money.toCents(balance)); }
+    public void setBalanceCents(long balanceCents) { this.balance.set(balanceCents); }
     public void setStatus(String status) { this.status = status; }
+    public void setOpeningBalanceCents(long openingBalanceCents) { this.openingBalanceCents = openingBalanceCents; }
 
     // Abstract methods
     public abstract void displayAccountDetails();
     public abstract String getAccountType();
 
+    // Locking: single-account and ordered two-account critical sections
+    public <T> T callLocked(Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Locks are always taken in lockOrder, so opposite-direction transfers cannot deadlock
+    public static <T> T callWithBothLocked(Account first, Account second, Supplier<T> action) {
+        Account outer = first.lockOrder <= second.lockOrder ? first : second;
+        Account inner = (outer == first) ? second : first;
+
+        outer.lock.lock();
+        try {
+            inner.lock.lock();
+            try {
+                return action.get();
+            } finally {
+                inner.lock.unlock();
+            }
+        } finally {
+            outer.lock.unlock();
+        }
+    }
+
+    // Locks every account in lockOrder, like callWithBothLocked, so it cannot deadlock with transfers
+    public static <T> T callWithAllLocked(List<? extends Account> accounts, Supplier<T> action) {
+        Account[] ordered = accounts.toArray(new Account[0]);
+        Arrays.sort(ordered, Comparator.comparingInt(account -> account.lockOrder));
+        int locked = 0;
+        try {
+            for (Account account : ordered) {
+                account.lock.lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            while (locked > 0) {
+                ordered[--locked].lock.unlock();
+            }
+        }
+    }
+
     // Transaction methods
     public void deposit(double amount) {
-        if (amount <= 0) {
+        depositCents(Money.toCents(amount));
+    }
+
+    // Applies a deposit as one atomic step; returns the new balance in cents
+    public final long depositCents(long amountCents) {
+        if (amountCents <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
-        balance += amount;
+
+        long current;
+        long newBalance;
+        do {
+            current = balance.get();
+            newBalance = Money.add(current, amountCents);
+        } while (!compareAndSetBalance(current, newBalance));
+        return newBalance;
     }
 
     public boolean withdraw(double amount) {
-        if (amount <= 0) {
+        withdrawCents(Money.toCents(amount));
+        return true;
+    }
+
+    // Checks the withdrawal rules against a balance read inside the CAS loop
+    protected void validateWithdrawal(long currentBalanceCents, long amountCents) {
+        if (amountCents > currentBalanceCents) {
+            throw new InsufficientFundsException(accountNumber, currentBalanceCents, amountCents);
+        }
+    }
+
+    // Validates and applies a withdrawal as one atomic step; returns the new balance in cents
+    public final long withdrawCents(long amountCents) {
+        if (amountCents <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
-        if (amount > balance) {
-            throw new InsufficientFundsException(accountNumber, balance, amount);
+
+        long current;
+        long newBalance;
+        do {
+            current = balance.get();
+            validateWithdrawal(current, amountCents);
+            newBalance = Money.subtract(current, amountCents);
+        } while (!compareAndSetBalance(current, newBalance));
+        return newBalance;
+    }
+
+    private boolean compareAndSetBalance(long expected, long updated) {
+        if (balance.compareAndSet(expected, updated)) {
+            return true;
         }
-        balance -= amount;
-        return true;
+        Thread.onSpinWait(); // Back off briefly when another thread won the race
+        return false;
     }
 
     public boolean transfer(Account targetAccount, double amount) {
+        return transferCents(targetAccount, Money.toCents(amount));
+    }
+
+    public boolean transferCents(Account targetAccount, long amountCents) {
         if (targetAccount == null) {
             throw new IllegalArgumentException("Target account cannot be null");
         }
@@ -66,29 +198,38 @@ public abstract class Account implements Transactable {
             throw new IllegalArgumentException("Cannot transfer to the same account");
         }
 
-        if (amount <= 0) {
+        if (amountCents <= 0) {
             throw new IllegalArgumentException("Transfer amount must be positive");
         }
 
+        return callWithBothLocked(this, targetAccount, () -> moveFunds(targetAccount, amountCents));
+    }
+
+    // Runs with both accounts locked: withdraw and deposit succeed or fail together
+    private boolean moveFunds(Account targetAccount, long amountCents) {
         // Check if source account has sufficient funds
-        if (amount > this.balance) {
-            throw new InsufficientFundsException(accountNumber, balance, amount);
+        long currentBalance = balance.get();
+        if (amountCents > currentBalance) {
+            throw new InsufficientFundsException(accountNumber, currentBalance, amountCents);
         }
 
         try {
             // Withdraw from source account
-            boolean withdrawalSuccess = this.withdraw(amount);
-            if (!withdrawalSuccess) {
-                return false;
-            }
+            withdrawCents(amountCents);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Transfer failed: " + e.getMessage(), e);
+        }
 
+        try {
             // Deposit to target account
-            targetAccount.deposit(amount);
-
-            return true;
-        } catch (IllegalArgumentException e) {
+            targetAccount.depositCents(amountCents);
+        } catch (RuntimeException e) {
+            // Put the money back so a failed transfer never loses funds
+            depositCents(amountCents);
             throw new IllegalArgumentException("Transfer failed: " + e.getMessage(), e);
         }
+
+        return true;
     }
 
     @Override
@@ -0,0 +1,159 @@
+package account;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open-addressing hash index from account number to {@link Account}.
+ * Keys are the numeric part of "ACCnnn" account numbers, so lookups
+ * never hash or allocate a String. Only numbers in the form
+ * Account.formatAccountNumber produces are indexed: "ACC01" would share a
+ * key with "ACC001", and the journal and write-ahead log store the key and
+ * format the number again on the way back.
+ *
+ * Safe for any number of readers alongside one writer at a time (callers
+ * serialize put, as AccountManager does). The table is published as a whole
+ * through a volatile field, so a reader never pairs a mask with the wrong
+ * arrays; within a table a slot's key is written before its account, which
+ * is a release store, so a reader that sees the account sees its key.
+ */
+public class AccountIndex {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private volatile Table table;
+    private int size;
+
+    public AccountIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public AccountIndex(int expectedSize) {
+        this.table = new Table(tableSizeFor(Math.max(expectedSize, DEFAULT_CAPACITY / 2) * 2));
+        this.size = 0;
+    }
+
+    // Add or replace an account in the index; rejects numbers that are invalid or share a key with another
+    public void put(Account account) {
+        String accountNumber = account.getAccountNumber();
+        int key = parseKey(accountNumber);
+        if (key < 0 || !accountNumber.equals(Account.formatAccountNumber(key))) {
+            throw new IllegalArgumentException("Invalid account number: " + accountNumber);
+        }
+
+        Table current = table;
+        if ((size + 1) * 2 > current.keys.length) {
+            current = resize(current, current.keys.length * 2);
+            table = current;
+        }
+
+        int slot = hash(key) & current.mask;
+        Account existing;
+        while ((existing = current.values.get(slot)) != null) {
+            if (current.keys[slot] == key) {
+                if (!existing.getAccountNumber().equals(accountNumber)) {
+                    throw new IllegalArgumentException("Account number " + accountNumber
+                            + " collides with " + existing.getAccountNumber());
+                }
+                current.values.set(slot, account);
+                return;
+            }
+            slot = (slot + 1) & current.mask;
+        }
+        current.keys[slot] = key;
+        current.values.set(slot, account);
+        size++;
+    }
+
+    // Find account by account number, or null if not indexed
+    public Account get(String accountNumber) {
+        int key = parseKey(accountNumber);
+        if (key < 0) {
+            return null;
+        }
+
+        Table current = table;
+        int slot = hash(key) & current.mask;
+        Account account;
+        while ((account = current.values.get(slot)) != null) {
+            if (current.keys[slot] == key) {
+                // "ACC01" and "ACC001" share a key, so confirm the exact number
+                return account.getAccountNumber().equals(accountNumber) ? account : null;
+            }
+            slot = (slot + 1) & current.mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Approximate table footprint: one int key and one reference per slot
+    public long getOverheadBytes() {
+        return 32 + (long) table.keys.length * (Integer.BYTES + 4);
+    }
+
+    // Numeric part of "ACCnnn", or -1 if the string is not in that format
+    static int parseKey(String accountNumber) {
+        if (accountNumber == null) {
+            return -1;
+        }
+        int length = accountNumber.length();
+        if (length < 4 || length > 13
+                || accountNumber.charAt(0) != 'A'
+                || accountNumber.charAt(1) != 'C'
+                || accountNumber.charAt(2) != 'C') {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = 3; i < length; i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    // Build a larger table off to the side; it is only published once complete
+    private static Table resize(Table old, int newCapacity) {
+        Table resized = new Table(newCapacity);
+        for (int i = 0; i < old.keys.length; i++) {
+            Account account = old.values.get(i);
+            if (account != null) {
+                int slot = hash(old.keys[i]) & resized.mask;
+                while (resized.values.get(slot) != null) {
+                    slot = (slot + 1) & resized.mask;
+                }
+                resized.keys[slot] = old.keys[i];
+                resized.values.set(slot, account);
+            }
+        }
+        return resized;
+    }
+
+    // Fibonacci hashing spreads sequential account numbers across the table
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        return capacity < 0 ? 1 << 30 : capacity;
+    }
+
+    // Keys, accounts and mask of one table size, always read together
+    private static final class Table {
+        final int[] keys;
+        final AtomicReferenceArray<Account> values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new int[capacity];
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+    }
+}
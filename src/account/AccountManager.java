@@ -1,76 +1,112 @@
 package account;
 
 import utils.CustomUtils;
+import utils.Money;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AccountManager {
-    private Account[] accounts;
-    private int accountCount;
+    private final AccountStore accounts;
+    private final AccountIndex accountIndex;
+    // Accounts changed outside a transaction (e.g. status), which the journal does not record
+    private final Set<String> changedAccounts = ConcurrentHashMap.newKeySet();
 
     public AccountManager() {
-        this.accounts = new Account[50];
-        this.accountCount = 0;
+        this.accounts = new AccountStore();
+        this.accountIndex = new AccountIndex();
     }
 
+    // Capacity is only a sizing hint; the store grows without limit
     public AccountManager(int capacity) {
-        this.accounts = new Account[capacity];
-        this.accountCount = 0;
+        this.accounts = new AccountStore();
+        this.accountIndex = new AccountIndex(capacity);
     }
 
-    // Add account to array
-    public boolean addAccount(Account account) {
-        if (accountCount < accounts.length) {
-            accounts[accountCount] = account;
-            accountCount++;
-            return true;
+    // Add account to the store; adds are serialized, lookups and getAccount may run alongside them
+    public synchronized boolean addAccount(Account account) {
+        if (account == null || accountIndex.get(account.getAccountNumber()) != null) {
+            return false; // Missing or duplicate account
         }
-        return false; // Array is full
+        accountIndex.put(account); // Throws for a number the index cannot hold, before the store changes
+        accounts.add(account);
+        return true;
     }
 
-    // Find account by account number
+    // Find account by account number (hash index lookup)
     public Account findAccount(String accountNumber) {
-        for (int i = 0; i < accountCount; i++) {
-            if (accounts[i].getAccountNumber().equals(accountNumber)) {
-                return accounts[i];
-            }
-        }
-        return null; // Account not found
+        return accountIndex.get(accountNumber); // null if account not found
     }
 
     // Display all accounts
     public boolean viewAllAccounts() {
+        int accountCount = accounts.size();
         if (accountCount == 0) {
             CustomUtils.print("No accounts found.");
             return false;
         }
 
-        double totalBalance = 0;
+        long totalBalance = 0; // cents
         CustomUtils.print("\n" + "─".repeat(80));
         CustomUtils.print("ACCOUNT LISTING");
         CustomUtils.print("─".repeat(80));
 
         for (int i = 0; i < accountCount; i++) {
-            Account account = accounts[i];
+            Account account = accounts.get(i);
 
             account.displayAccountDetails();
 
             CustomUtils.print("─".repeat(80));
-            totalBalance += account.getBalance();
+            totalBalance += account.getBalanceCents();
         }
 
         CustomUtils.print("Total Accounts: " + accountCount);
-        CustomUtils.print("Total Bank Balance: $" + String.format("%.2f", totalBalance));
+        CustomUtils.print("Total Bank Balance: $" + Money.format(totalBalance));
 
         return true;
     }
 
+    // Change an account's status; noted so the next incremental snapshot includes it
+    public void updateStatus(Account account, String status) {
+        account.setStatus(status);
+        markChanged(account.getAccountNumber());
+    }
+
+    // Note a change the journal does not record
+    public void markChanged(String accountNumber) {
+        changedAccounts.add(accountNumber);
+    }
+
+    // Numbers of accounts noted by markChanged since the last call
+    public List<String> takeChangedAccounts() {
+        List<String> taken = new ArrayList<>();
+        for (Iterator<String> it = changedAccounts.iterator(); it.hasNext(); ) {
+            taken.add(it.next());
+            it.remove();
+        }
+        return taken;
+    }
 
-    // Get all accounts (for TransactionManager)
-    public Account[] getAccounts() {
-        return accounts;
+    // Get account by position, 0 <= index < getActualAccountCount()
+    public Account getAccount(int index) {
+        return accounts.get(index);
     }
 
-    // Get account count (for TransactionManager)
+    // Get account count
     public int getActualAccountCount() {
-        return accountCount;
+        return accounts.size();
+    }
+
+    // Memory used by the account store and index, excluding the accounts themselves
+    public long getStorageOverheadBytes() {
+        return accounts.getOverheadBytes() + accountIndex.getOverheadBytes();
+    }
+
+    public double getStorageOverheadBytesPerAccount() {
+        int count = accounts.size();
+        return count == 0 ? 0 : getStorageOverheadBytes() / (double) count;
     }
 }
\ No newline at end of file
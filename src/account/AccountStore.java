@@ -0,0 +1,76 @@
+package account;
+
+/**
+ * Growable account storage made of fixed-size pages.
+ * Growing only allocates a new page (and occasionally a larger page
+ * directory), so existing accounts are never copied or moved.
+ */
+public class AccountStore {
+    public static final int PAGE_SHIFT = 10;
+    public static final int PAGE_SIZE = 1 << PAGE_SHIFT; // 1024 accounts per page
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    // Approximate size of one object reference on a compressed-oops JVM
+    private static final int REFERENCE_BYTES = 4;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private Account[][] pages;
+    private int pageCount;
+    // Published after the slot is written, so concurrent readers (e.g. snapshots) see complete entries
+    private volatile int size;
+
+    public AccountStore() {
+        this.pages = new Account[8][];
+        this.pageCount = 0;
+        this.size = 0;
+    }
+
+    // Append an account and return its position
+    public int add(Account account) {
+        int position = size;
+        int pageIndex = position >>> PAGE_SHIFT;
+        if (pageIndex == pageCount) {
+            addPage();
+        }
+        pages[pageIndex][position & PAGE_MASK] = account;
+        size = position + 1;
+        return position;
+    }
+
+    public Account get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of bounds for size " + size);
+        }
+        return pages[position >>> PAGE_SHIFT][position & PAGE_MASK];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    // Bytes used by the store itself, excluding the Account objects
+    public long getOverheadBytes() {
+        long directoryBytes = ARRAY_HEADER_BYTES + (long) pages.length * REFERENCE_BYTES;
+        long pageBytes = (long) pageCount * (ARRAY_HEADER_BYTES + (long) PAGE_SIZE * REFERENCE_BYTES);
+        return directoryBytes + pageBytes;
+    }
+
+    // Overhead per stored account; tends to REFERENCE_BYTES as the store fills
+    public double getOverheadBytesPerAccount() {
+        return size == 0 ? 0 : getOverheadBytes() / (double) size;
+    }
+
+    private void addPage() {
+        if (pageCount == pages.length) {
+            // Only the directory of page references is copied, never the pages
+            Account[][] newPages = new Account[pages.length * 2][];
+            System.arraycopy(pages, 0, newPages, 0, pageCount);
+            pages = newPages;
+        }
+        pages[pageCount++] = new Account[PAGE_SIZE];
+    }
+}
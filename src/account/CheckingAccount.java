@@ -2,51 +2,69 @@ package account;
 
 import customer.Customer;
 import utils.CustomUtils;
+import utils.Money;
 
 public class CheckingAccount extends Account {
-    private final double overdraftLimit;
-    private final double monthlyFee;
+    private final long overdraftLimitCents;
+    private final long monthlyFeeCents;
 
     public CheckingAccount(Customer customer, double openingBalance) {
         super(customer, openingBalance);
-        this.overdraftLimit = 1000.0;
-        this.monthlyFee = 10.0;
+        this.overdraftLimitCents = 1000_00;
+        this.monthlyFeeCents = 10_00;
+    }
+
+    public CheckingAccount(String accountNumber, Customer customer, long balanceCents, String status) {
+        super(accountNumber, customer, balanceCents, status);
+        this.overdraftLimitCents = 1000_00;
+        this.monthlyFeeCents = 10_00;
     }
 
     // Getters
     public double getOverdraftLimit() {
-        return overdraftLimit;
+        return Money.toDollars(overdraftLimitCents);
+    }
+
+    public long getOverdraftLimitCents() {
+        return overdraftLimitCents;
     }
 
     public double getMonthlyFee() {
-        return monthlyFee;
+        return Money.toDollars(monthlyFeeCents);
+    }
+
+    public long getMonthlyFeeCents() {
+        return monthlyFeeCents;
+    }
+
+    // Premium customers pay no monthly fee
+    public boolean isMonthlyFeeWaived() {
+        return getCustomer().getCustomerType().equals("Premium");
     }
 
     // Override withdraw to allow overdraft up to limit
     @Override
     public boolean withdraw(double amount) {
-        if (amount <= 0) {
-            throw new IllegalArgumentException("Withdrawal amount must be positive");
+        // Can go negative up to the overdraft limit
+        long newBalance = withdrawCents(Money.toCents(amount));
+
+        if (newBalance < 0) {
+            CustomUtils.print("Overdraft used. Negative balance: $" + Money.format(newBalance));
         }
 
-        double maxWithdrawal = getBalance() + overdraftLimit;
+        return true;
+    }
+
+    @Override
+    protected void validateWithdrawal(long currentBalanceCents, long amountCents) {
+        long maxWithdrawal = currentBalanceCents + overdraftLimitCents;
 
         // Check if withdrawal exceeds overdraft limit
-        if (amount > maxWithdrawal) {
+        if (amountCents > maxWithdrawal) {
             throw new IllegalArgumentException(
-                    String.format("Insufficient funds. Exceeds overdraft limit of $%.2f.", overdraftLimit)
+                    "Insufficient funds. Exceeds overdraft limit of $" + Money.format(overdraftLimitCents) + "."
             );
         }
-
-        // If valid, perform withdrawal (can go negative up to overdraft limit)
-        double newBalance = getBalance() - amount;
-        setBalance(newBalance);
-
-        if (newBalance < 0) {
-            CustomUtils.printf("Overdraft used. Negative balance: $%.2f%n", newBalance);
-        }
-
-        return true;
     }
 
 
@@ -56,13 +74,13 @@ public class CheckingAccount extends Account {
         CustomUtils.print("Account Number: " + getAccountNumber());
         CustomUtils.print("Customer: " + getCustomer().getName());
         CustomUtils.print("Customer Type: " + getCustomer().getCustomerType());
-        CustomUtils.print("Balance: $" + String.format("%.2f", getBalance()));
-        CustomUtils.print("Overdraft Limit: $" + String.format("%.2f", overdraftLimit));
-        CustomUtils.print("Monthly Fee: $" + String.format("%.2f", monthlyFee));
+        CustomUtils.print("Balance: $" + Money.format(getBalanceCents()));
+        CustomUtils.print("Overdraft Limit: $" + Money.format(overdraftLimitCents));
+        CustomUtils.print("Monthly Fee: $" + Money.format(monthlyFeeCents));
         CustomUtils.print("Status: " + getStatus());
 
         // Show fee waiver info for premium customers
-        if (getCustomer().getCustomerType().equals("Premium")) {
+        if (isMonthlyFeeWaived()) {
             CustomUtils.print("Monthly Fee Status: WAIVED (Premium Customer)");
         }
     }
@@ -73,4 +91,4 @@ public class CheckingAccount extends Account {
     }
 
 
-}
\ No newline at end of file
+}
@@ -2,56 +2,69 @@ package account;
 
 import customer.Customer;
 import utils.CustomUtils;
+import utils.Money;
 
 public class SavingsAccount extends Account {
     private final double interestRate;
-    private final double minimumBalance;
+    private final long minimumBalanceCents;
 
     public SavingsAccount(Customer customer, double openingBalance) {
         super(customer, openingBalance);
         this.interestRate = 3.5;
-        this.minimumBalance = 500.0;
+        this.minimumBalanceCents = 500_00;
 
         // Validate initial deposit meets minimum balance requirement
-        if (openingBalance < minimumBalance) {
+        if (getBalanceCents() < minimumBalanceCents) {
             throw new IllegalArgumentException(
-                    "Initial deposit for Savings Account must be at least $" + minimumBalance
+                    "Initial deposit for Savings Account must be at least $" + getMinimumBalance()
             );
         }
     }
 
+    // Restored balances were validated when first opened, so no minimum deposit check here
+    public SavingsAccount(String accountNumber, Customer customer, long balanceCents, String status) {
+        super(accountNumber, customer, balanceCents, status);
+        this.interestRate = 3.5;
+        this.minimumBalanceCents = 500_00;
+    }
+
     // Getters
     public double getInterestRate() {
         return interestRate;
     }
 
     public double getMinimumBalance() {
-        return minimumBalance;
+        return Money.toDollars(minimumBalanceCents);
+    }
+
+    public long getMinimumBalanceCents() {
+        return minimumBalanceCents;
     }
 
     public double calculateInterest() {
-        return getBalance() * (interestRate / 100);
+        return Money.toDollars(calculateInterestCents());
     }
 
-    // Override withdraw to enforce minimum balance
-    @Override
-    public boolean withdraw(double amount) {
-        if (amount <= 0) {
-            throw new IllegalArgumentException("Withdrawal amount must be positive");
-        }
+    public long calculateInterestCents() {
+        return Money.percentOf(getBalanceCents(), interestRate);
+    }
+
+    // One month's share of the annual rate on the current balance, in cents
+    public long calculateMonthlyInterestCents() {
+        return Money.percentOf(getBalanceCents(), interestRate / 12);
+    }
 
-        double newBalance = getBalance() - amount;
+    // Override withdrawal rules to enforce minimum balance
+    @Override
+    protected void validateWithdrawal(long currentBalanceCents, long amountCents) {
+        long newBalance = currentBalanceCents - amountCents;
 
         // Check if withdrawal would violate minimum balance
-        if (newBalance < minimumBalance) {
+        if (newBalance < minimumBalanceCents) {
             throw new IllegalArgumentException(
-                    String.format("Withdrawal denied. Minimum balance of $%.2f must be maintained.", minimumBalance)
+                    "Withdrawal denied. Minimum balance of $" + Money.format(minimumBalanceCents) + " must be maintained."
             );
         }
-
-        // If valid, perform withdrawal
-        setBalance(newBalance);
-        return true;
     }
 
 
@@ -60,11 +73,11 @@ public class SavingsAccount extends Account {
         CustomUtils.print("=== Savings Account Details ===");
         CustomUtils.print("Account Number: " + getAccountNumber());
         CustomUtils.print("Customer: " + getCustomer().getName());
-        CustomUtils.print("Balance: $" + String.format("%.2f", getBalance()));
+        CustomUtils.print("Balance: $" + Money.format(getBalanceCents()));
         CustomUtils.print("Interest Rate: " + interestRate + "%");
-        CustomUtils.print("Minimum Balance: $" + String.format("%.2f", minimumBalance));
+        CustomUtils.print("Minimum Balance: $" + Money.format(minimumBalanceCents));
         CustomUtils.print("Status: " + getStatus());
-        CustomUtils.print("Interest Earned: $" + String.format("%.2f", calculateInterest()));
+        CustomUtils.print("Interest Earned: $" + Money.format(calculateInterestCents()));
     }
 
     @Override
@@ -72,4 +85,4 @@ public class SavingsAccount extends Account {
         return "Savings";
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,398 @@
+package api;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import customer.Customer;
+import customer.PremiumCustomer;
+import customer.RegularCustomer;
+import exceptions.ValidationException;
+import exceptions.VelocityLimitExceededException;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionPage;
+import transaction.TransactionProcessor;
+import utils.InputValidator;
+import utils.Money;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP/JSON front end over AccountManager, TransactionManager and
+ * TransactionProcessor. Every request runs on its own virtual thread, so a
+ * request waiting for the write-ahead log does not hold up the others.
+ *
+ * Parameters come from the query string or a form-encoded body:
+ *   POST /accounts                      name, age, contact, address, customerType
+ *                                       (regular|premium), accountType (savings|checking),
+ *                                       initialDeposit
+ *   GET  /accounts/{number}
+ *   POST /accounts/{number}/deposit     amount
+ *   POST /accounts/{number}/withdraw    amount
+ *   POST /accounts/{number}/transfer    to, amount
+ *   GET  /accounts/{number}/transactions  cursor, limit (newest first)
+ *
+ * Money is in dollars with two decimals. An Idempotency-Key header on a deposit,
+ * withdrawal or transfer makes retries of that request return the first result.
+ * Errors are {"error": "..."} with 400 (bad input), 404 (no such account or path),
+ * 405 (wrong method), 413 (body over 64 KB), 422 (the account refused, e.g.
+ * insufficient funds) or 429 (a velocity limit on the account was reached).
+ */
+public class BankApiServer implements AutoCloseable {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    static {
+        // Headers and body go out in separate writes; with Nagle's algorithm on, the body
+        // waits for the client's delayed ACK and every response takes ~40 ms.
+        // The JDK server reads this once, when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AccountManager accountManager;
+    private final TransactionManager transactionManager;
+    private final TransactionProcessor transactionProcessor;
+    private final Runnable onAccountCreated;
+
+    public BankApiServer(InetSocketAddress address, AccountManager accountManager, TransactionManager transactionManager,
+                         TransactionProcessor transactionProcessor, Runnable onAccountCreated) throws IOException {
+        this.accountManager = accountManager;
+        this.transactionManager = transactionManager;
+        this.transactionProcessor = transactionProcessor;
+        this.onAccountCreated = onAccountCreated;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(address, 1024);
+        this.server.setExecutor(executor);
+        this.server.createContext("/accounts", this::handle);
+    }
+
+    public BankApiServer(int port, AccountManager accountManager, TransactionManager transactionManager,
+                         TransactionProcessor transactionProcessor) throws IOException {
+        this(new InetSocketAddress("127.0.0.1", port), accountManager, transactionManager, transactionProcessor, () -> {});
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Bound port; useful when the server was created with port 0
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        JsonWriter json = new JsonWriter();
+        int status;
+        try {
+            status = route(exchange, json);
+        } catch (ApiException e) {
+            status = e.status;
+            writeError(json, e.getMessage());
+        } catch (ValidationException e) {
+            status = 400;
+            writeError(json, e.getMessage());
+        } catch (VelocityLimitExceededException e) {
+            status = 429;
+            writeError(json, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            // Rules enforced by the accounts themselves, e.g. insufficient funds or minimum balance
+            status = 422;
+            writeError(json, e.getMessage());
+        } catch (RuntimeException e) {
+            status = 500;
+            writeError(json, "Internal error: " + e.getMessage());
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.size());
+        try (OutputStream body = exchange.getResponseBody()) {
+            json.writeTo(body);
+        }
+    }
+
+    private int route(HttpExchange exchange, JsonWriter json) throws IOException, ValidationException {
+        // "/accounts", "/accounts/ACC001" or "/accounts/ACC001/deposit"
+        String path = exchange.getRequestURI().getPath();
+        if (!path.equals("/accounts") && !path.startsWith("/accounts/")) {
+            throw new ApiException(404, "Unknown path: " + path);
+        }
+        int numberStart = "/accounts/".length();
+        int numberEnd = path.length() > numberStart ? path.indexOf('/', numberStart) : -1;
+        String accountNumber = path.length() > numberStart
+                ? path.substring(numberStart, numberEnd < 0 ? path.length() : numberEnd) : "";
+        String action = numberEnd < 0 ? "" : path.substring(numberEnd + 1);
+        String method = exchange.getRequestMethod();
+        Map<String, String> params = readParams(exchange);
+
+        if (accountNumber.isEmpty()) {
+            requireMethod(method, "POST");
+            Account account = createAccount(params);
+            writeAccount(json, account);
+            return 201;
+        }
+
+        Account account = lookup(accountNumber);
+        String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+        switch (action) {
+            case "":
+                requireMethod(method, "GET");
+                writeAccount(json, account);
+                return 200;
+            case "deposit": {
+                requireMethod(method, "POST");
+                long amount = amountParam(params, "amount");
+                writeTransaction(json, idempotencyKey == null
+                        ? transactionProcessor.deposit(account, amount)
+                        : transactionProcessor.deposit(idempotencyKey, account, amount));
+                return 200;
+            }
+            case "withdraw": {
+                requireMethod(method, "POST");
+                long amount = amountParam(params, "amount");
+                writeTransaction(json, idempotencyKey == null
+                        ? transactionProcessor.withdraw(account, amount)
+                        : transactionProcessor.withdraw(idempotencyKey, account, amount));
+                return 200;
+            }
+            case "transfer": {
+                requireMethod(method, "POST");
+                Account target = lookup(requiredParam(params, "to"));
+                if (target == account) {
+                    throw new ApiException(400, "Cannot transfer to the same account");
+                }
+                long amount = amountParam(params, "amount");
+                Transaction[] legs = idempotencyKey == null
+                        ? transactionProcessor.transfer(account, target, amount)
+                        : transactionProcessor.transfer(idempotencyKey, account, target, amount);
+                json.beginObject().name("out");
+                writeTransaction(json, legs[0]);
+                json.name("in");
+                writeTransaction(json, legs[1]);
+                json.endObject();
+                return 200;
+            }
+            case "transactions": {
+                requireMethod(method, "GET");
+                int cursor = intParam(params, "cursor", TransactionPage.NEWEST);
+                if (cursor < TransactionPage.NEWEST) {
+                    throw new ApiException(400, "cursor must be " + TransactionPage.NEWEST + " or a nextCursor value");
+                }
+                int limit = intParam(params, "limit", TransactionManager.DEFAULT_PAGE_SIZE);
+                if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+                    throw new ApiException(400, "limit must be between 1 and " + MAX_PAGE_SIZE);
+                }
+                writePage(json, transactionManager.getTransactionPage(account.getAccountNumber(), cursor, limit));
+                return 200;
+            }
+            default:
+                throw new ApiException(404, "Unknown path: " + path);
+        }
+    }
+
+    // Same rules as the console: validated customer details and a minimum opening deposit
+    private Account createAccount(Map<String, String> params) throws ValidationException {
+        String name = requiredParam(params, "name").trim();
+        InputValidator.validateName(name);
+        int age = intParam(params, "age", -1);
+        InputValidator.validateAge(age);
+        String contact = requiredParam(params, "contact").trim();
+        InputValidator.validateContact(contact);
+        String address = requiredParam(params, "address").trim();
+        InputValidator.validateAddress(address);
+
+        boolean premium = choiceParam(params, "customerType", "regular", "premium");
+        boolean checking = choiceParam(params, "accountType", "savings", "checking");
+        long initialDeposit = amountParam(params, "initialDeposit");
+        long minimumDeposit = !checking ? 50_000 : premium ? 1_000_000 : 1;
+        if (initialDeposit < minimumDeposit) {
+            throw new ApiException(400, "Minimum deposit for this account is $" + Money.format(minimumDeposit));
+        }
+
+        Customer customer = premium
+                ? new PremiumCustomer(name, age, contact, address)
+                : new RegularCustomer(name, age, contact, address);
+        double openingBalance = Money.toDollars(initialDeposit);
+        Account account = checking ? new CheckingAccount(customer, openingBalance) : new SavingsAccount(customer, openingBalance);
+        if (!accountManager.addAccount(account)) {
+            throw new IllegalStateException("Duplicate account number " + account.getAccountNumber());
+        }
+        onAccountCreated.run();
+        return account;
+    }
+
+    private Account lookup(String accountNumber) {
+        Account account = accountManager.findAccount(accountNumber);
+        if (account == null) {
+            throw new ApiException(404, "Account not found: " + accountNumber);
+        }
+        return account;
+    }
+
+    private static void writeAccount(JsonWriter json, Account account) {
+        Customer customer = account.getCustomer();
+        json.beginObject()
+                .name("accountNumber").value(account.getAccountNumber())
+                .name("accountType").value(account.getAccountType())
+                .name("balance").money(account.getBalanceCents())
+                .name("status").value(account.getStatus())
+                .name("customer").beginObject()
+                .name("customerId").value(customer.getCustomerId())
+                .name("name").value(customer.getName())
+                .name("customerType").value(customer.getCustomerType())
+                .endObject();
+        if (account instanceof SavingsAccount) {
+            SavingsAccount savings = (SavingsAccount) account;
+            json.name("minimumBalance").money(savings.getMinimumBalanceCents());
+        } else if (account instanceof CheckingAccount) {
+            CheckingAccount checking = (CheckingAccount) account;
+            json.name("overdraftLimit").money(checking.getOverdraftLimitCents());
+        }
+        json.endObject();
+    }
+
+    private static void writeTransaction(JsonWriter json, Transaction transaction) {
+        json.beginObject()
+                .name("transactionId").value(transaction.getTransactionId())
+                .name("accountNumber").value(transaction.getAccountNumber())
+                .name("type").value(transaction.getType())
+                .name("amount").money(transaction.getAmountCents())
+                .name("balanceAfter").money(transaction.getBalanceAfterCents())
+                .name("timestamp").value(transaction.getTimestampMillis())
+                .endObject();
+    }
+
+    private static void writePage(JsonWriter json, TransactionPage page) {
+        json.beginObject().name("transactions").beginArray();
+        for (Transaction transaction : page.getTransactions()) {
+            writeTransaction(json, transaction);
+        }
+        json.endArray()
+                .name("nextCursor").value(page.getNextCursor())
+                .name("hasMore").value(page.hasMore())
+                .endObject();
+    }
+
+    private static void writeError(JsonWriter json, String message) {
+        json.reset();
+        json.beginObject().name("error").value(message).endObject();
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new ApiException(405, "Use " + expected + " for this path");
+        }
+    }
+
+    // Query string parameters, plus form fields from the body
+    private static Map<String, String> readParams(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        try (InputStream body = exchange.getRequestBody()) {
+            // One byte over the limit is enough to tell, without reading the rest
+            byte[] bytes = body.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Request body is larger than " + MAX_BODY_BYTES / 1024 + " KB");
+            }
+            if (bytes.length > 0) {
+                parseForm(new String(bytes, StandardCharsets.UTF_8), params);
+            }
+        }
+        return params;
+    }
+
+    private static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        int start = 0;
+        while (start <= form.length()) {
+            int end = form.indexOf('&', start);
+            if (end < 0) {
+                end = form.length();
+            }
+            int equals = form.indexOf('=', start);
+            if (equals > start && equals < end) {
+                params.put(URLDecoder.decode(form.substring(start, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(form.substring(equals + 1, end), StandardCharsets.UTF_8));
+            }
+            start = end + 1;
+        }
+    }
+
+    private static String requiredParam(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new ApiException(400, "Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static long amountParam(Map<String, String> params, String name) {
+        long cents;
+        try {
+            cents = Money.toCents(Double.parseDouble(requiredParam(params, name)));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, name + " must be a number");
+        }
+        if (cents <= 0) {
+            throw new ApiException(400, name + " must be positive");
+        }
+        return cents;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, name + " must be a whole number");
+        }
+    }
+
+    // True for the second option
+    private static boolean choiceParam(Map<String, String> params, String name, String first, String second) {
+        String value = requiredParam(params, name);
+        if (value.equalsIgnoreCase(first)) {
+            return false;
+        }
+        if (value.equalsIgnoreCase(second)) {
+            return true;
+        }
+        throw new ApiException(400, name + " must be " + first + " or " + second);
+    }
+
+    // Request problems that map to a specific status code
+    private static class ApiException extends RuntimeException {
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
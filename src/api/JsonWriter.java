@@ -0,0 +1,226 @@
+package api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming JSON writer that encodes straight into a growable byte array.
+ * There is no object model and no intermediate Strings: numbers are written
+ * digit by digit and money is written from cents, e.g. 123456 -> 1234.56.
+ * Output is plain ASCII; other characters are written as \\uXXXX escapes.
+ */
+public final class JsonWriter {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_DEPTH = 63;
+
+    private byte[] buffer;
+    private int size;
+    private int depth;
+    // Bit n is set once the container at depth n has a member, so the next one needs a comma
+    private long hasMembers;
+    private boolean afterName;
+
+    public JsonWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public JsonWriter() {
+        this(256);
+    }
+
+    public JsonWriter beginObject() {
+        return open('{');
+    }
+
+    public JsonWriter endObject() {
+        return close('}');
+    }
+
+    public JsonWriter beginArray() {
+        return open('[');
+    }
+
+    public JsonWriter endArray() {
+        return close(']');
+    }
+
+    public JsonWriter name(String name) {
+        beforeValue();
+        writeString(name);
+        write(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        beforeValue();
+        if (value == null) {
+            writeAscii("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        beforeValue();
+        writeAscii(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        beforeValue();
+        writeAscii("null");
+        return this;
+    }
+
+    // A cent amount as a decimal number with two places, matching Money.format
+    public JsonWriter money(long cents) {
+        beforeValue();
+        long whole = cents / 100;
+        long fraction = Math.abs(cents % 100);
+        if (cents < 0 && whole == 0) {
+            write('-'); // e.g. -0.50
+        }
+        writeLong(whole);
+        write('.');
+        write((char) ('0' + fraction / 10));
+        write((char) ('0' + fraction % 10));
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    // Start a new document, keeping the buffer
+    public void reset() {
+        size = 0;
+        depth = 0;
+        hasMembers = 0;
+        afterName = false;
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.US_ASCII);
+    }
+
+    private JsonWriter open(char bracket) {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("JSON nested too deeply");
+        }
+        beforeValue();
+        write(bracket);
+        depth++;
+        hasMembers &= ~(1L << depth);
+        return this;
+    }
+
+    private JsonWriter close(char bracket) {
+        if (depth == 0) {
+            throw new IllegalStateException("No open object or array to close");
+        }
+        depth--;
+        write(bracket);
+        return this;
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        long bit = 1L << depth;
+        if ((hasMembers & bit) != 0) {
+            write(',');
+        } else {
+            hasMembers |= bit;
+        }
+    }
+
+    private void writeString(String value) {
+        ensureCapacity(value.length() + 2);
+        buffer[size++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                write('\\');
+                write(c);
+            } else if (c == '\n') {
+                writeAscii("\\n");
+            } else if (c == '\r') {
+                writeAscii("\\r");
+            } else if (c == '\t') {
+                writeAscii("\\t");
+            } else if (c < 0x20 || c > 0x7E) {
+                ensureCapacity(6);
+                buffer[size++] = '\\';
+                buffer[size++] = 'u';
+                buffer[size++] = HEX[(c >> 12) & 0xF];
+                buffer[size++] = HEX[(c >> 8) & 0xF];
+                buffer[size++] = HEX[(c >> 4) & 0xF];
+                buffer[size++] = HEX[c & 0xF];
+            } else {
+                write(c);
+            }
+        }
+        write('"');
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii("-9223372036854775808");
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        int position = size + digits;
+        size = position;
+        do {
+            buffer[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+    }
+
+    private void writeAscii(String text) {
+        ensureCapacity(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[size++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void write(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package batch;
+
+import account.Account;
+import account.AccountManager;
+import transaction.Transaction;
+import transaction.TransactionProcessor;
+import transaction.TransactionType;
+import utils.Money;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Applies deposit, withdrawal and transfer rows from a CSV file without the
+ * interactive menu, and writes one status line per row to a result file.
+ *
+ * Input rows are "type,account,amount[,targetAccount]", e.g.
+ * "TRANSFER,ACC001,250.00,ACC002". Amounts are dollars with up to two decimals.
+ * Blank lines, lines starting with '#' and a leading "type,..." header are skipped.
+ *
+ * Result rows are "line,status,detail": OK with the balance after the change,
+ * INVALID for rows that could not be parsed or name an unknown account, and
+ * REJECTED for rows the account refused (e.g. insufficient funds) or, with a
+ * VelocityChecker on the processor, that break a velocity limit.
+ *
+ * Four threads form a pipeline: parse, validate, apply and report. They pass
+ * chunks of CHUNK_SIZE rows and recycle them through a fixed pool, so memory
+ * stays bounded however large the file is. Rows are applied by one thread in
+ * file order, so the result matches applying the file line by line.
+ */
+public class BatchProcessor {
+    public static final int CHUNK_SIZE = 4096;
+    private static final int CHUNKS_IN_FLIGHT = 16;
+
+    static final byte PENDING = 0;
+    static final byte OK = 1;
+    static final byte INVALID = 2;
+    static final byte REJECTED = 3;
+    private static final String[] STATUS_NAMES = {"PENDING", "OK", "INVALID", "REJECTED"};
+
+    // Transfers are parsed as their outgoing leg
+    private static final byte TRANSFER = TransactionType.TRANSFER_OUT_CODE;
+
+    private final AccountManager accountManager;
+    private final TransactionProcessor transactionProcessor;
+
+    public BatchProcessor(AccountManager accountManager, TransactionProcessor transactionProcessor) {
+        this.accountManager = accountManager;
+        this.transactionProcessor = transactionProcessor;
+    }
+
+    public BatchResult process(Path input, Path output) throws IOException {
+        BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(CHUNKS_IN_FLIGHT);
+        for (int i = 0; i < CHUNKS_IN_FLIGHT; i++) {
+            free.add(new Chunk());
+        }
+        BlockingQueue<Chunk> parsed = new ArrayBlockingQueue<>(CHUNKS_IN_FLIGHT);
+        BlockingQueue<Chunk> validated = new ArrayBlockingQueue<>(CHUNKS_IN_FLIGHT);
+        BlockingQueue<Chunk> applied = new ArrayBlockingQueue<>(CHUNKS_IN_FLIGHT);
+        BatchResult result = new BatchResult();
+        long start = System.nanoTime();
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            Stage[] stages = {
+                    new Stage("batch-parse", () -> parseAll(reader, free, parsed)),
+                    new Stage("batch-validate", () -> forEachChunk(parsed, validated, this::validate)),
+                    new Stage("batch-apply", () -> forEachChunk(validated, applied, this::apply)),
+                    new Stage("batch-report", () -> reportAll(writer, applied, free, result))
+            };
+            for (Stage stage : stages) {
+                stage.group = stages;
+                stage.thread.start();
+            }
+            Throwable failure = null;
+            for (Stage stage : stages) {
+                try {
+                    stage.thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stage.stopAll();
+                    throw new IOException("Interrupted while processing batch", e);
+                }
+                if (failure == null) {
+                    failure = stage.failure;
+                }
+            }
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Batch failed after " + result.getRowCount() + " rows", failure);
+            }
+        }
+
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    // Stage 1: read lines and split them into typed fields
+    private void parseAll(BufferedReader reader, BlockingQueue<Chunk> free, BlockingQueue<Chunk> parsed)
+            throws IOException, InterruptedException {
+        Chunk chunk = free.take();
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (isSkipped(line, lineNumber)) {
+                continue;
+            }
+            parseRow(chunk, chunk.size++, line, lineNumber);
+            if (chunk.size == CHUNK_SIZE) {
+                parsed.put(chunk);
+                chunk = free.take();
+            }
+        }
+        chunk.last = true;
+        parsed.put(chunk);
+    }
+
+    // Stage 2: resolve account numbers; runs ahead of apply so lookups overlap with balance updates
+    private void validate(Chunk chunk) {
+        for (int i = 0; i < chunk.size; i++) {
+            if (chunk.statuses[i] != PENDING) {
+                continue;
+            }
+            Account source = accountManager.findAccount(chunk.accountNumbers[i]);
+            if (source == null) {
+                chunk.fail(i, INVALID, "Account not found: " + chunk.accountNumbers[i]);
+                continue;
+            }
+            chunk.sources[i] = source;
+            if (chunk.types[i] == TRANSFER) {
+                Account target = accountManager.findAccount(chunk.targetNumbers[i]);
+                if (target == null) {
+                    chunk.fail(i, INVALID, "Account not found: " + chunk.targetNumbers[i]);
+                } else if (target == source) {
+                    chunk.fail(i, INVALID, "Cannot transfer to the same account");
+                } else {
+                    chunk.targets[i] = target;
+                }
+            }
+        }
+    }
+
+    // Stage 3: apply in file order; each change is recorded with its transaction by the processor
+    private void apply(Chunk chunk) {
+        for (int i = 0; i < chunk.size; i++) {
+            if (chunk.statuses[i] != PENDING) {
+                continue;
+            }
+            try {
+                Transaction transaction;
+                if (chunk.types[i] == TransactionType.DEPOSIT_CODE) {
+                    transaction = transactionProcessor.deposit(chunk.sources[i], chunk.amounts[i]);
+                } else if (chunk.types[i] == TransactionType.WITHDRAWAL_CODE) {
+                    transaction = transactionProcessor.withdraw(chunk.sources[i], chunk.amounts[i]);
+                } else {
+                    transaction = transactionProcessor.transfer(chunk.sources[i], chunk.targets[i], chunk.amounts[i])[0];
+                }
+                chunk.statuses[i] = OK;
+                chunk.balancesAfter[i] = transaction.getBalanceAfterCents();
+            } catch (IllegalArgumentException e) {
+                chunk.fail(i, REJECTED, e.getMessage());
+            }
+        }
+    }
+
+    // Stage 4: write the per-row results and hand the chunk back to the parser
+    private void reportAll(BufferedWriter writer, BlockingQueue<Chunk> applied, BlockingQueue<Chunk> free,
+                           BatchResult result) throws IOException, InterruptedException {
+        StringBuilder buffer = new StringBuilder(CHUNK_SIZE * 32);
+        writer.write("line,status,detail\n");
+        while (true) {
+            Chunk chunk = applied.take();
+            buffer.setLength(0);
+            for (int i = 0; i < chunk.size; i++) {
+                byte status = chunk.statuses[i];
+                buffer.append(chunk.lineNumbers[i]).append(',').append(STATUS_NAMES[status]).append(',');
+                if (status == OK) {
+                    Money.appendTo(buffer, chunk.balancesAfter[i]);
+                } else {
+                    appendQuoted(buffer, chunk.messages[i]);
+                }
+                buffer.append('\n');
+                result.count(status);
+            }
+            writer.append(buffer);
+            if (chunk.last) {
+                return;
+            }
+            chunk.clear();
+            free.put(chunk);
+        }
+    }
+
+    private static void forEachChunk(BlockingQueue<Chunk> in, BlockingQueue<Chunk> out, ChunkAction action)
+            throws InterruptedException {
+        while (true) {
+            Chunk chunk = in.take();
+            action.accept(chunk);
+            // Read before handing over: once downstream recycles the chunk it may be refilled
+            boolean last = chunk.last;
+            out.put(chunk);
+            if (last) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isSkipped(String line, long lineNumber) {
+        int start = skipSpaces(line, 0, line.length());
+        if (start == line.length() || line.charAt(start) == '#') {
+            return true;
+        }
+        return lineNumber == 1 && line.regionMatches(true, start, "type", 0, 4);
+    }
+
+    // Fields are located with indexOf; no regex or String.split
+    static void parseRow(Chunk chunk, int row, String line, long lineNumber) {
+        chunk.lineNumbers[row] = lineNumber;
+        int length = line.length();
+        int typeEnd = line.indexOf(',');
+        int accountEnd = typeEnd < 0 ? -1 : line.indexOf(',', typeEnd + 1);
+        if (accountEnd < 0) {
+            chunk.fail(row, INVALID, "Expected type,account,amount[,targetAccount]");
+            return;
+        }
+        int amountEnd = line.indexOf(',', accountEnd + 1);
+        if (amountEnd < 0) {
+            amountEnd = length;
+        }
+
+        byte type = parseType(line, 0, typeEnd);
+        if (type < 0) {
+            chunk.fail(row, INVALID, "Unknown transaction type");
+            return;
+        }
+        chunk.types[row] = type;
+        chunk.accountNumbers[row] = field(line, typeEnd + 1, accountEnd);
+
+        long amount = parseCents(line, accountEnd + 1, amountEnd);
+        if (amount <= 0) {
+            chunk.fail(row, INVALID, "Amount must be a positive number with at most two decimals");
+            return;
+        }
+        chunk.amounts[row] = amount;
+
+        boolean hasTarget = amountEnd < length;
+        if (type == TRANSFER && !hasTarget) {
+            chunk.fail(row, INVALID, "Transfer needs a target account");
+        } else if (type != TRANSFER && hasTarget) {
+            chunk.fail(row, INVALID, "Only transfers take a target account");
+        } else if (hasTarget) {
+            chunk.targetNumbers[row] = field(line, amountEnd + 1, length);
+        }
+    }
+
+    private static byte parseType(String line, int start, int end) {
+        start = skipSpaces(line, start, end);
+        end = trimEnd(line, start, end);
+        if (matches(line, start, end, TransactionType.DEPOSIT)) {
+            return TransactionType.DEPOSIT_CODE;
+        }
+        if (matches(line, start, end, TransactionType.WITHDRAWAL)) {
+            return TransactionType.WITHDRAWAL_CODE;
+        }
+        if (matches(line, start, end, "TRANSFER")) {
+            return TRANSFER;
+        }
+        return -1;
+    }
+
+    // "12", "12.5" or "12.50" dollars in cents; -1 if malformed or out of range
+    static long parseCents(String line, int start, int end) {
+        start = skipSpaces(line, start, end);
+        end = trimEnd(line, start, end);
+        long whole = 0;
+        int digits = 0;
+        int i = start;
+        for (; i < end && line.charAt(i) != '.'; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9' || ++digits > 15) {
+                return -1;
+            }
+            whole = whole * 10 + (c - '0');
+        }
+        long fraction = 0;
+        if (i < end) {
+            int decimals = end - i - 1;
+            if (decimals < 1 || decimals > 2) {
+                return -1;
+            }
+            for (int j = i + 1; j < end; j++) {
+                char c = line.charAt(j);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                fraction = fraction * 10 + (c - '0');
+            }
+            if (decimals == 1) {
+                fraction *= 10;
+            }
+        }
+        return digits == 0 ? -1 : whole * Money.CENTS_PER_DOLLAR + fraction;
+    }
+
+    private static boolean matches(String line, int start, int end, String word) {
+        return end - start == word.length() && line.regionMatches(true, start, word, 0, word.length());
+    }
+
+    private static String field(String line, int start, int end) {
+        start = skipSpaces(line, start, end);
+        return line.substring(start, trimEnd(line, start, end));
+    }
+
+    private static int skipSpaces(String line, int start, int end) {
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(String line, int start, int end) {
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static void appendQuoted(StringBuilder buffer, String message) {
+        buffer.append('"');
+        if (message != null) {
+            for (int i = 0; i < message.length(); i++) {
+                char c = message.charAt(i);
+                if (c == '"') {
+                    buffer.append('"');
+                }
+                buffer.append(c == '\n' ? ' ' : c);
+            }
+        }
+        buffer.append('"');
+    }
+
+    private interface ChunkAction {
+        void accept(Chunk chunk);
+    }
+
+    private interface StageBody {
+        void run() throws Exception;
+    }
+
+    private static final class Stage {
+        final Thread thread;
+        volatile Throwable failure;
+        Stage[] group;
+
+        Stage(String name, StageBody body) {
+            this.thread = new Thread(() -> {
+                try {
+                    body.run();
+                } catch (InterruptedException e) {
+                    // Another stage failed and stopped the pipeline
+                } catch (Throwable e) {
+                    failure = e instanceof UncheckedIOException ? e.getCause() : e;
+                    stopAll();
+                }
+            }, name);
+        }
+
+        // Interrupt every stage, since the others may be blocked on a queue this one feeds
+        void stopAll() {
+            for (Stage stage : group) {
+                if (stage != this) {
+                    stage.thread.interrupt();
+                }
+            }
+        }
+    }
+
+    // Rows in column arrays, reused from chunk to chunk
+    static final class Chunk {
+        final long[] lineNumbers = new long[CHUNK_SIZE];
+        final byte[] types = new byte[CHUNK_SIZE];
+        final String[] accountNumbers = new String[CHUNK_SIZE];
+        final String[] targetNumbers = new String[CHUNK_SIZE];
+        final long[] amounts = new long[CHUNK_SIZE];
+        final Account[] sources = new Account[CHUNK_SIZE];
+        final Account[] targets = new Account[CHUNK_SIZE];
+        final byte[] statuses = new byte[CHUNK_SIZE];
+        final String[] messages = new String[CHUNK_SIZE];
+        final long[] balancesAfter = new long[CHUNK_SIZE];
+        int size;
+        boolean last;
+
+        void fail(int row, byte status, String message) {
+            statuses[row] = status;
+            messages[row] = message;
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                accountNumbers[i] = null;
+                targetNumbers[i] = null;
+                sources[i] = null;
+                targets[i] = null;
+                messages[i] = null;
+                statuses[i] = PENDING;
+            }
+            size = 0;
+        }
+    }
+}
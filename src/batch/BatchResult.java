@@ -0,0 +1,49 @@
+package batch;
+
+/**
+ * Row counts and timing for one BatchProcessor run.
+ */
+public class BatchResult {
+    private long rowCount;
+    private long appliedCount;
+    private long invalidCount;
+    private long rejectedCount;
+    long elapsedNanos;
+
+    void count(byte status) {
+        rowCount++;
+        if (status == BatchProcessor.OK) {
+            appliedCount++;
+        } else if (status == BatchProcessor.INVALID) {
+            invalidCount++;
+        } else {
+            rejectedCount++;
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getAppliedCount() {
+        return appliedCount;
+    }
+
+    // Rows that could not be parsed or named an unknown account
+    public long getInvalidCount() {
+        return invalidCount;
+    }
+
+    // Well-formed rows the account refused, e.g. for insufficient funds
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowCount * 1e9 / elapsedNanos;
+    }
+}
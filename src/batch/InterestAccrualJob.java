@@ -0,0 +1,40 @@
+package batch;
+
+import account.Account;
+import account.AccountManager;
+import account.SavingsAccount;
+import transaction.TransactionManager;
+import transaction.TransactionType;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Month-end job that posts one month of interest to every active savings account.
+ */
+public class InterestAccrualJob extends PostingJob {
+    public static final String JOB_NAME = "interest";
+
+    public InterestAccrualJob(AccountManager accountManager, TransactionManager transactionManager,
+                              PeriodLedger ledger, ForkJoinPool pool) {
+        super(JOB_NAME, TransactionType.INTEREST, accountManager, transactionManager, ledger, pool);
+    }
+
+    public InterestAccrualJob(AccountManager accountManager, TransactionManager transactionManager, PeriodLedger ledger) {
+        this(accountManager, transactionManager, ledger, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    protected boolean appliesTo(Account account) {
+        return account instanceof SavingsAccount;
+    }
+
+    @Override
+    protected long amountDue(Account account) {
+        return ((SavingsAccount) account).calculateMonthlyInterestCents();
+    }
+
+    @Override
+    protected long apply(Account account, long amountCents) {
+        return account.depositCents(amountCents);
+    }
+}
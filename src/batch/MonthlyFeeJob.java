@@ -0,0 +1,49 @@
+package batch;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import transaction.TransactionManager;
+import transaction.TransactionType;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Month-end job that charges the monthly fee to every active checking account.
+ * Premium customers' fees are waived and counted as skipped. A fee is only
+ * charged if it fits within the overdraft limit; otherwise it is counted as
+ * declined and the account is left unchanged.
+ */
+public class MonthlyFeeJob extends PostingJob {
+    public static final String JOB_NAME = "fees";
+
+    public MonthlyFeeJob(AccountManager accountManager, TransactionManager transactionManager,
+                         PeriodLedger ledger, ForkJoinPool pool) {
+        super(JOB_NAME, TransactionType.FEE, accountManager, transactionManager, ledger, pool);
+    }
+
+    public MonthlyFeeJob(AccountManager accountManager, TransactionManager transactionManager, PeriodLedger ledger) {
+        this(accountManager, transactionManager, ledger, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    protected boolean appliesTo(Account account) {
+        return account instanceof CheckingAccount;
+    }
+
+    @Override
+    protected boolean isExempt(Account account) {
+        return ((CheckingAccount) account).isMonthlyFeeWaived();
+    }
+
+    @Override
+    protected long amountDue(Account account) {
+        return ((CheckingAccount) account).getMonthlyFeeCents();
+    }
+
+    // withdrawCents enforces the overdraft limit
+    @Override
+    protected long apply(Account account, long amountCents) {
+        return account.withdrawCents(amountCents);
+    }
+}
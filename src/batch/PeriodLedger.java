@@ -0,0 +1,154 @@
+package batch;
+
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionPage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Marker files that make a periodic posting job run at most once per period.
+ *
+ * Before posting, a job records the transaction counter in "job-yyyy-MM.started";
+ * after its postings are synced to the journal it writes "job-yyyy-MM.done".
+ * A done period is never posted again. If a run stopped part way, every posting
+ * it made has a transaction number above the recorded counter, so the rerun can
+ * skip exactly those accounts.
+ *
+ * A run first claims its period (see claim), so two runs started at the same
+ * time, in one process or in two, cannot both post it.
+ */
+public class PeriodLedger {
+    // Lock files claimed in this process. Checked before opening the file: closing a second
+    // channel to a locked file can drop the first channel's lock on some platforms
+    private static final Set<Path> CLAIMED = ConcurrentHashMap.newKeySet();
+
+    private final Path directory;
+
+    public PeriodLedger(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    public boolean isDone(String job, YearMonth period) {
+        return Files.exists(marker(job, period, "done"));
+    }
+
+    // Started but not done: an earlier run stopped part way
+    boolean isStarted(String job, YearMonth period) {
+        return Files.exists(marker(job, period, "started")) && !isDone(job, period);
+    }
+
+    /**
+     * Start (or resume) a run. Returns the transaction counter from before the
+     * first attempt; postings numbered above it were made for this period.
+     */
+    long start(String job, YearMonth period) throws IOException {
+        Path started = marker(job, period, "started");
+        if (Files.exists(started)) {
+            return Long.parseLong(Files.readString(started, StandardCharsets.UTF_8).trim());
+        }
+        long counter = Transaction.getTransactionCounter();
+        writeDurably(started, Long.toString(counter));
+        return counter;
+    }
+
+    void finish(String job, YearMonth period, String summary) throws IOException {
+        writeDurably(marker(job, period, "done"), summary);
+    }
+
+    /**
+     * Claim the period for one run of the job, or null if another run holds it.
+     * The claim is an OS lock on "job-yyyy-MM.lock", so a crashed run loses it
+     * and the rerun can resume. Close it when the run ends, successful or not.
+     */
+    public Claim claim(String job, YearMonth period) throws IOException {
+        Path lockFile = marker(job, period, "lock").toAbsolutePath().normalize();
+        if (!CLAIMED.add(lockFile)) {
+            return null;
+        }
+        boolean held = false;
+        try {
+            FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                if (channel.tryLock() != null) {
+                    held = true;
+                    return new Claim(lockFile, channel);
+                }
+            } finally {
+                if (!held) {
+                    channel.close();
+                }
+            }
+            return null;
+        } finally {
+            if (!held) {
+                CLAIMED.remove(lockFile);
+            }
+        }
+    }
+
+    // Whether the account has a transaction of this type numbered above the counter
+    static boolean postedSince(TransactionManager transactionManager, String accountNumber, String type, long counter) {
+        int cursor = TransactionPage.NEWEST;
+        do {
+            TransactionPage page = transactionManager.getTransactionPage(accountNumber, cursor, 64);
+            for (Transaction transaction : page.getTransactions()) {
+                if (transaction.getTransactionNumber() <= counter) {
+                    return false; // Newest first, so everything further back is older still
+                }
+                if (transaction.getType().equals(type)) {
+                    return true;
+                }
+            }
+            cursor = page.getNextCursor();
+        } while (cursor > 0);
+        return false;
+    }
+
+    private Path marker(String job, YearMonth period, String state) {
+        return directory.resolve(job + "-" + period + "." + state);
+    }
+
+    // A held claim on a period. The lock file stays: deleting it would let two runs lock different files
+    public static final class Claim implements Closeable {
+        private final Path lockFile;
+        private final FileChannel channel;
+
+        private Claim(Path lockFile, FileChannel channel) {
+            this.lockFile = lockFile;
+            this.channel = channel;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                channel.close(); // Releases the lock
+            } finally {
+                CLAIMED.remove(lockFile);
+            }
+        }
+    }
+
+    // Write to a temp file, force it, then rename, so a marker is either complete or absent
+    private void writeDurably(Path target, String content) throws IOException {
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap((content + "\n").getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,175 @@
+package batch;
+
+import account.Account;
+import account.AccountManager;
+import transaction.Transaction;
+import transaction.TransactionManager;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Base for month-end jobs that post one transaction to each eligible account.
+ *
+ * The account list is split into segments of SEGMENT_SIZE and processed with
+ * fork/join. Each segment locks its accounts (in lock order, so concurrent
+ * transfers cannot deadlock with it), applies the postings and records all of
+ * the segment's transactions with one bulk append. Segments share nothing but
+ * the totals, so the run scales with the pool's parallelism.
+ *
+ * A PeriodLedger makes each period post at most once, including across a
+ * crash part way through a run and runs started at the same time.
+ */
+public abstract class PostingJob {
+    public static final int SEGMENT_SIZE = 4096;
+
+    protected final AccountManager accountManager;
+    protected final TransactionManager transactionManager;
+    private final PeriodLedger ledger;
+    private final ForkJoinPool pool;
+    private final String jobName;
+    private final String transactionType;
+
+    protected PostingJob(String jobName, String transactionType, AccountManager accountManager,
+                         TransactionManager transactionManager, PeriodLedger ledger, ForkJoinPool pool) {
+        this.jobName = jobName;
+        this.transactionType = transactionType;
+        this.accountManager = accountManager;
+        this.transactionManager = transactionManager;
+        this.ledger = ledger;
+        this.pool = pool;
+    }
+
+    // Whether the job concerns this account at all; only these are counted as scanned
+    protected abstract boolean appliesTo(Account account);
+
+    // An eligible account that is exempt, e.g. a fee waiver; counted as skipped
+    protected boolean isExempt(Account account) {
+        return false;
+    }
+
+    // Amount to post in cents, or 0 if nothing is due; called with the account locked
+    protected abstract long amountDue(Account account);
+
+    /**
+     * Applies the amount and returns the new balance; called with the account
+     * locked. Throws IllegalArgumentException if the account cannot take it.
+     */
+    protected abstract long apply(Account account, long amountCents);
+
+    // Throws IllegalStateException, having posted nothing, if another run holds the period
+    public PostingResult run(YearMonth period) throws IOException {
+        if (ledger.isDone(jobName, period)) {
+            return PostingResult.alreadyDone(period);
+        }
+        try (PeriodLedger.Claim claim = ledger.claim(jobName, period)) {
+            if (claim == null) {
+                throw new IllegalStateException(jobName + " for " + period + " is already being posted by another run");
+            }
+            if (ledger.isDone(jobName, period)) {
+                return PostingResult.alreadyDone(period); // Another run finished it before we claimed it
+            }
+            long start = System.nanoTime();
+            boolean resuming = ledger.isStarted(jobName, period);
+            long postedAfter = ledger.start(jobName, period);
+
+            Totals totals = new Totals();
+            pool.invoke(new Segment(0, accountManager.getActualAccountCount(), postedAfter, resuming, totals));
+
+            // Postings must be on disk before the period is marked done
+            transactionManager.syncJournal();
+            ledger.finish(jobName, period, totals.posted.sum() + " accounts, " + totals.cents.sum() + " cents");
+            return new PostingResult(period, false, totals.scanned.sum(), totals.posted.sum(), totals.skipped.sum(),
+                    totals.declined.sum(), totals.cents.sum(), System.nanoTime() - start);
+        }
+    }
+
+    private void postSegment(int from, int to, long postedAfter, boolean resuming, Totals totals) {
+        List<Account> accounts = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Account account = accountManager.getAccount(i);
+            if (!"Active".equals(account.getStatus()) || !appliesTo(account)) {
+                continue;
+            }
+            totals.scanned.increment();
+            if (isExempt(account) || (resuming && PeriodLedger.postedSince(transactionManager,
+                    account.getAccountNumber(), transactionType, postedAfter))) {
+                totals.skipped.increment();
+                continue;
+            }
+            accounts.add(account);
+        }
+        if (accounts.isEmpty()) {
+            return;
+        }
+
+        Account.callWithAllLocked(accounts, () -> {
+            Transaction[] batch = new Transaction[accounts.size()];
+            int count = 0;
+            long cents = 0;
+            for (Account account : accounts) {
+                long amount = amountDue(account);
+                if (amount <= 0) {
+                    continue;
+                }
+                long balanceAfter;
+                try {
+                    balanceAfter = apply(account, amount);
+                } catch (IllegalArgumentException e) {
+                    totals.declined.increment();
+                    continue;
+                }
+                batch[count++] = new Transaction(account.getAccountNumber(), transactionType, amount, balanceAfter);
+                cents += amount;
+            }
+            if (count > 0) {
+                transactionManager.addTransactions(count == batch.length ? batch : Arrays.copyOf(batch, count));
+            }
+            totals.posted.add(count);
+            totals.cents.add(cents);
+            return null;
+        });
+    }
+
+    private static class Totals {
+        final LongAdder scanned = new LongAdder();
+        final LongAdder posted = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder declined = new LongAdder();
+        final LongAdder cents = new LongAdder();
+    }
+
+    // Splits the account index range in half until it fits in one segment
+    private class Segment extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final long postedAfter;
+        private final boolean resuming;
+        private final Totals totals;
+
+        Segment(int from, int to, long postedAfter, boolean resuming, Totals totals) {
+            this.from = from;
+            this.to = to;
+            this.postedAfter = postedAfter;
+            this.resuming = resuming;
+            this.totals = totals;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEGMENT_SIZE) {
+                postSegment(from, to, postedAfter, resuming, totals);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Segment(from, middle, postedAfter, resuming, totals),
+                    new Segment(middle, to, postedAfter, resuming, totals));
+        }
+    }
+}
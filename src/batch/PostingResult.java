@@ -0,0 +1,72 @@
+package batch;
+
+import java.time.YearMonth;
+
+/**
+ * Outcome of one periodic posting run (interest or fees).
+ */
+public class PostingResult {
+    private final YearMonth period;
+    private final boolean alreadyDone;
+    private final long accountsScanned;
+    private final long postedCount;
+    private final long skippedCount;
+    private final long declinedCount;
+    private final long totalCents;
+    private final long elapsedNanos;
+
+    PostingResult(YearMonth period, boolean alreadyDone, long accountsScanned, long postedCount,
+                  long skippedCount, long declinedCount, long totalCents, long elapsedNanos) {
+        this.period = period;
+        this.alreadyDone = alreadyDone;
+        this.accountsScanned = accountsScanned;
+        this.postedCount = postedCount;
+        this.skippedCount = skippedCount;
+        this.declinedCount = declinedCount;
+        this.totalCents = totalCents;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    static PostingResult alreadyDone(YearMonth period) {
+        return new PostingResult(period, true, 0, 0, 0, 0, 0, 0);
+    }
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
+    // True if an earlier run already completed this period, so nothing was posted
+    public boolean isAlreadyDone() {
+        return alreadyDone;
+    }
+
+    public long getAccountsScanned() {
+        return accountsScanned;
+    }
+
+    public long getPostedCount() {
+        return postedCount;
+    }
+
+    // Eligible accounts left alone, e.g. already posted by an interrupted run or waived
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    // Eligible accounts that could not take the posting, e.g. a fee beyond the overdraft limit
+    public long getDeclinedCount() {
+        return declinedCount;
+    }
+
+    public long getTotalCents() {
+        return totalCents;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getAccountsPerSecond() {
+        return elapsedNanos == 0 ? 0 : accountsScanned * 1e9 / elapsedNanos;
+    }
+}
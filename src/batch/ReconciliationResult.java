@@ -0,0 +1,91 @@
+package batch;
+
+import utils.Money;
+
+import java.util.List;
+
+/**
+ * Outcome of one ReconciliationJob run.
+ */
+public class ReconciliationResult {
+    private final long accountsChecked;
+    private final long transactionsReplayed;
+    private final List<Mismatch> mismatches;
+    private final long elapsedNanos;
+
+    ReconciliationResult(long accountsChecked, long transactionsReplayed, List<Mismatch> mismatches, long elapsedNanos) {
+        this.accountsChecked = accountsChecked;
+        this.transactionsReplayed = transactionsReplayed;
+        this.mismatches = mismatches;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getAccountsChecked() {
+        return accountsChecked;
+    }
+
+    // Transactions replayed this run; entries before an account's checkpoint are not counted
+    public long getTransactionsReplayed() {
+        return transactionsReplayed;
+    }
+
+    // In account order
+    public List<Mismatch> getMismatches() {
+        return mismatches;
+    }
+
+    public boolean isBalanced() {
+        return mismatches.isEmpty();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getTransactionsPerSecond() {
+        return elapsedNanos == 0 ? 0 : transactionsReplayed * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * An account whose ledger does not add up. If a recorded transaction
+     * disagrees with the replay, transactionId names the first one and the
+     * amounts are its expected and recorded balance after. Otherwise every
+     * transaction agrees but the account's current balance does not, and
+     * transactionId is null.
+     */
+    public static class Mismatch {
+        private final String accountNumber;
+        private final String transactionId;
+        private final long expectedCents;
+        private final long actualCents;
+
+        Mismatch(String accountNumber, String transactionId, long expectedCents, long actualCents) {
+            this.accountNumber = accountNumber;
+            this.transactionId = transactionId;
+            this.expectedCents = expectedCents;
+            this.actualCents = actualCents;
+        }
+
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+
+        public String getTransactionId() {
+            return transactionId;
+        }
+
+        public long getExpectedCents() {
+            return expectedCents;
+        }
+
+        public long getActualCents() {
+            return actualCents;
+        }
+
+        @Override
+        public String toString() {
+            return accountNumber + (transactionId == null ? " current balance" : " at " + transactionId)
+                    + ": expected " + Money.format(expectedCents) + ", found " + Money.format(actualCents);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package batch;
+
+import account.Account;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import transaction.AccountHistory;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import utils.Money;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Renders account statements as plain text into a caller-supplied StringBuilder.
+ * Everything is appended directly (no String.format), so a worker can render
+ * many statements into one reused builder. Not thread-safe: it caches the last
+ * formatted timestamp, so use one renderer per thread.
+ */
+public class StatementRenderer {
+    private static final String RULE = "=".repeat(60);
+    private static final String PADDING = " ".repeat(32);
+
+    private final TransactionManager transactionManager;
+    private final YearMonth period;
+    private final LocalDate statementDate;
+    private final long fromMillis;
+    private final long toMillis;
+    private final String transactionsHeading;
+
+    // Transactions mostly fall in the same few minutes, so keep the last formatted one
+    private long cachedMinute = Long.MIN_VALUE;
+    private String cachedTimestamp;
+
+    public StatementRenderer(TransactionManager transactionManager, YearMonth period, LocalDate statementDate) {
+        this.transactionManager = transactionManager;
+        this.period = period;
+        this.statementDate = statementDate;
+        ZoneId zone = ZoneId.systemDefault();
+        this.fromMillis = period.atDay(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        this.toMillis = period.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        this.transactionsHeading = period.equals(YearMonth.from(statementDate))
+                ? "TRANSACTIONS THIS MONTH (" : "TRANSACTIONS FOR " + period + " (";
+    }
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
+    // Appends one statement to out and returns it
+    public StringBuilder render(Account account, StringBuilder out) {
+        String accountNumber = account.getAccountNumber();
+        out.append('\n').append(RULE).append('\n');
+        out.append("ACCOUNT STATEMENT\n");
+        out.append(RULE).append('\n');
+
+        out.append("\nACCOUNT INFORMATION:\n");
+        out.append("Account Number: ").append(accountNumber).append('\n');
+        out.append("Account Type: ").append(account.getAccountType()).append('\n');
+        out.append("Customer: ").append(account.getCustomer().getName()).append('\n');
+        out.append("Customer ID: ").append(account.getCustomer().getCustomerId()).append('\n');
+        out.append("Status: ").append(account.getStatus()).append('\n');
+        money(out.append("Current Balance: $"), account.getBalanceCents());
+
+        if (account instanceof SavingsAccount) {
+            SavingsAccount savings = (SavingsAccount) account;
+            out.append("Interest Rate: ").append(savings.getInterestRate()).append("%\n");
+            money(out.append("Minimum Balance: $"), savings.getMinimumBalanceCents());
+            money(out.append("Interest Earned: $"), savings.calculateInterestCents());
+        } else if (account instanceof CheckingAccount) {
+            CheckingAccount checking = (CheckingAccount) account;
+            money(out.append("Overdraft Limit: $"), checking.getOverdraftLimitCents());
+            money(out.append("Monthly Fee: $"), checking.getMonthlyFeeCents());
+            if (checking.isMonthlyFeeWaived()) {
+                out.append("Monthly Fee Status: WAIVED\n");
+            }
+        }
+
+        // Activity summary from the running totals kept per account
+        AccountHistory history = transactionManager.getAccountHistory(accountNumber);
+        out.append("\nACTIVITY SUMMARY:\n");
+        if (history == null) {
+            out.append("No transactions recorded.\n");
+        } else {
+            out.append("Transactions: ").append(history.size()).append('\n');
+            money(out.append("Total Deposits: $"), history.getTotalDeposits());
+            money(out.append("Total Withdrawals: $"), history.getTotalWithdrawals());
+            money(out.append("Transfers In: $"), history.getTotalTransfersIn());
+            money(out.append("Transfers Out: $"), history.getTotalTransfersOut());
+            money(out.append("Interest Earned: $"), history.getTotalInterest());
+            money(out.append("Fees Charged: $"), history.getTotalFees());
+            money(out.append("Net Change: $"), history.getNetChange());
+        }
+
+        // The period's transactions via a time-range lookup, not a scan of the whole history
+        List<Transaction> transactions = transactionManager.getTransactionsBetween(accountNumber, fromMillis, toMillis);
+        out.append('\n').append(transactionsHeading).append(transactions.size()).append("):\n");
+        for (Transaction transaction : transactions) {
+            appendRow(out, transaction);
+        }
+
+        out.append('\n').append(RULE).append('\n');
+        out.append("Statement Date: ").append(statementDate).append('\n');
+        out.append(RULE).append('\n');
+        return out;
+    }
+
+    // Same columns as TransactionManager.printTransactionRows
+    private void appendRow(StringBuilder out, Transaction transaction) {
+        pad(out, transaction.getTransactionId(), 10).append(' ');
+        pad(out, transaction.getAccountNumber(), 12).append(' ');
+        pad(out, transaction.getType(), 10).append(" $");
+        int start = out.length();
+        Money.appendTo(out, transaction.getAmountCents());
+        padFrom(out, start, 11).append(" $");
+        start = out.length();
+        Money.appendTo(out, transaction.getBalanceAfterCents());
+        padFrom(out, start, 14).append(' ');
+        pad(out, timestamp(transaction.getTimestampMillis()), 20).append('\n');
+    }
+
+    private String timestamp(long epochMillis) {
+        long minute = Math.floorDiv(epochMillis, 60_000L);
+        if (minute != cachedMinute) {
+            cachedTimestamp = Transaction.formatTimestamp(epochMillis);
+            cachedMinute = minute;
+        }
+        return cachedTimestamp;
+    }
+
+    private static void money(StringBuilder out, long cents) {
+        Money.appendTo(out, cents).append('\n');
+    }
+
+    // Left-justified in width columns, like %-<width>s
+    private static StringBuilder pad(StringBuilder out, String value, int width) {
+        int start = out.length();
+        out.append(value);
+        return padFrom(out, start, width);
+    }
+
+    private static StringBuilder padFrom(StringBuilder out, int start, int width) {
+        int missing = width - (out.length() - start);
+        if (missing > 0) {
+            out.append(PADDING, 0, missing);
+        }
+        return out;
+    }
+}
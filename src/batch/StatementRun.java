@@ -0,0 +1,234 @@
+package batch;
+
+import account.Account;
+import account.AccountManager;
+import transaction.TransactionManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Renders statements for every account (or those matching a filter) on a fixed
+ * pool of worker threads. Workers claim chunks of CHUNK_SIZE accounts; each has
+ * its own StatementRenderer, StringBuilder and byte buffer, reused for every
+ * statement, so steady-state rendering allocates little beyond the
+ * transaction views. Output is either one file per account or one archive
+ * with the statements in account order.
+ */
+public class StatementRun {
+    public static final int CHUNK_SIZE = 256;
+
+    private final AccountManager accountManager;
+    private final TransactionManager transactionManager;
+    private final int threads;
+
+    public StatementRun(AccountManager accountManager, TransactionManager transactionManager, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.accountManager = accountManager;
+        this.transactionManager = transactionManager;
+        this.threads = threads;
+    }
+
+    public StatementRun(AccountManager accountManager, TransactionManager transactionManager) {
+        this(accountManager, transactionManager, Runtime.getRuntime().availableProcessors());
+    }
+
+    // One file per account, named e.g. ACC001-2026-09.txt, in directory
+    public StatementRunResult writeFiles(Path directory, YearMonth period, Predicate<Account> filter) throws IOException {
+        Files.createDirectories(directory);
+        return run(period, filter, (worker, chunk, accounts) -> {
+            for (Account account : accounts) {
+                worker.text.setLength(0);
+                worker.renderer.render(account, worker.text);
+                ByteBuffer bytes = worker.encode();
+                Path file = directory.resolve(account.getAccountNumber() + "-" + period + ".txt");
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    writeFully(channel, bytes, 0);
+                }
+            }
+        }, null);
+    }
+
+    // Every statement concatenated into one file, in account order
+    public StatementRunResult writeArchive(Path file, YearMonth period, Predicate<Account> filter) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ArchiveOrder order = new ArchiveOrder();
+            return run(period, filter, (worker, chunk, accounts) -> {
+                // Render the whole chunk, take the next slot in the file, then write outside the turn
+                worker.text.setLength(0);
+                for (Account account : accounts) {
+                    worker.renderer.render(account, worker.text);
+                }
+                ByteBuffer bytes = worker.encode();
+                writeFully(channel, bytes, order.reserve(chunk, bytes.remaining()));
+            }, order);
+        }
+    }
+
+    private StatementRunResult run(YearMonth period, Predicate<Account> filter, ChunkWriter writer,
+                                   ArchiveOrder order) throws IOException {
+        long start = System.nanoTime();
+        LocalDate statementDate = LocalDate.now();
+        int accountCount = accountManager.getActualAccountCount();
+        AtomicInteger nextChunk = new AtomicInteger();
+        LongAdder statements = new LongAdder();
+        LongAdder bytes = new LongAdder();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    Worker worker = new Worker(new StatementRenderer(transactionManager, period, statementDate));
+                    List<Account> accounts = new ArrayList<>(CHUNK_SIZE);
+                    try {
+                        for (int chunk = nextChunk.getAndIncrement(); chunk * (long) CHUNK_SIZE < accountCount;
+                             chunk = nextChunk.getAndIncrement()) {
+                            accounts.clear();
+                            int end = Math.min(accountCount, (chunk + 1) * CHUNK_SIZE);
+                            for (int index = chunk * CHUNK_SIZE; index < end; index++) {
+                                Account account = accountManager.getAccount(index);
+                                if (filter == null || filter.test(account)) {
+                                    accounts.add(account);
+                                }
+                            }
+                            writer.write(worker, chunk, accounts);
+                            statements.add(accounts.size());
+                            bytes.add(worker.encodedBytes);
+                            worker.encodedBytes = 0;
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        if (order != null) {
+                            order.fail(); // Don't leave later chunks waiting for this one
+                        }
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Statement run interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new StatementRunResult(period, statements.sum(), bytes.sum(), System.nanoTime() - start);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes, long position) throws IOException {
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+    }
+
+    private interface ChunkWriter {
+        void write(Worker worker, int chunk, List<Account> accounts) throws IOException;
+    }
+
+    // Per-thread buffers, reused for every statement the thread renders
+    private static final class Worker {
+        final StatementRenderer renderer;
+        final StringBuilder text = new StringBuilder(8192);
+        final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        char[] chars = new char[8192];
+        ByteBuffer bytes = ByteBuffer.allocateDirect(8192 * 3);
+        long encodedBytes; // Since the run last collected it
+
+        Worker(StatementRenderer renderer) {
+            this.renderer = renderer;
+        }
+
+        // Encodes text as UTF-8; copying into a char array first keeps the encoder on its fast path
+        ByteBuffer encode() {
+            int length = text.length();
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+                bytes = ByteBuffer.allocateDirect(chars.length * 3);
+            }
+            text.getChars(0, length, chars, 0);
+            bytes.clear();
+            encoder.reset();
+            encoder.encode(CharBuffer.wrap(chars, 0, length), bytes, true);
+            encoder.flush(bytes);
+            bytes.flip();
+            encodedBytes += bytes.remaining();
+            return bytes;
+        }
+    }
+
+    // Hands out archive positions in chunk order, whatever order chunks finish rendering in
+    private static final class ArchiveOrder {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition turn = lock.newCondition();
+        private int nextChunk;
+        private long nextPosition;
+        private boolean failed;
+
+        long reserve(int chunk, int size) throws IOException {
+            lock.lock();
+            try {
+                while (nextChunk != chunk) {
+                    if (failed) {
+                        throw new IOException("Statement run aborted");
+                    }
+                    turn.awaitUninterruptibly();
+                }
+                long position = nextPosition;
+                nextPosition += size;
+                nextChunk++;
+                turn.signalAll();
+                return position;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void fail() {
+            lock.lock();
+            try {
+                failed = true;
+                turn.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package batch;
+
+import java.time.YearMonth;
+
+/**
+ * Counts and timing for one StatementRun.
+ */
+public class StatementRunResult {
+    private final YearMonth period;
+    private final long statementCount;
+    private final long bytesWritten;
+    private final long elapsedNanos;
+
+    StatementRunResult(YearMonth period, long statementCount, long bytesWritten, long elapsedNanos) {
+        this.period = period;
+        this.statementCount = statementCount;
+        this.bytesWritten = bytesWritten;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
+    public long getStatementCount() {
+        return statementCount;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getStatementsPerSecond() {
+        return elapsedNanos == 0 ? 0 : statementCount * 1e9 / elapsedNanos;
+    }
+
+    public double getMegabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytesWritten * 1e9 / elapsedNanos / (1024 * 1024);
+    }
+}
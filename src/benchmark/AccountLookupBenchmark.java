@@ -0,0 +1,95 @@
+package benchmark;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import customer.Customer;
+import customer.RegularCustomer;
+
+import java.util.Random;
+
+/**
+ * Compares AccountManager.findAccount (hash index) with the old linear scan.
+ * Run with: java -Xmx4g -cp out benchmark.AccountLookupBenchmark [sizes...]
+ * Default sizes are 10k, 1M and 10M accounts.
+ */
+public class AccountLookupBenchmark {
+    private static long sink;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? parseSizes(args) : new int[]{10_000, 1_000_000, 10_000_000};
+
+        System.out.printf("%-12s %-18s %-18s%n", "Accounts", "Index (ns/op)", "Linear (ns/op)");
+        for (int size : sizes) {
+            run(size);
+        }
+    }
+
+    private static void run(int size) {
+        Customer customer = new RegularCustomer("Bench Customer", 30, "0551234567", "Accra");
+        AccountManager manager = new AccountManager(size);
+        String[] numbers = new String[size];
+        for (int i = 0; i < size; i++) {
+            Account account = new CheckingAccount(customer, 100.0);
+            manager.addAccount(account);
+            numbers[i] = account.getAccountNumber();
+        }
+
+        // Linear scan is O(n), so scale its iteration count down with the size
+        double indexNs = measure(() -> lookupIndex(manager, numbers, 2_000_000));
+        int linearOps = Math.max(20, 200_000_000 / size);
+        double linearNs = measure(() -> lookupLinear(manager, numbers, linearOps));
+
+        System.out.printf("%-12d %-18.1f %-18.1f (store overhead %.1f bytes/account)%n",
+                size, indexNs, linearNs, manager.getStorageOverheadBytesPerAccount());
+    }
+
+    private static double measure(Workload workload) {
+        // Warm up, then take the best of three runs
+        workload.run();
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            best = Math.min(best, workload.run());
+        }
+        return best;
+    }
+
+    private static double lookupIndex(AccountManager manager, String[] numbers, int ops) {
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++) {
+            Account account = manager.findAccount(numbers[random.nextInt(numbers.length)]);
+            sink += account.getAccountNumber().length();
+        }
+        return (System.nanoTime() - start) / (double) ops;
+    }
+
+    // The pre-index implementation of findAccount
+    private static double lookupLinear(AccountManager manager, String[] numbers, int ops) {
+        int count = manager.getActualAccountCount();
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++) {
+            String accountNumber = numbers[random.nextInt(numbers.length)];
+            for (int j = 0; j < count; j++) {
+                if (manager.getAccount(j).getAccountNumber().equals(accountNumber)) {
+                    sink += j;
+                    break;
+                }
+            }
+        }
+        return (System.nanoTime() - start) / (double) ops;
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+
+    private interface Workload {
+        double run();
+    }
+}
@@ -0,0 +1,140 @@
+package benchmark;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import api.BankApiServer;
+import customer.Customer;
+import customer.RegularCustomer;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load against an in-process BankApiServer: each client sends a
+ * request, waits for the answer and sends the next. The mix is 50% deposits,
+ * 30% account lookups and 20% history pages over a fixed set of accounts.
+ * Reports throughput and latency percentiles per concurrency level.
+ * Run with: java -cp out benchmark.ApiLoadGenerator [seconds] [clients...]
+ */
+public class ApiLoadGenerator {
+    private static final int ACCOUNTS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 5.0;
+        int[] clientCounts = args.length > 1 ? parseClients(args) : new int[]{1, 16, 64};
+
+        AccountManager accountManager = new AccountManager(ACCOUNTS);
+        TransactionManager transactionManager = new TransactionManager();
+        Customer customer = new RegularCustomer("Load Customer", 30, "0551234567", "Accra");
+        String[] accountNumbers = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new CheckingAccount(customer, 1_000.0);
+            accountManager.addAccount(account);
+            accountNumbers[i] = account.getAccountNumber();
+        }
+
+        try (BankApiServer server = new BankApiServer(0, accountManager, transactionManager,
+                new TransactionProcessor(transactionManager))) {
+            server.start();
+            String base = "http://127.0.0.1:" + server.getPort() + "/accounts/";
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            run(client, base, accountNumbers, 4, 1.0); // Warm up
+            System.out.printf("%-10s %-14s %-12s %-12s %-12s%n", "Clients", "Requests/sec", "p50 (us)", "p99 (us)", "Max (us)");
+            for (int clients : clientCounts) {
+                Result result = run(client, base, accountNumbers, clients, seconds);
+                System.out.printf("%-10d %-14.0f %-12d %-12d %-12d%n", clients, result.throughput,
+                        result.percentile(0.50) / 1_000, result.percentile(0.99) / 1_000, result.percentile(1.0) / 1_000);
+            }
+        }
+    }
+
+    private static Result run(HttpClient client, String base, String[] accountNumbers, int clients, double seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int index = c;
+                executor.submit(() -> {
+                    long[] samples = new long[1 << 14];
+                    int count = 0;
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String accountUrl = base + accountNumbers[random.nextInt(accountNumbers.length)];
+                        int kind = random.nextInt(10);
+                        HttpRequest request = kind < 5
+                                ? HttpRequest.newBuilder(URI.create(accountUrl + "/deposit?amount=1.00"))
+                                        .POST(HttpRequest.BodyPublishers.noBody()).build()
+                                : HttpRequest.newBuilder(URI.create(kind < 8 ? accountUrl : accountUrl + "/transactions?limit=10"))
+                                        .build();
+                        long sent = System.nanoTime();
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        long latency = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + new String(response.body()));
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = latency;
+                    }
+                    latencies[index] = samples;
+                    counts[index] = count;
+                    return null;
+                });
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int position = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, position, counts[c]);
+            position += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(total / elapsed, all);
+    }
+
+    private static int[] parseClients(String[] args) {
+        int[] clients = new int[args.length - 1];
+        for (int i = 1; i < args.length; i++) {
+            clients[i - 1] = Integer.parseInt(args[i]);
+        }
+        return clients;
+    }
+
+    private static class Result {
+        final double throughput;
+        final long[] sortedLatencies;
+
+        Result(double throughput, long[] sortedLatencies) {
+            this.throughput = throughput;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        long percentile(double fraction) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(fraction * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))];
+        }
+    }
+}
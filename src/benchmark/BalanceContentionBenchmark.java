@@ -0,0 +1,67 @@
+package benchmark;
+
+import account.Account;
+import account.CheckingAccount;
+import customer.Customer;
+import customer.RegularCustomer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures CAS balance updates with 1..N threads, spread over many
+ * accounts and concentrated on a single hot account.
+ * Run with: java -cp out benchmark.BalanceContentionBenchmark [maxThreads]
+ */
+public class BalanceContentionBenchmark {
+    private static final int OPS_PER_THREAD = 2_000_000;
+    private static final int ACCOUNT_COUNT = 100_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        Customer customer = new RegularCustomer("Bench Customer", 30, "0551234567", "Accra");
+        Account[] accounts = new Account[ACCOUNT_COUNT];
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            accounts[i] = new CheckingAccount(customer, 1_000.0);
+        }
+        Account hotAccount = new CheckingAccount(customer, 1_000.0);
+
+        System.out.printf("%-8s %-22s %-22s%n", "Threads", "Many accounts (Mops/s)", "Hot account (Mops/s)");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double spread = run(threads, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    accounts[random.nextInt(ACCOUNT_COUNT)].deposit(1.0);
+                }
+            });
+            double hot = run(threads, () -> {
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    hotAccount.deposit(1.0);
+                }
+            });
+            System.out.printf("%-8d %-22.1f %-22.1f%n", threads, spread, hot);
+        }
+
+        double expectedHot = 1_000.0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            expectedHot += (double) threads * OPS_PER_THREAD;
+        }
+        System.out.printf("Hot account balance check: expected %.2f, actual %.2f%n",
+                expectedHot, hotAccount.getBalance());
+    }
+
+    // Returns throughput in millions of operations per second
+    private static double run(int threadCount, Runnable task) throws InterruptedException {
+        Thread[] threads = new Thread[threadCount];
+        long start = System.nanoTime();
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(task);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) threadCount * OPS_PER_THREAD / elapsed * 1_000;
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import batch.BatchProcessor;
+import batch.BatchResult;
+import customer.Customer;
+import customer.RegularCustomer;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * End-to-end throughput of BatchProcessor on a generated CSV file: a mix of
+ * deposits, withdrawals and transfers over a fixed set of accounts.
+ * Run with: java -cp out benchmark.BatchIngestBenchmark [rows] [accounts]
+ */
+public class BatchIngestBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int accountCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        AccountManager accountManager = new AccountManager(accountCount);
+        Customer customer = new RegularCustomer("Bench Customer", 30, "0551234567", "Accra");
+        Account[] accounts = new Account[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            accounts[i] = new CheckingAccount(customer, 10_000.0);
+            accountManager.addAccount(accounts[i]);
+        }
+
+        Path directory = Files.createTempDirectory("batch-bench");
+        Path input = directory.resolve("transactions.csv");
+        Path output = directory.resolve("results.csv");
+        try {
+            long writeStart = System.nanoTime();
+            writeInput(input, rows, accounts);
+            System.out.printf("Generated %,d rows (%,d bytes) in %d ms%n", rows, Files.size(input),
+                    (System.nanoTime() - writeStart) / 1_000_000);
+
+            BatchProcessor processor = new BatchProcessor(accountManager,
+                    new TransactionProcessor(new TransactionManager()));
+            BatchResult result = processor.process(input, output);
+            System.out.printf("Processed %,d rows in %,d ms: %,.0f rows/sec (applied %,d, rejected %,d, invalid %,d)%n",
+                    result.getRowCount(), result.getElapsedMillis(), result.getRowsPerSecond(),
+                    result.getAppliedCount(), result.getRejectedCount(), result.getInvalidCount());
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static void writeInput(Path input, int rows, Account[] accounts) throws Exception {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(input, StandardCharsets.UTF_8)) {
+            writer.write("type,account,amount,target\n");
+            for (int i = 0; i < rows; i++) {
+                int index = random.nextInt(accounts.length);
+                Account account = accounts[index];
+                int kind = random.nextInt(10);
+                String amount = (1 + random.nextInt(500)) + "." + (10 + random.nextInt(90));
+                if (kind < 5) {
+                    writer.write("DEPOSIT," + account.getAccountNumber() + "," + amount + "\n");
+                } else if (kind < 8) {
+                    writer.write("WITHDRAWAL," + account.getAccountNumber() + "," + amount + "\n");
+                } else {
+                    // Any account but the source
+                    Account target = accounts[(index + 1 + random.nextInt(accounts.length - 1)) % accounts.length];
+                    writer.write("TRANSFER," + account.getAccountNumber() + "," + amount + "," + target.getAccountNumber() + "\n");
+                }
+            }
+        }
+    }
+}
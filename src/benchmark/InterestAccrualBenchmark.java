@@ -0,0 +1,59 @@
+package benchmark;
+
+import account.AccountManager;
+import account.SavingsAccount;
+import batch.InterestAccrualJob;
+import batch.PeriodLedger;
+import batch.PostingResult;
+import customer.Customer;
+import customer.RegularCustomer;
+import transaction.TransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Month-end interest posting over a large book of savings accounts, for
+ * several fork/join parallelism levels. Each level posts a different month
+ * to the same accounts, so every run does the full amount of work.
+ * Run with: java -cp out benchmark.InterestAccrualBenchmark [accounts]
+ */
+public class InterestAccrualBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        AccountManager accountManager = new AccountManager(accountCount);
+        Customer customer = new RegularCustomer("Bench Customer", 30, "0551234567", "Accra");
+        for (int i = 0; i < accountCount; i++) {
+            accountManager.addAccount(new SavingsAccount(customer, 1_000.0 + i % 10_000));
+        }
+        TransactionManager transactionManager = new TransactionManager();
+        Path directory = Files.createTempDirectory("interest-bench");
+
+        try {
+            PeriodLedger ledger = new PeriodLedger(directory);
+            YearMonth period = YearMonth.of(2000, 1);
+            System.out.printf("%-12s %-12s %-14s %-16s%n", "Threads", "Posted", "Time (ms)", "Accounts/sec");
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                PostingResult result = new InterestAccrualJob(accountManager, transactionManager, ledger, pool).run(period);
+                pool.shutdown();
+                System.out.printf("%-12d %-12d %-14d %-16.0f%n", threads, result.getPostedCount(),
+                        result.getElapsedMillis(), result.getAccountsPerSecond());
+                period = period.plusMonths(1);
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package benchmark;
+
+import account.AccountManager;
+import storage.TransactionJournal;
+import storage.TransactionJournal.FsyncPolicy;
+import transaction.Transaction;
+import transaction.TransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Append latency of the memory-mapped journal under each fsync policy,
+ * and how long recovery takes to replay it.
+ * Run with: java -cp out benchmark.JournalBenchmark [appends] [directory]
+ */
+public class JournalBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path directory = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("journal-bench");
+
+        Transaction[] transactions = new Transaction[count];
+        for (int i = 0; i < count; i++) {
+            transactions[i] = new Transaction(String.format("ACC%03d", i % 1_000 + 1), "DEPOSIT", 100, 10_000L + i);
+        }
+
+        run(directory, "NEVER", FsyncPolicy.NEVER, 1, transactions, count);
+        run(directory, "EVERY_N (1000)", FsyncPolicy.EVERY_N, 1_000, transactions, count);
+        // Forcing every record is orders of magnitude slower, so measure fewer
+        run(directory, "ALWAYS", FsyncPolicy.ALWAYS, 1, transactions, Math.min(count, 2_000));
+
+        Path journalPath = directory.resolve("never.journal");
+        long start = System.nanoTime();
+        long replayed;
+        try (TransactionJournal journal = new TransactionJournal(journalPath)) {
+            replayed = journal.recover(new TransactionManager(), new AccountManager());
+        }
+        System.out.printf("Recovery: %d records in %.1f ms%n", replayed, (System.nanoTime() - start) / 1e6);
+    }
+
+    private static void run(Path directory, String label, FsyncPolicy policy, int interval,
+                            Transaction[] transactions, int count) throws IOException {
+        Path journalPath = directory.resolve(policy.name().toLowerCase() + ".journal");
+        Files.deleteIfExists(journalPath);
+
+        try (TransactionJournal journal = new TransactionJournal(journalPath, policy, interval)) {
+            // Warm up on the first tenth, then time the rest
+            int warmup = count / 10;
+            for (int i = 0; i < warmup; i++) {
+                journal.append(transactions[i]);
+            }
+            long start = System.nanoTime();
+            for (int i = warmup; i < count; i++) {
+                journal.append(transactions[i]);
+            }
+            double ns = (System.nanoTime() - start) / (double) (count - warmup);
+            System.out.printf("%-16s %10.0f ns/append%n", label, ns);
+        }
+    }
+}
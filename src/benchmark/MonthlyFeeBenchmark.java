@@ -0,0 +1,68 @@
+package benchmark;
+
+import account.AccountManager;
+import account.CheckingAccount;
+import batch.MonthlyFeeJob;
+import batch.PeriodLedger;
+import batch.PostingResult;
+import customer.Customer;
+import customer.PremiumCustomer;
+import customer.RegularCustomer;
+import transaction.TransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Month-end fee posting over a large book of checking accounts (one in ten
+ * owned by a premium customer, so waived), for several fork/join parallelism
+ * levels. Each level posts a different month, so every run does the full
+ * amount of work; the speedup column shows how close to linear it scales.
+ * Run with: java -cp out benchmark.MonthlyFeeBenchmark [accounts]
+ */
+public class MonthlyFeeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        AccountManager accountManager = new AccountManager(accountCount);
+        Customer regular = new RegularCustomer("Bench Customer", 30, "0551234567", "Accra");
+        Customer premium = new PremiumCustomer("Bench Premium", 40, "0551234568", "Accra");
+        for (int i = 0; i < accountCount; i++) {
+            accountManager.addAccount(new CheckingAccount(i % 10 == 0 ? premium : regular, 1_000.0 + i % 10_000));
+        }
+        TransactionManager transactionManager = new TransactionManager();
+        Path directory = Files.createTempDirectory("fee-bench");
+
+        try {
+            PeriodLedger ledger = new PeriodLedger(directory);
+            YearMonth period = YearMonth.of(2000, 1);
+            System.out.printf("%-12s %-12s %-12s %-14s %-16s %-10s%n",
+                    "Threads", "Posted", "Waived", "Time (ms)", "Accounts/sec", "Speedup");
+            double baseline = 0;
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                PostingResult result = new MonthlyFeeJob(accountManager, transactionManager, ledger, pool).run(period);
+                pool.shutdown();
+                if (baseline == 0) {
+                    baseline = result.getAccountsPerSecond();
+                }
+                System.out.printf("%-12d %-12d %-12d %-14d %-16.0f %-10.2f%n", threads, result.getPostedCount(),
+                        result.getSkippedCount(), result.getElapsedMillis(), result.getAccountsPerSecond(),
+                        result.getAccountsPerSecond() / baseline);
+                period = period.plusMonths(1);
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import batch.ReconciliationJob;
+import batch.ReconciliationResult;
+import customer.Customer;
+import customer.RegularCustomer;
+import transaction.Transaction;
+import transaction.TransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Full reconciliation of a large ledger, then an incremental run after new
+ * activity on 1% of the accounts, which should only replay the new entries.
+ * Run with: java -cp out benchmark.ReconciliationBenchmark [accounts] [transactionsPerAccount]
+ */
+public class ReconciliationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int perAccount = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        AccountManager accountManager = new AccountManager(accountCount);
+        TransactionManager transactionManager = new TransactionManager();
+        Customer customer = new RegularCustomer("Bench Customer", 30, "0551234567", "Accra");
+        for (int i = 0; i < accountCount; i++) {
+            accountManager.addAccount(new CheckingAccount(customer, 1_000.0));
+        }
+        // Interleaved, as real activity would be, rather than one account at a time
+        for (int t = 0; t < perAccount; t++) {
+            for (int i = 0; i < accountCount; i++) {
+                record(accountManager.getAccount(i), transactionManager, t);
+            }
+        }
+
+        Path checkpoint = Files.createTempFile("reconciliation", ".checkpoint");
+        Files.delete(checkpoint);
+        try {
+            ReconciliationJob job = new ReconciliationJob(accountManager, transactionManager, checkpoint);
+            report("Full", job.run());
+
+            for (int i = 0; i < accountCount; i += 100) {
+                record(accountManager.getAccount(i), transactionManager, 0);
+            }
+            report("Incremental", job.run());
+        } finally {
+            Files.deleteIfExists(checkpoint);
+        }
+    }
+
+    private static void record(Account account, TransactionManager transactionManager, int t) {
+        if (t % 3 == 2) {
+            transactionManager.addTransaction(new Transaction(account.getAccountNumber(), "WITHDRAWAL", 250, account.withdrawCents(250)));
+        } else {
+            transactionManager.addTransaction(new Transaction(account.getAccountNumber(), "DEPOSIT", 100, account.depositCents(100)));
+        }
+    }
+
+    private static void report(String label, ReconciliationResult result) {
+        System.out.printf("%-12s accounts=%d replayed=%d mismatches=%d time=%d ms (%.0f transactions/sec)%n",
+                label, result.getAccountsChecked(), result.getTransactionsReplayed(), result.getMismatches().size(),
+                result.getElapsedMillis(), result.getTransactionsPerSecond());
+    }
+}
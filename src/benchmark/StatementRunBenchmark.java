@@ -0,0 +1,72 @@
+package benchmark;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import batch.StatementRenderer;
+import batch.StatementRun;
+import batch.StatementRunResult;
+import customer.Customer;
+import customer.RegularCustomer;
+import transaction.Transaction;
+import transaction.TransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Bulk statement generation: formatting alone into a reused StringBuilder,
+ * then the full run into one archive file, for 1..cores worker threads. If
+ * the archive rate is well below the formatting rate, the run is I/O bound.
+ * Run with: java -cp out benchmark.StatementRunBenchmark [accounts] [transactionsPerAccount]
+ */
+public class StatementRunBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int perAccount = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        AccountManager accountManager = new AccountManager(accountCount);
+        TransactionManager transactionManager = new TransactionManager();
+        Customer customer = new RegularCustomer("Bench Customer", 30, "0551234567", "Accra");
+        for (int i = 0; i < accountCount; i++) {
+            Account account = i % 2 == 0 ? new SavingsAccount(customer, 1_000.0) : new CheckingAccount(customer, 1_000.0);
+            accountManager.addAccount(account);
+            for (int t = 0; t < perAccount; t++) {
+                long balance = account.depositCents(100 + t);
+                transactionManager.addTransaction(new Transaction(account.getAccountNumber(), "DEPOSIT", 100 + t, balance));
+            }
+        }
+        YearMonth period = YearMonth.now();
+
+        // Formatting only, one thread
+        StatementRenderer renderer = new StatementRenderer(transactionManager, period, LocalDate.now());
+        StringBuilder text = new StringBuilder(8192);
+        long characters = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < accountCount; i++) {
+            text.setLength(0);
+            characters += renderer.render(accountManager.getAccount(i), text).length();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Render only (1 thread): %.0f statements/sec, %.1f MB/s%n",
+                accountCount / seconds, characters / seconds / (1024 * 1024));
+
+        Path archive = Files.createTempFile("statements", ".txt");
+        try {
+            System.out.printf("%-12s %-14s %-18s %-10s%n", "Threads", "Time (ms)", "Statements/sec", "MB/s");
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                StatementRunResult result = new StatementRun(accountManager, transactionManager, threads)
+                        .writeArchive(archive, period, null);
+                System.out.printf("%-12d %-14d %-18.0f %-10.1f%n", threads, result.getElapsedMillis(),
+                        result.getStatementsPerSecond(), result.getMegabytesPerSecond());
+            }
+        } finally {
+            Files.deleteIfExists(archive);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package benchmark;
+
+import transaction.Transaction;
+import transaction.TransactionEvents;
+import transaction.TransactionManager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cost that the transaction event stream adds to TransactionManager.addTransaction:
+ * no publisher, a publisher with a fast batch subscriber, and one with a subscriber
+ * that is too slow to keep up (its events are dropped rather than blocking).
+ * Run with: java -cp out benchmark.TransactionEventsBenchmark [transactions]
+ */
+public class TransactionEventsBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        System.out.printf("%-28s %-12s %-12s %-12s%n", "Setup", "ns/add", "Delivered", "Dropped");
+        run("No publisher", count, null, 0);
+        run("Fast batch subscriber", count, new TransactionEvents(), 0);
+        run("Slow subscriber (1ms/batch)", count, new TransactionEvents(), 1);
+    }
+
+    private static void run(String label, int count, TransactionEvents events, long pauseMillis) throws InterruptedException {
+        LongAdder delivered = new LongAdder();
+        if (events != null) {
+            events.subscribe(new TransactionEvents.BatchSubscriber(256, 5, batch -> {
+                delivered.add(batch.size());
+                if (pauseMillis > 0) {
+                    try {
+                        Thread.sleep(pauseMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }));
+        }
+
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < 4; round++) {
+            TransactionManager transactionManager = new TransactionManager();
+            if (events != null) {
+                transactionManager.attachEvents(events);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", 100, 100L * (i + 1)));
+            }
+            best = Math.min(best, (System.nanoTime() - start) / (double) count);
+        }
+
+        Thread.sleep(100); // Let the subscriber drain before reading its counters
+        System.out.printf("%-28s %-12.1f %-12d %-12d%n", label, best, delivered.sum(),
+                events == null ? 0 : events.getDroppedCount());
+        if (events != null) {
+            events.close();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package benchmark;
+
+import transaction.Transaction;
+import transaction.TransactionManager;
+
+import java.lang.ref.Reference;
+
+/**
+ * Heap used per transaction by the columnar TransactionManager versus
+ * holding Transaction objects, plus full-log aggregate speed.
+ * Run with: java -Xmx4g -cp out benchmark.TransactionStoreBenchmark [transactions]
+ */
+public class TransactionStoreBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        String[] accountNumbers = new String[1_000];
+        for (int i = 0; i < accountNumbers.length; i++) {
+            accountNumbers[i] = String.format("ACC%03d", i + 1);
+        }
+
+        long before = usedHeap();
+        Transaction[] objects = new Transaction[count];
+        for (int i = 0; i < count; i++) {
+            objects[i] = new Transaction(accountNumbers[i % accountNumbers.length], i % 3 == 0 ? "WITHDRAWAL" : "DEPOSIT", 100, 10_000);
+        }
+        long objectBytes = usedHeap() - before;
+        Reference.reachabilityFence(objects);
+        objects = null;
+
+        before = usedHeap();
+        TransactionManager transactionManager = new TransactionManager();
+        for (int i = 0; i < count; i++) {
+            transactionManager.addTransaction(new Transaction(accountNumbers[i % accountNumbers.length], i % 3 == 0 ? "WITHDRAWAL" : "DEPOSIT", 100, 10_000));
+        }
+        long columnarBytes = usedHeap() - before;
+
+        System.out.printf("Transactions: %d%n", count);
+        System.out.printf("Object array: %.1f bytes/transaction%n", objectBytes / (double) count);
+        System.out.printf("Columnar log: %.1f bytes/transaction (including per-account index)%n", columnarBytes / (double) count);
+
+        long total = 0;
+        for (int i = 0; i < 5; i++) {
+            total += transactionManager.calculateBankTotal("DEPOSIT");
+        }
+        long start = System.nanoTime();
+        int runs = 20;
+        for (int i = 0; i < runs; i++) {
+            total += transactionManager.calculateBankTotal("DEPOSIT");
+        }
+        double ms = (System.nanoTime() - start) / 1e6 / runs;
+        System.out.printf("Full-log deposit total: %.2f ms per scan (%.2f ns/row) [%d]%n", ms, ms * 1e6 / count, total % 10);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
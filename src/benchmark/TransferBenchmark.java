@@ -0,0 +1,79 @@
+package benchmark;
+
+import account.Account;
+import account.CheckingAccount;
+import customer.Customer;
+import customer.RegularCustomer;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Random transfers between accounts from many threads through TransactionProcessor.
+ * Checks that total money is conserved and reports transfers per second.
+ * Run with: java -cp out benchmark.TransferBenchmark [threads] [accounts] [transfersPerThread]
+ */
+public class TransferBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int accountCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int transfersPerThread = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        Customer customer = new RegularCustomer("Bench Customer", 30, "0551234567", "Accra");
+        Account[] accounts = new Account[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            accounts[i] = new CheckingAccount(customer, 1_000.0);
+        }
+        double totalBefore = totalBalance(accounts);
+
+        TransactionManager transactionManager = new TransactionManager();
+        TransactionProcessor processor = new TransactionProcessor(transactionManager);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+
+        Runnable worker = () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < transfersPerThread; i++) {
+                Account source = accounts[random.nextInt(accountCount)];
+                Account target = accounts[random.nextInt(accountCount)];
+                if (source == target) {
+                    continue;
+                }
+                try {
+                    processor.transfer(source, target, 100 * (1 + random.nextInt(50)));
+                    completed.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet(); // Insufficient funds
+                }
+            }
+        };
+
+        Thread[] threads = new Thread[threadCount];
+        long start = System.nanoTime();
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(worker);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Threads: %d, Accounts: %d%n", threadCount, accountCount);
+        System.out.printf("Completed: %d, Rejected: %d, Time: %.2fs%n", completed.get(), rejected.get(), seconds);
+        System.out.printf("Throughput: %.0f transfers/s%n", completed.get() / seconds);
+        System.out.printf("Money conserved: %s (before $%.2f, after $%.2f)%n",
+                Math.abs(totalBefore - totalBalance(accounts)) < 0.01, totalBefore, totalBalance(accounts));
+    }
+
+    private static double totalBalance(Account[] accounts) {
+        double total = 0;
+        for (Account account : accounts) {
+            total += account.getBalance();
+        }
+        return total;
+    }
+}
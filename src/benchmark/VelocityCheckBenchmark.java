@@ -0,0 +1,101 @@
+package benchmark;
+
+import account.Account;
+import account.CheckingAccount;
+import customer.Customer;
+import customer.RegularCustomer;
+import transaction.IdempotencyCache;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+import transaction.VelocityChecker;
+import transaction.VelocityRule;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency the velocity checks add to each transaction: deposits and
+ * withdrawals spread over a set of accounts, processed with and without a
+ * VelocityChecker, plus the bare check and record on their own and the
+ * bytes they allocate. Limits are set high enough that nothing is rejected.
+ * Run with: java -cp out benchmark.VelocityCheckBenchmark [accounts] [transactions]
+ */
+public class VelocityCheckBenchmark {
+
+    public static void main(String[] args) {
+        int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int transactions = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        Customer customer = new RegularCustomer("Bench Customer", 30, "0551234567", "Accra");
+        Account[] accounts = new Account[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            accounts[i] = new CheckingAccount(customer, 1_000_000.0);
+        }
+        List<VelocityRule> rules = List.of(
+                VelocityRule.maxCount("debit-burst", VelocityRule.Scope.DEBITS, Long.MAX_VALUE / 2, 1, TimeUnit.MINUTES,
+                        VelocityRule.Action.REJECT),
+                VelocityRule.maxAmount("debit-hourly", VelocityRule.Scope.DEBITS, Long.MAX_VALUE / 2, 1, TimeUnit.HOURS,
+                        VelocityRule.Action.REJECT),
+                VelocityRule.maxAmount("all-large", VelocityRule.Scope.ALL, Long.MAX_VALUE / 2, 10, TimeUnit.MINUTES,
+                        VelocityRule.Action.FLAG));
+
+        System.out.printf("%-22s %-14s %-12s %-12s%n", "Path", "Time (ms)", "ns/op", "Bytes/op");
+        // Warm up both paths before timing them
+        runProcessor(new TransactionProcessor(new TransactionManager()), accounts, transactions / 4);
+        runProcessor(new TransactionProcessor(new TransactionManager(), null, new IdempotencyCache(),
+                new VelocityChecker(rules)), accounts, transactions / 4);
+
+        report("processor", accounts, transactions, new TransactionProcessor(new TransactionManager()));
+        VelocityChecker checker = new VelocityChecker(rules);
+        report("processor + velocity", accounts, transactions, new TransactionProcessor(new TransactionManager(),
+                null, new IdempotencyCache(), checker));
+
+        VelocityChecker bare = new VelocityChecker(rules);
+        runChecks(bare, accounts, transactions / 4);
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        runChecks(bare, accounts, transactions);
+        long elapsed = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+        System.out.printf("%-22s %-14d %-12.1f %-12.2f%n", "check + record", elapsed / 1_000_000,
+                (double) elapsed / transactions, (double) bytes / transactions);
+        System.out.printf("%nRejected: %d, accounts tracked: %d%n",
+                checker.getRejectedCount(), checker.getTrackedAccountCount());
+    }
+
+    private static void report(String label, Account[] accounts, int transactions, TransactionProcessor processor) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        runProcessor(processor, accounts, transactions);
+        long elapsed = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+        System.out.printf("%-22s %-14d %-12.1f %-12.2f%n", label, elapsed / 1_000_000,
+                (double) elapsed / transactions, (double) bytes / transactions);
+    }
+
+    // Alternating deposits and withdrawals of the same amount, so balances stay put
+    private static void runProcessor(TransactionProcessor processor, Account[] accounts, int transactions) {
+        for (int i = 0; i < transactions; i++) {
+            Account account = accounts[(i >> 1) % accounts.length];
+            if ((i & 1) == 0) {
+                processor.deposit(account, 100_00);
+            } else {
+                processor.withdraw(account, 100_00);
+            }
+        }
+    }
+
+    private static void runChecks(VelocityChecker checker, Account[] accounts, int transactions) {
+        for (int i = 0; i < transactions; i++) {
+            Account account = accounts[(i >> 1) % accounts.length];
+            boolean debit = (i & 1) != 0;
+            checker.check(account, debit, 100_00);
+            checker.record(account, debit, 100_00);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,89 @@
+package benchmark;
+
+import account.Account;
+import account.CheckingAccount;
+import customer.Customer;
+import customer.RegularCustomer;
+import storage.WriteAheadLog;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable deposit throughput through TransactionProcessor with a write-ahead
+ * log, for 1, 8 and 64 concurrent writers and several group-commit windows.
+ * Each writer deposits into its own account, so only the log is shared.
+ * Run with: java -cp out benchmark.WriteAheadLogBenchmark [seconds] [windowMicros...]
+ */
+public class WriteAheadLogBenchmark {
+    private static final int[] WRITERS = {1, 8, 64};
+
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 2.0;
+        long[] windows = args.length > 1 ? parseWindows(args) : new long[]{0, 100, 1_000};
+        Path directory = Files.createTempDirectory("wal-bench");
+
+        System.out.printf("%-10s %-14s %-14s %-14s%n", "Writers", "Window (us)", "Ops/sec", "Ops/fsync");
+        for (long window : windows) {
+            for (int writers : WRITERS) {
+                run(directory, writers, window, seconds);
+            }
+        }
+    }
+
+    private static void run(Path directory, int writers, long windowMicros, double seconds) throws Exception {
+        Path walPath = directory.resolve("bench-" + writers + "-" + windowMicros + ".wal");
+        Customer customer = new RegularCustomer("Bench Customer", 30, "0551234567", "Accra");
+        Account[] accounts = new Account[writers];
+        for (int i = 0; i < writers; i++) {
+            accounts[i] = new CheckingAccount(customer, 100.0);
+        }
+
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(walPath, windowMicros, TimeUnit.MICROSECONDS)) {
+            TransactionProcessor processor = new TransactionProcessor(new TransactionManager(), writeAheadLog);
+            long deadline = System.nanoTime() + (long) (seconds * 1e9);
+            long[] counts = new long[writers];
+            Thread[] threads = new Thread[writers];
+            for (int t = 0; t < writers; t++) {
+                int index = t;
+                threads[t] = new Thread(() -> {
+                    long ops = 0;
+                    while (System.nanoTime() < deadline) {
+                        processor.deposit(accounts[index], 1);
+                        ops++;
+                    }
+                    counts[index] = ops;
+                });
+            }
+
+            long start = System.nanoTime();
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            System.out.printf("%-10d %-14d %-14.0f %-14.1f%n", writers, windowMicros, total / elapsed,
+                    total / (double) Math.max(1, writeAheadLog.getFlushCount()));
+        } finally {
+            Files.deleteIfExists(walPath);
+        }
+    }
+
+    private static long[] parseWindows(String[] args) {
+        long[] windows = new long[args.length - 1];
+        for (int i = 1; i < args.length; i++) {
+            windows[i - 1] = Long.parseLong(args[i]);
+        }
+        return windows;
+    }
+}
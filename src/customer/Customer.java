@@ -1,5 +1,7 @@
 package customer;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public abstract class Customer {
     private final String customerId;
     private final String name;
@@ -7,7 +9,7 @@ public abstract class Customer {
     private final String contact;
     private final String address;
 
-    private static int customerCounter = 0;
+    private static final AtomicInteger customerCounter = new AtomicInteger();
 
     public Customer(String name, int age, String contact, String address) {
         this.customerId = generateCustomerId();
@@ -17,9 +19,20 @@ public abstract class Customer {
         this.address = address;
     }
 
+    // Recreate a persisted customer, keeping its id; later ids continue after it
+    protected Customer(String customerId, String name, int age, String contact, String address) {
+        this.customerId = customerId;
+        this.name = name;
+        this.age = age;
+        this.contact = contact;
+        this.address = address;
+        if (customerId.startsWith("CUS")) {
+            customerCounter.accumulateAndGet(Integer.parseInt(customerId.substring(3)), Math::max);
+        }
+    }
+
     private String generateCustomerId() {
-        customerCounter++;
-        return String.format("CUS%03d", customerCounter);
+        return String.format("CUS%03d", customerCounter.incrementAndGet());
     }
 
     // Getters
@@ -1,13 +1,27 @@
 package customer;
 
 import utils.CustomUtils;
+import utils.Money;
 
 public class PremiumCustomer extends Customer {
-    private final double minimumBalance;
+    private final long minimumBalanceCents;
 
     public PremiumCustomer(String name, int age, String contact, String address) {
         super(name, age, contact, address);
-        this.minimumBalance = 10000.0;
+        this.minimumBalanceCents = 10_000_00;
+    }
+
+    public PremiumCustomer(String customerId, String name, int age, String contact, String address) {
+        super(customerId, name, age, contact, address);
+        this.minimumBalanceCents = 10_000_00;
+    }
+
+    public double getMinimumBalance() {
+        return Money.toDollars(minimumBalanceCents);
+    }
+
+    public long getMinimumBalanceCents() {
+        return minimumBalanceCents;
     }
 
 
@@ -20,7 +34,7 @@ public class PremiumCustomer extends Customer {
         CustomUtils.print("Contact: " + getContact());
         CustomUtils.print("Address: " + getAddress());
         CustomUtils.print("Type: Premium Customer");
-        CustomUtils.print("Minimum Balance Required: $" + String.format("%.2f", minimumBalance));
+        CustomUtils.print("Minimum Balance Required: $" + Money.format(minimumBalanceCents));
         CustomUtils.print("Benefits: No monthly fees, Priority service");
     }
 
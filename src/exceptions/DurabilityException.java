@@ -0,0 +1,12 @@
+package exceptions;
+
+/**
+ * The operation was applied, but could not be confirmed durable. Unlike a
+ * rejection, retrying it would apply it a second time.
+ */
+public class DurabilityException extends RuntimeException {
+
+    public DurabilityException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
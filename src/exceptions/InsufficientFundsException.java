@@ -1,10 +1,13 @@
 package exceptions;
 
+import utils.Money;
+
 public class InsufficientFundsException extends IllegalArgumentException {
 
-    public InsufficientFundsException(String accountNumber, double currentBalance, double requestedAmount) {
-        super(String.format("Insufficient funds in account %s. Current: $%.2f, Requested: $%.2f",
-                accountNumber, currentBalance, requestedAmount));
+    public InsufficientFundsException(String accountNumber, long currentBalanceCents, long requestedAmountCents) {
+        super("Insufficient funds in account " + accountNumber
+                + ". Current: $" + Money.format(currentBalanceCents)
+                + ", Requested: $" + Money.format(requestedAmountCents));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package exceptions;
+
+import transaction.VelocityRule;
+
+public class VelocityLimitExceededException extends IllegalArgumentException {
+    private final String accountNumber;
+    private final VelocityRule rule;
+
+    public VelocityLimitExceededException(String accountNumber, VelocityRule rule) {
+        super("Velocity limit reached for account " + accountNumber + " (" + rule + ")");
+        this.accountNumber = accountNumber;
+        this.rule = rule;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public VelocityRule getRule() {
+        return rule;
+    }
+}
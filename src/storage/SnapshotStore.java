@@ -0,0 +1,448 @@
+package storage;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import customer.Customer;
+import customer.PremiumCustomer;
+import customer.RegularCustomer;
+import transaction.Transaction;
+import utils.CustomUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary snapshots of all accounts and customers, so startup only
+ * replays the journal records written after the newest snapshot.
+ *
+ * A full snapshot holds every account; an incremental one only holds accounts
+ * (and their customers) that are new or whose balance or status changed since
+ * the previous snapshot. Those are found without visiting every account: the
+ * ones named by journal records written since, the ones added to the account
+ * manager since, and the ones it noted with markChanged (status changes).
+ * Without a journal every account is compared instead. Every
+ * fullSnapshotInterval-th snapshot is full, and files older than the newest
+ * full one are deleted. Loading applies the newest full snapshot plus every
+ * later incremental one.
+ *
+ * Snapshots read balances without taking account locks, so transactions keep
+ * running. The journal position is read first: any change that raced with the
+ * snapshot is journaled at or after that position, and replay overwrites the
+ * balance with the absolute balance-after of the newest record. The journal
+ * is forced before the snapshot is written, so every record before that
+ * position is on disk by the time a restart skips them.
+ */
+public class SnapshotStore implements Closeable {
+    private static final int MAGIC = 0x534E4150; // "SNAP"
+    private static final int VERSION = 2; // 2 added opening balances; version 1 files still load
+    private static final byte FULL = 1;
+    private static final byte INCREMENTAL = 2;
+    private static final byte REGULAR = 1;
+    private static final byte PREMIUM = 2;
+    private static final byte CHECKING = 1;
+    private static final byte SAVINGS = 2;
+
+    private final Path directory;
+    private final AccountManager accountManager;
+    private final TransactionJournal journal;
+    private final int fullSnapshotInterval;
+
+    // State as of the last snapshot written or loaded; guarded by this
+    private final Map<String, Long> snapshotBalances = new HashMap<>();
+    private final Map<String, String> snapshotStatuses = new HashMap<>();
+    private final Map<String, Boolean> snapshotCustomers = new HashMap<>();
+    private long lastSequence;
+    private int snapshotsSinceFull;
+    private long lastJournalPosition; // Records from here on may have changed balances
+    private int lastAccountCount; // Accounts are only appended; those from here on are new
+
+    private ScheduledExecutorService scheduler;
+
+    public SnapshotStore(Path directory, AccountManager accountManager, TransactionJournal journal,
+                         int fullSnapshotInterval) throws IOException {
+        this.directory = directory;
+        this.accountManager = accountManager;
+        this.journal = journal;
+        this.fullSnapshotInterval = Math.max(1, fullSnapshotInterval);
+        Files.createDirectories(directory);
+    }
+
+    public SnapshotStore(Path directory, AccountManager accountManager, TransactionJournal journal) throws IOException {
+        this(directory, accountManager, journal, 10);
+    }
+
+    /**
+     * Restore accounts and customers into the account manager from the newest
+     * snapshots. Returns the journal position to replay from (0 if there are none).
+     */
+    public synchronized long load() throws IOException {
+        List<Path> files = listSnapshots();
+        int start = -1;
+        for (int i = files.size() - 1; i >= 0; i--) {
+            if (isFull(files.get(i))) {
+                start = i;
+                break;
+            }
+        }
+        if (start < 0) {
+            // Leftover incremental files without a base are ignored; number new ones after them
+            lastSequence = files.isEmpty() ? 0 : sequenceOf(files.get(files.size() - 1));
+            return 0;
+        }
+
+        Map<String, Customer> customers = new HashMap<>();
+        Map<String, Account> accounts = new HashMap<>();
+        List<String> accountOrder = new ArrayList<>();
+        long journalPosition = 0;
+        long transactionCounter = 0;
+        for (int i = start; i < files.size(); i++) {
+            SnapshotContents contents = read(files.get(i), customers);
+            if (contents == null) {
+                break; // Torn or corrupt file; everything after it depends on it
+            }
+            for (Account account : contents.accounts) {
+                if (accounts.put(account.getAccountNumber(), account) == null) {
+                    accountOrder.add(account.getAccountNumber());
+                }
+            }
+            journalPosition = contents.journalPosition;
+            transactionCounter = contents.transactionCounter;
+            lastSequence = contents.sequence;
+        }
+
+        for (String accountNumber : accountOrder) {
+            Account account = accounts.get(accountNumber);
+            accountManager.addAccount(account);
+            remember(account);
+        }
+        lastJournalPosition = journalPosition;
+        lastAccountCount = accountManager.getActualAccountCount();
+        Transaction.restoreTransactionCounter(transactionCounter);
+        snapshotsSinceFull = fullSnapshotInterval; // Start the next cycle with a full snapshot
+        return journalPosition;
+    }
+
+    // Write a snapshot now; full or incremental depending on the interval. Returns accounts written
+    public synchronized int snapshot() throws IOException {
+        boolean full = snapshotsSinceFull >= fullSnapshotInterval - 1 || snapshotBalances.isEmpty();
+        long journalPosition = journal == null ? 0 : journal.getRecordCount();
+        if (journal != null) {
+            journal.sync(); // A restart skips everything before journalPosition, so it must be on disk
+        }
+        long transactionCounter = Transaction.getTransactionCounter();
+        int accountCount = accountManager.getActualAccountCount();
+        List<String> marked = accountManager.takeChangedAccounts();
+
+        // Capture the accounts to write before touching the file
+        List<Account> changed = new ArrayList<>();
+        List<Long> balances = new ArrayList<>();
+        long sequence = lastSequence + 1;
+        try {
+            if (full || journal == null) {
+                for (int i = 0; i < accountCount; i++) {
+                    collect(accountManager.getAccount(i), full, changed, balances);
+                }
+            } else {
+                Map<String, Account> candidates = new LinkedHashMap<>();
+                for (int i = lastAccountCount; i < accountCount; i++) {
+                    Account account = accountManager.getAccount(i);
+                    candidates.put(account.getAccountNumber(), account);
+                }
+                for (String accountNumber : marked) {
+                    candidates.computeIfAbsent(accountNumber, this::existingAccount);
+                }
+                for (long position = lastJournalPosition; position < journalPosition; position++) {
+                    candidates.computeIfAbsent(journal.read(position).getAccountNumber(), this::existingAccount);
+                }
+                for (Account account : candidates.values()) {
+                    collect(account, false, changed, balances);
+                }
+            }
+            if (changed.isEmpty() && (!full || accountCount == 0)) {
+                lastJournalPosition = journalPosition;
+                lastAccountCount = accountCount;
+                return 0; // Nothing to write
+            }
+
+            Path target = directory.resolve(fileName(sequence, full));
+            Path temp = directory.resolve(fileName(sequence, full) + ".tmp");
+            write(temp, sequence, full, journalPosition, transactionCounter, changed, balances);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            // The older snapshots are deleted below, so the new one must not be lost to a crash first
+            WriteAheadLog.forceDirectory(directory);
+        } catch (IOException | RuntimeException e) {
+            for (String accountNumber : marked) {
+                accountManager.markChanged(accountNumber); // Still owed to the next snapshot
+            }
+            throw e;
+        }
+
+        lastSequence = sequence;
+        lastJournalPosition = journalPosition;
+        lastAccountCount = accountCount;
+        for (int i = 0; i < changed.size(); i++) {
+            Account account = changed.get(i);
+            snapshotBalances.put(account.getAccountNumber(), balances.get(i));
+            snapshotStatuses.put(account.getAccountNumber(), account.getStatus());
+            snapshotCustomers.put(account.getCustomer().getCustomerId(), Boolean.TRUE);
+        }
+        if (full) {
+            snapshotsSinceFull = 0;
+            deleteOlderThan(sequence);
+        } else {
+            snapshotsSinceFull++;
+        }
+        return changed.size();
+    }
+
+    // Take snapshots in the background every period until close()
+    public synchronized void start(long period, TimeUnit unit) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Any exception escaping the task would cancel every later run, so report and carry on
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                CustomUtils.printError("Snapshot failed: " + e);
+            }
+        }, period, period, unit);
+    }
+
+    // Stop the background snapshots and write a final one
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = scheduler;
+            scheduler = null;
+        }
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        snapshot();
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    private void write(Path file, long sequence, boolean full, long journalPosition, long transactionCounter,
+                       List<Account> accounts, List<Long> balances) throws IOException {
+        CRC32 crc = new CRC32();
+        try (OutputStream fileOut = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(fileOut, crc)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sequence);
+            out.writeByte(full ? FULL : INCREMENTAL);
+            out.writeLong(journalPosition);
+            out.writeLong(transactionCounter);
+
+            // Customers first, each once, so accounts can refer to them by id
+            Map<String, Boolean> written = new HashMap<>();
+            List<Customer> customers = new ArrayList<>();
+            for (Account account : accounts) {
+                Customer customer = account.getCustomer();
+                String customerId = customer.getCustomerId();
+                if (written.put(customerId, Boolean.TRUE) == null
+                        && (full || !snapshotCustomers.containsKey(customerId))) {
+                    customers.add(customer);
+                }
+            }
+            out.writeInt(customers.size());
+            for (Customer customer : customers) {
+                out.writeUTF(customer.getCustomerId());
+                out.writeByte(customer instanceof PremiumCustomer ? PREMIUM : REGULAR);
+                out.writeUTF(customer.getName());
+                out.writeInt(customer.getAge());
+                out.writeUTF(customer.getContact());
+                out.writeUTF(customer.getAddress());
+            }
+
+            out.writeInt(accounts.size());
+            for (int i = 0; i < accounts.size(); i++) {
+                Account account = accounts.get(i);
+                out.writeUTF(account.getAccountNumber());
+                out.writeByte(account instanceof SavingsAccount ? SAVINGS : CHECKING);
+                out.writeUTF(account.getCustomer().getCustomerId());
+                out.writeLong(balances.get(i));
+                out.writeLong(account.getOpeningBalanceCents());
+                out.writeUTF(account.getStatus());
+            }
+
+            out.flush();
+            // Checksum of everything above, written outside the checked stream
+            long checksum = crc.getValue();
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                fileOut.write((int) (checksum >>> shift));
+            }
+            fileOut.flush();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    // Returns null if the file is incomplete or fails its checksum
+    private SnapshotContents read(Path file, Map<String, Customer> customers) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < 8) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 8);
+        long stored = 0;
+        for (int i = bytes.length - 8; i < bytes.length; i++) {
+            stored = (stored << 8) | (bytes[i] & 0xFF);
+        }
+        if (stored != crc.getValue()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(bytes, 0, bytes.length - 8))) {
+            int version;
+            if (in.readInt() != MAGIC || (version = in.readInt()) < 1 || version > VERSION) {
+                return null;
+            }
+            SnapshotContents contents = new SnapshotContents();
+            contents.sequence = in.readLong();
+            in.readByte();
+            contents.journalPosition = in.readLong();
+            contents.transactionCounter = in.readLong();
+
+            int customerCount = in.readInt();
+            for (int i = 0; i < customerCount; i++) {
+                String customerId = in.readUTF();
+                byte type = in.readByte();
+                String name = in.readUTF();
+                int age = in.readInt();
+                String contact = in.readUTF();
+                String address = in.readUTF();
+                customers.put(customerId, type == PREMIUM
+                        ? new PremiumCustomer(customerId, name, age, contact, address)
+                        : new RegularCustomer(customerId, name, age, contact, address));
+            }
+
+            int accountCount = in.readInt();
+            for (int i = 0; i < accountCount; i++) {
+                String accountNumber = in.readUTF();
+                byte type = in.readByte();
+                Customer customer = customers.get(in.readUTF());
+                long balance = in.readLong();
+                long openingBalance = version >= 2 ? in.readLong() : Account.UNKNOWN_BALANCE;
+                String status = in.readUTF();
+                if (customer == null) {
+                    return null;
+                }
+                Account account = type == SAVINGS
+                        ? new SavingsAccount(accountNumber, customer, balance, status)
+                        : new CheckingAccount(accountNumber, customer, balance, status);
+                account.setOpeningBalanceCents(openingBalance);
+                contents.accounts.add(account);
+            }
+            return contents;
+        }
+    }
+
+    // Add the account (and its balance now) if it differs from the last snapshot, or always for a full one
+    private void collect(Account account, boolean full, List<Account> changed, List<Long> balances) {
+        long balance = account.getBalanceCents();
+        Long previous = snapshotBalances.get(account.getAccountNumber());
+        if (full || previous == null || previous != balance
+                || !account.getStatus().equals(snapshotStatuses.get(account.getAccountNumber()))) {
+            changed.add(account);
+            balances.add(balance);
+        }
+    }
+
+    // A journaled or marked account must be known; skipping it would leave it out of every later snapshot
+    private Account existingAccount(String accountNumber) {
+        Account account = accountManager.findAccount(accountNumber);
+        if (account == null) {
+            throw new IllegalStateException("Account " + accountNumber + " is not in the account manager");
+        }
+        return account;
+    }
+
+    private void remember(Account account) {
+        snapshotBalances.put(account.getAccountNumber(), account.getBalanceCents());
+        snapshotStatuses.put(account.getAccountNumber(), account.getStatus());
+        snapshotCustomers.put(account.getCustomer().getCustomerId(), Boolean.TRUE);
+    }
+
+    // Snapshot files sorted by sequence number
+    private List<Path> listSnapshots() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "snapshot-*.{full,incr}")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)));
+        return files;
+    }
+
+    private void deleteOlderThan(long sequence) throws IOException {
+        for (Path file : listSnapshots()) {
+            if (sequenceOf(file) < sequence) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static String fileName(long sequence, boolean full) {
+        return String.format("snapshot-%012d.%s", sequence, full ? "full" : "incr");
+    }
+
+    private static boolean isFull(Path file) {
+        return file.getFileName().toString().endsWith(".full");
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("snapshot-".length(), name.indexOf('.')));
+    }
+
+    private static final class SnapshotContents {
+        long sequence;
+        long journalPosition;
+        long transactionCounter;
+        final List<Account> accounts = new ArrayList<>();
+    }
+}
@@ -0,0 +1,241 @@
+package storage;
+
+import account.Account;
+import account.AccountManager;
+import transaction.AccountHistory;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Durable, memory-mapped journal of recorded transactions.
+ * The file is a 16-byte header followed by fixed-width 48-byte records,
+ * mapped in 64 MB regions so appends are plain memory writes. Each record
+ * ends with a checksum that recovery uses to find the last complete record.
+ *
+ * Record layout: transaction number (long), account number (int, the nnn of ACCnnn),
+ * type code (byte + 3 padding), amount cents (long), balance after cents (long),
+ * timestamp millis (long), checksum (long).
+ */
+public class TransactionJournal implements Closeable {
+    public enum FsyncPolicy {
+        NEVER,    // Leave flushing to the OS; survives process crashes, not power loss
+        EVERY_N,  // Force to disk every fsyncInterval appends
+        ALWAYS    // Force each record to disk before append returns
+    }
+
+    public static final int RECORD_SIZE = 48;
+    private static final int HEADER_SIZE = 16;
+    private static final int MAGIC = 0x42414E4B; // "BANK"
+    private static final int VERSION = 1;
+    private static final long REGION_SIZE = 64L * 1024 * 1024 / RECORD_SIZE * RECORD_SIZE;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final int fsyncInterval;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+
+    private long recordCount;
+    private long unsyncedSince;
+
+    public TransactionJournal(Path path, FsyncPolicy fsyncPolicy, int fsyncInterval) throws IOException {
+        this.path = path;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = Math.max(1, fsyncInterval);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        boolean isNew = !Files.exists(path) || Files.size(path) == 0;
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (isNew) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE);
+            header.force();
+        } else {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC || header.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Not a transaction journal: " + path);
+            }
+        }
+
+        this.recordCount = countCompleteRecords();
+        this.unsyncedSince = recordCount;
+    }
+
+    public TransactionJournal(Path path) throws IOException {
+        this(path, FsyncPolicy.EVERY_N, 1_000);
+    }
+
+    // Append one record; returns its position in the journal
+    public synchronized long append(Transaction transaction) {
+        int accountKey = Account.parseAccountNumber(transaction.getAccountNumber());
+        if (accountKey < 0) {
+            throw new IllegalArgumentException("Cannot journal account number: " + transaction.getAccountNumber());
+        }
+
+        long position = recordCount;
+        MappedByteBuffer region = regionFor(position);
+        int offset = (int) ((position * RECORD_SIZE) % REGION_SIZE);
+
+        long transactionNumber = transaction.getTransactionNumber();
+        byte type = TransactionType.codeOf(transaction.getType());
+        long amount = transaction.getAmountCents();
+        long balanceAfter = transaction.getBalanceAfterCents();
+        long timestamp = transaction.getTimestampMillis();
+
+        region.putLong(offset, transactionNumber);
+        region.putInt(offset + 8, accountKey);
+        region.put(offset + 12, type);
+        region.putLong(offset + 16, amount);
+        region.putLong(offset + 24, balanceAfter);
+        region.putLong(offset + 32, timestamp);
+        // Written last: a record only counts once its checksum matches
+        region.putLong(offset + 40, checksum(transactionNumber, accountKey, type, amount, balanceAfter, timestamp));
+
+        recordCount = position + 1;
+        if (fsyncPolicy == FsyncPolicy.ALWAYS
+                || (fsyncPolicy == FsyncPolicy.EVERY_N && recordCount - unsyncedSince >= fsyncInterval)) {
+            sync();
+        }
+        return position;
+    }
+
+    // Force every appended record to the storage device
+    public synchronized void sync() {
+        if (unsyncedSince == recordCount) {
+            return;
+        }
+        long from = unsyncedSince * RECORD_SIZE;
+        long to = recordCount * RECORD_SIZE;
+        for (long start = from; start < to; ) {
+            int regionIndex = (int) (start / REGION_SIZE);
+            int offset = (int) (start % REGION_SIZE);
+            int length = (int) Math.min(to - start, REGION_SIZE - offset);
+            regions.get(regionIndex).force(offset, length);
+            start += length;
+        }
+        unsyncedSince = recordCount;
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Read one record straight from the mapping
+    public synchronized Transaction read(long position) {
+        if (position < 0 || position >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + position + " out of bounds for " + recordCount);
+        }
+        MappedByteBuffer region = regionFor(position);
+        int offset = (int) ((position * RECORD_SIZE) % REGION_SIZE);
+        return Transaction.restore(
+                region.getLong(offset),
+                Account.formatAccountNumber(region.getInt(offset + 8)),
+                TransactionType.nameOf(region.get(offset + 12)),
+                region.getLong(offset + 16),
+                region.getLong(offset + 24),
+                region.getLong(offset + 32));
+    }
+
+    /**
+     * Rebuild transactionManager from records [fromRecord, end) and set each known
+     * account's balance to its last journaled balance. Call before attachJournal
+     * so the replayed records are not journaled a second time.
+     */
+    public synchronized long replay(TransactionManager transactionManager, AccountManager accountManager, long fromRecord) {
+        for (long position = fromRecord; position < recordCount; position++) {
+            transactionManager.restoreTransaction(read(position));
+        }
+
+        int accountCount = accountManager.getActualAccountCount();
+        for (int i = 0; i < accountCount; i++) {
+            Account account = accountManager.getAccount(i);
+            AccountHistory history = transactionManager.getAccountHistory(account.getAccountNumber());
+            if (history != null && history.size() > 0) {
+                Transaction last = transactionManager.getTransaction(history.getOffset(history.size() - 1));
+                account.setBalanceCents(last.getBalanceAfterCents());
+            }
+        }
+        return recordCount - Math.min(fromRecord, recordCount);
+    }
+
+    // Re-add records [fromRecord, toRecord) to the history only; balances are left alone
+    public synchronized void loadHistory(TransactionManager transactionManager, long fromRecord, long toRecord) {
+        long end = Math.min(toRecord, recordCount);
+        for (long position = fromRecord; position < end; position++) {
+            transactionManager.restoreTransaction(read(position));
+        }
+    }
+
+    public long recover(TransactionManager transactionManager, AccountManager accountManager) {
+        return replay(transactionManager, accountManager, 0);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sync();
+        regions.clear();
+        channel.close();
+    }
+
+    private MappedByteBuffer regionFor(long position) {
+        int regionIndex = (int) (position * RECORD_SIZE / REGION_SIZE);
+        try {
+            while (regions.size() <= regionIndex) {
+                long start = HEADER_SIZE + regions.size() * REGION_SIZE;
+                regions.add(channel.map(FileChannel.MapMode.READ_WRITE, start, REGION_SIZE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map journal region in " + path, e);
+        }
+        return regions.get(regionIndex);
+    }
+
+    // Records are complete up to the first one whose checksum does not match
+    private long countCompleteRecords() throws IOException {
+        long maxRecords = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+        long position = 0;
+        while (position < maxRecords) {
+            MappedByteBuffer region = regionFor(position);
+            int offset = (int) ((position * RECORD_SIZE) % REGION_SIZE);
+            long expected = checksum(region.getLong(offset), region.getInt(offset + 8), region.get(offset + 12),
+                    region.getLong(offset + 16), region.getLong(offset + 24), region.getLong(offset + 32));
+            if (region.getLong(offset + 40) != expected) {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    private static long checksum(long transactionNumber, int accountKey, byte type,
+                                 long amount, long balanceAfter, long timestamp) {
+        long hash = 0x9E3779B97F4A7C15L;
+        hash = (hash ^ transactionNumber) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ accountKey) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ type) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ amount) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ balanceAfter) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ timestamp) * 0x94D049BB133111EBL;
+        return (hash ^ (hash >>> 31)) | 1; // Never 0, so a zero-filled slot never matches
+    }
+}
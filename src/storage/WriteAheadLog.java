@@ -0,0 +1,654 @@
+package storage;
+
+import account.Account;
+import account.AccountManager;
+import transaction.TransactionManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-ahead log of balance mutation intents with group commit.
+ * Callers append an intent (getting back its log sequence number) before
+ * touching a balance, then call awaitDurable once they have released their
+ * account locks. A single flusher thread writes everything appended so far
+ * and forces it with one fsync, so concurrent callers share the cost.
+ *
+ * The group-commit window is how long the flusher waits after the first
+ * pending record before flushing, to let more callers join the batch.
+ * Zero still batches whatever arrives while the previous fsync is running.
+ *
+ * Each intent carries what recovery needs to redo it: the transaction numbers
+ * reserved for it, the journal position when it was logged (its journal
+ * records, if any, come at or after that) and the balances it will leave.
+ * On startup, recover journals every intent that was applied but whose
+ * journal records were lost, and re-applies intents that never were.
+ *
+ * An intent is resolved once its transactions are journaled (markApplied) or
+ * it is aborted. With checkpoints enabled, the flusher periodically forces
+ * the journal and rewrites the file without the resolved prefix, so the log
+ * holds only intents that recovery could still need.
+ *
+ * Record layout (72 bytes): lsn (long), operation (byte + 3 padding),
+ * account (int), target account (int, -1 if none) + 4 padding,
+ * amount cents (long), transaction number (long, the transfer-in leg is +1),
+ * journal position (long), balance after (long), target balance after (long),
+ * checksum (long).
+ */
+public class WriteAheadLog implements Closeable {
+    public static final byte DEPOSIT = 1;
+    public static final byte WITHDRAWAL = 2;
+    public static final byte TRANSFER = 3;
+    public static final byte ABORT = 4; // The intent with the same lsn was rejected and never applied
+
+    public static final int RECORD_SIZE = 72;
+    private static final int INITIAL_BUFFER_RECORDS = 256;
+
+    private final Path path;
+    private FileChannel channel; // Replaced by checkpoints; only the flusher touches it after construction
+    private final long windowNanos;
+    private final Thread flusher;
+    // A lock rather than a monitor, so virtual threads waiting for durability do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // Guarded by lock
+    private ByteBuffer pending;
+    private ByteBuffer flushing;
+    private long nextLsn;
+    private long durableLsn;
+    private boolean closed;
+    private boolean stopped; // Flusher has exited; nothing more will become durable
+    private IOException failure;
+    private long flushCount;
+    private long resolvedBelow; // Every intent with a lower lsn is applied and journaled, or aborted
+    private final PriorityQueue<Long> resolvedAhead = new PriorityQueue<>();
+    private int checkpointInterval; // Records written between checkpoints; 0 if checkpoints are off
+    private Runnable syncApplied;
+    private long recordsSinceCheckpoint;
+    private long checkpointsRequested;
+    private long checkpointsDone;
+
+    public WriteAheadLog(Path path, long groupCommitWindow, TimeUnit unit) throws IOException {
+        this.path = path;
+        this.windowNanos = unit.toNanos(Math.max(0, groupCommitWindow));
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Continue numbering after the last complete record; drop any torn tail
+        List<Record> existing = readRecords(channel);
+        long validBytes = (long) existing.size() * RECORD_SIZE;
+        channel.truncate(validBytes);
+        channel.position(validBytes);
+        this.nextLsn = existing.isEmpty() ? 0 : existing.get(existing.size() - 1).getLsn() + 1;
+        this.durableLsn = nextLsn - 1;
+        // Records already in the file stay unresolved until recover has dealt with them
+        this.resolvedBelow = existing.isEmpty() ? nextLsn : existing.get(0).getLsn();
+        this.recordsSinceCheckpoint = existing.size();
+
+        this.pending = ByteBuffer.allocate(INITIAL_BUFFER_RECORDS * RECORD_SIZE);
+        this.flushing = ByteBuffer.allocate(INITIAL_BUFFER_RECORDS * RECORD_SIZE);
+        this.flusher = new Thread(this::runFlusher, "wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public WriteAheadLog(Path path) throws IOException {
+        this(path, 0, TimeUnit.MICROSECONDS);
+    }
+
+    /*
+     * The caller holds the account locks, so the balances read here are the ones
+     * the mutation starts from. transactionNumber was reserved for the operation
+     * and journalPosition is the journal's record count before it is recorded.
+     */
+    public long logDeposit(Account account, long amountCents, long transactionNumber, long journalPosition) {
+        return append(DEPOSIT, account, null, amountCents, transactionNumber, journalPosition,
+                account.getBalanceCents() + amountCents, 0);
+    }
+
+    public long logWithdrawal(Account account, long amountCents, long transactionNumber, long journalPosition) {
+        return append(WITHDRAWAL, account, null, amountCents, transactionNumber, journalPosition,
+                account.getBalanceCents() - amountCents, 0);
+    }
+
+    // transactionNumber is the transfer-out leg; the transfer-in leg is transactionNumber + 1
+    public long logTransfer(Account sourceAccount, Account targetAccount, long amountCents,
+                            long transactionNumber, long journalPosition) {
+        return append(TRANSFER, sourceAccount, targetAccount, amountCents, transactionNumber, journalPosition,
+                sourceAccount.getBalanceCents() - amountCents, targetAccount.getBalanceCents() + amountCents);
+    }
+
+    // Mark an intent as not applied (e.g. the withdrawal was rejected); resolves it
+    public long logAbort(long intentLsn) {
+        lock.lock();
+        try {
+            ensureOpen();
+            long lsn = write(ABORT, -1, -1, intentLsn, 0, 0, 0, 0);
+            resolve(intentLsn);
+            resolve(lsn);
+            return lsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The intent's transactions are recorded in the journal, so a checkpoint may drop it
+    public void markApplied(long lsn) {
+        lock.lock();
+        try {
+            resolve(lsn);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checkpoint every everyRecords records written: run syncApplied (which must
+     * force the journal), then drop the resolved prefix from the file. Also done
+     * once more on close.
+     */
+    public void enableCheckpoints(int everyRecords, Runnable syncApplied) {
+        if (everyRecords <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        lock.lock();
+        try {
+            this.checkpointInterval = everyRecords;
+            this.syncApplied = syncApplied;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long append(byte operation, Account account, Account targetAccount, long amountCents,
+                        long transactionNumber, long journalPosition, long balanceAfter, long targetBalanceAfter) {
+        int accountKey = Account.parseAccountNumber(account.getAccountNumber());
+        int targetKey = targetAccount == null ? -1 : Account.parseAccountNumber(targetAccount.getAccountNumber());
+        lock.lock();
+        try {
+            ensureOpen();
+            return write(operation, accountKey, targetKey, amountCents,
+                    transactionNumber, journalPosition, balanceAfter, targetBalanceAfter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long write(byte operation, int accountKey, int targetKey, long amount,
+                       long transactionNumber, long journalPosition, long balanceAfter, long targetBalanceAfter) {
+        if (pending.remaining() < RECORD_SIZE) {
+            ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+
+        long lsn = nextLsn++;
+        put(pending, lsn, operation, accountKey, targetKey, amount,
+                transactionNumber, journalPosition, balanceAfter, targetBalanceAfter);
+
+        if (pending.position() == RECORD_SIZE) {
+            changed.signalAll(); // First record of a new batch wakes the flusher
+        }
+        return lsn;
+    }
+
+    // Guarded by lock. Intents resolve roughly in lsn order, so the queue stays small
+    private void resolve(long lsn) {
+        if (lsn != resolvedBelow) {
+            if (lsn > resolvedBelow) {
+                resolvedAhead.add(lsn);
+            }
+            return;
+        }
+        resolvedBelow++;
+        while (!resolvedAhead.isEmpty() && resolvedAhead.peek() == resolvedBelow) {
+            resolvedAhead.poll();
+            resolvedBelow++;
+        }
+    }
+
+    // Block until the record with this lsn (and everything before it) is on disk
+    public void awaitDurable(long lsn) {
+        lock.lock();
+        try {
+            while (durableLsn < lsn && failure == null && !stopped) {
+                // Keeps waiting if interrupted (the caller needs a definite answer) and restores the flag
+                changed.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log flush failed: " + path, failure);
+            }
+            if (durableLsn < lsn) {
+                throw new IllegalStateException("Write-ahead log closed before record " + lsn + " was flushed");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            boolean flush;
+            boolean closing;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed && checkpointsRequested == checkpointsDone) {
+                    changed.awaitUninterruptibly(); // Only close() stops the flusher
+                }
+                flush = pending.position() > 0;
+                closing = closed && !flush; // Appends fail once closed, so nothing more can arrive
+            } finally {
+                lock.unlock();
+            }
+
+            if (flush && !flush()) {
+                return;
+            }
+            if (checkpointDue(closing) && !checkpoint()) {
+                return;
+            }
+            if (closing) {
+                lock.lock();
+                try {
+                    stopped = true; // Closed and drained
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    // Write and force one batch; false if that failed and the flusher must stop
+    private boolean flush() {
+        if (windowNanos > 0) {
+            LockSupport.parkNanos(windowNanos);
+        }
+
+        long batchLastLsn;
+        lock.lock();
+        try {
+            ByteBuffer batch = pending;
+            pending = flushing;
+            pending.clear();
+            flushing = batch;
+            batchLastLsn = nextLsn - 1;
+        } finally {
+            lock.unlock();
+        }
+
+        IOException error = null;
+        int records = flushing.position() / RECORD_SIZE;
+        try {
+            flushing.flip();
+            while (flushing.hasRemaining()) {
+                channel.write(flushing);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            error = e;
+        }
+
+        lock.lock();
+        try {
+            if (error != null) {
+                failure = error;
+                stopped = true;
+            } else {
+                durableLsn = batchLastLsn;
+                flushCount++;
+                recordsSinceCheckpoint += records;
+            }
+            changed.signalAll();
+            return error == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A last checkpoint on close leaves only the intents a restart could still need
+    private boolean checkpointDue(boolean closing) {
+        lock.lock();
+        try {
+            return checkpointsRequested > checkpointsDone
+                    || (checkpointInterval > 0 && (closing || recordsSinceCheckpoint >= checkpointInterval));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Runs on the flusher thread, so nothing else writes the file meanwhile.
+     * Intents below resolvedBelow have their transactions journaled; syncApplied
+     * forces those to disk before the file is rewritten without them.
+     */
+    private boolean checkpoint() {
+        long keepFrom;
+        long request;
+        Runnable sync;
+        lock.lock();
+        try {
+            keepFrom = resolvedBelow;
+            request = checkpointsRequested;
+            sync = syncApplied;
+        } finally {
+            lock.unlock();
+        }
+
+        long kept = 0;
+        try {
+            if (sync != null) {
+                sync.run();
+            }
+            List<Record> records = readRecords(channel);
+            ByteBuffer buffer = ByteBuffer.allocate(records.size() * RECORD_SIZE);
+            for (Record record : records) {
+                if (record.lsn >= keepFrom) {
+                    put(buffer, record.lsn, record.operation, record.accountKey, record.targetKey, record.amountCents,
+                            record.transactionNumber, record.journalPosition,
+                            record.balanceAfterCents, record.targetBalanceAfterCents);
+                    kept++;
+                }
+            }
+            buffer.flip();
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(false);
+            }
+            channel.close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Until the rename is durable, a crash may bring back the old file and drop intents acknowledged after it
+            forceDirectory(path.toAbsolutePath().getParent());
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        } catch (IOException | RuntimeException e) {
+            lock.lock();
+            try {
+                failure = e instanceof IOException ? (IOException) e : new IOException("Checkpoint failed", e);
+                stopped = true;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            return false;
+        }
+
+        lock.lock();
+        try {
+            recordsSinceCheckpoint = kept;
+            checkpointsDone = Math.max(checkpointsDone, request);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    // Have the flusher checkpoint now and wait for it
+    private void awaitCheckpoint() {
+        lock.lock();
+        try {
+            long request = ++checkpointsRequested;
+            changed.signalAll();
+            while (checkpointsDone < request && failure == null && !stopped) {
+                changed.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log checkpoint failed: " + path, failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finish what the previous run left in the log. Call on startup once the
+     * journal has been replayed and attached to transactionManager, before any
+     * new intent is logged. Intents whose transactions are all in the journal
+     * need nothing. The rest are journaled, and applied first if they never
+     * were (see WriteAheadLogRecovery). Ends with a checkpoint, so the log is
+     * empty afterwards. Returns the number of intents journaled.
+     */
+    public int recover(AccountManager accountManager, TransactionManager transactionManager,
+                       TransactionJournal journal) throws IOException {
+        int recovered = WriteAheadLogRecovery.recover(readRecords(path), accountManager, transactionManager, journal);
+        journal.sync();
+        lock.lock();
+        try {
+            resolvedAhead.clear();
+            resolvedBelow = nextLsn;
+        } finally {
+            lock.unlock();
+        }
+        awaitCheckpoint();
+        return recovered;
+    }
+
+    public long getDurableLsn() {
+        lock.lock();
+        try {
+            return durableLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Number of fsyncs so far; records / flushes is the average group size
+    public long getFlushCount() {
+        lock.lock();
+        try {
+            return flushCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getNextLsn() {
+        lock.lock();
+        try {
+            return nextLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Flush what is pending, stop the flusher and close the file
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log flush failed: " + path, failure);
+        }
+    }
+
+    // All complete records in a log file, in order
+    public static List<Record> readRecords(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readRecords(channel);
+        }
+    }
+
+    private static List<Record> readRecords(FileChannel channel) throws IOException {
+        List<Record> records = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+        long position = 0;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < RECORD_SIZE) {
+                return records;
+            }
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_SIZE) {
+                long lsn = buffer.getLong();
+                byte operation = buffer.get();
+                buffer.position(buffer.position() + 3);
+                int accountKey = buffer.getInt();
+                int targetKey = buffer.getInt();
+                buffer.getInt();
+                long amount = buffer.getLong();
+                long transactionNumber = buffer.getLong();
+                long journalPosition = buffer.getLong();
+                long balanceAfter = buffer.getLong();
+                long targetBalanceAfter = buffer.getLong();
+                if (buffer.getLong() != checksum(lsn, operation, accountKey, targetKey, amount,
+                        transactionNumber, journalPosition, balanceAfter, targetBalanceAfter)) {
+                    return records; // Torn write at the tail
+                }
+                records.add(new Record(lsn, operation, accountKey, targetKey, amount,
+                        transactionNumber, journalPosition, balanceAfter, targetBalanceAfter));
+                position += RECORD_SIZE;
+            }
+        }
+    }
+
+    private static void put(ByteBuffer buffer, long lsn, byte operation, int accountKey, int targetKey, long amount,
+                            long transactionNumber, long journalPosition, long balanceAfter, long targetBalanceAfter) {
+        buffer.putLong(lsn)
+                .put(operation).put((byte) 0).put((byte) 0).put((byte) 0)
+                .putInt(accountKey)
+                .putInt(targetKey).putInt(0)
+                .putLong(amount)
+                .putLong(transactionNumber)
+                .putLong(journalPosition)
+                .putLong(balanceAfter)
+                .putLong(targetBalanceAfter)
+                .putLong(checksum(lsn, operation, accountKey, targetKey, amount,
+                        transactionNumber, journalPosition, balanceAfter, targetBalanceAfter));
+    }
+
+    private static long checksum(long lsn, byte operation, int accountKey, int targetKey, long amount,
+                                 long transactionNumber, long journalPosition, long balanceAfter, long targetBalanceAfter) {
+        long hash = 0x9E3779B97F4A7C15L;
+        hash = (hash ^ lsn) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ operation) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ accountKey) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ targetKey) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ amount) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ transactionNumber) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ journalPosition) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ balanceAfter) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ targetBalanceAfter) * 0x94D049BB133111EBL;
+        return (hash ^ (hash >>> 31)) | 1;
+    }
+
+    // Make renames and deletes in a directory durable
+    static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    // One decoded log record; for ABORT records the amount holds the aborted lsn
+    public static final class Record {
+        final long lsn;
+        final byte operation;
+        final int accountKey;
+        final int targetKey;
+        final long amountCents;
+        final long transactionNumber;
+        final long journalPosition;
+        final long balanceAfterCents;
+        final long targetBalanceAfterCents;
+
+        Record(long lsn, byte operation, int accountKey, int targetKey, long amountCents,
+               long transactionNumber, long journalPosition, long balanceAfterCents, long targetBalanceAfterCents) {
+            this.lsn = lsn;
+            this.operation = operation;
+            this.accountKey = accountKey;
+            this.targetKey = targetKey;
+            this.amountCents = amountCents;
+            this.transactionNumber = transactionNumber;
+            this.journalPosition = journalPosition;
+            this.balanceAfterCents = balanceAfterCents;
+            this.targetBalanceAfterCents = targetBalanceAfterCents;
+        }
+
+        public long getLsn() {
+            return lsn;
+        }
+
+        public byte getOperation() {
+            return operation;
+        }
+
+        public String getAccountNumber() {
+            return accountKey < 0 ? null : Account.formatAccountNumber(accountKey);
+        }
+
+        public String getTargetAccountNumber() {
+            return targetKey < 0 ? null : Account.formatAccountNumber(targetKey);
+        }
+
+        public long getAmountCents() {
+            return amountCents;
+        }
+
+        // Number of the (first) transaction the intent records
+        public long getTransactionNumber() {
+            return transactionNumber;
+        }
+
+        public long getJournalPosition() {
+            return journalPosition;
+        }
+
+        public long getBalanceAfterCents() {
+            return balanceAfterCents;
+        }
+
+        public long getTargetBalanceAfterCents() {
+            return targetBalanceAfterCents;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package storage;
+
+import account.Account;
+import account.AccountManager;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Startup recovery of write-ahead log intents against the replayed journal.
+ *
+ * A leg of an intent (an account, its transaction number and balance after)
+ * is journaled if its transaction number is in the journal at or after the
+ * intent's journal position. An intent is reflected if, for one of its
+ * accounts, that leg or a later intent's leg on the same account is journaled
+ * or equals the restored balance: per account, intents were applied in lsn
+ * order, so a later one being in the balance means this one is too. This also
+ * covers a snapshot that caught a balance whose journal record was then lost.
+ *
+ * Reflected intents only have their missing legs journaled (and a leg whose
+ * account still shows the balance before is moved to the balance after, e.g.
+ * the transfer-in half of a torn pair). Intents that are not reflected were
+ * logged but never applied, or applied and lost with the journal tail before
+ * being acknowledged; they are applied again through the account methods, so
+ * the usual limits apply, but only if the balances still match the state the
+ * intent was logged against.
+ */
+final class WriteAheadLogRecovery {
+
+    private WriteAheadLogRecovery() {}
+
+    static int recover(List<WriteAheadLog.Record> records, AccountManager accountManager,
+                       TransactionManager transactionManager, TransactionJournal journal) {
+        Set<Long> aborted = new HashSet<>();
+        for (WriteAheadLog.Record record : records) {
+            if (record.operation == WriteAheadLog.ABORT) {
+                aborted.add(record.amountCents);
+            }
+        }
+        List<WriteAheadLog.Record> intents = new ArrayList<>();
+        long scanFrom = Long.MAX_VALUE;
+        for (WriteAheadLog.Record record : records) {
+            if (record.operation != WriteAheadLog.ABORT && !aborted.contains(record.lsn)) {
+                intents.add(record);
+                scanFrom = Math.min(scanFrom, record.journalPosition);
+            }
+        }
+        if (intents.isEmpty()) {
+            return 0;
+        }
+
+        // Transaction numbers journaled since the oldest intent was logged
+        Set<Long> journaled = new HashSet<>();
+        for (long position = scanFrom; position < journal.getRecordCount(); position++) {
+            journaled.add(journal.read(position).getTransactionNumber());
+        }
+
+        // Per account, the newest intent that its journal or restored balance reflects
+        Map<String, Long> reflectedThrough = new HashMap<>();
+        for (WriteAheadLog.Record intent : intents) {
+            for (Leg leg : legsOf(intent, accountManager)) {
+                if (leg.account != null && (journaled.contains(leg.transactionNumber)
+                        || leg.account.getBalanceCents() == leg.balanceAfter)) {
+                    reflectedThrough.put(leg.account.getAccountNumber(), intent.lsn);
+                }
+            }
+        }
+
+        int recovered = 0;
+        for (WriteAheadLog.Record intent : intents) {
+            if (recover(intent, accountManager, transactionManager, journaled, reflectedThrough)) {
+                recovered++;
+            }
+        }
+        return recovered;
+    }
+
+    private static boolean recover(WriteAheadLog.Record intent, AccountManager accountManager,
+                                   TransactionManager transactionManager, Set<Long> journaled,
+                                   Map<String, Long> reflectedThrough) {
+        List<Leg> legs = legsOf(intent, accountManager);
+        boolean reflected = false;
+        boolean complete = true;
+        for (Leg leg : legs) {
+            if (leg.account == null) {
+                System.err.println("Write-ahead log intent " + intent.lsn + " names an unknown account; skipped");
+                return false;
+            }
+            reflected |= reflectedThrough.getOrDefault(leg.account.getAccountNumber(), -1L) >= intent.lsn;
+            complete &= journaled.contains(leg.transactionNumber);
+        }
+        if (complete) {
+            return false;
+        }
+
+        if (reflected) {
+            for (Leg leg : legs) {
+                if (!journaled.contains(leg.transactionNumber)
+                        && leg.account.getBalanceCents() == leg.balanceAfter - leg.signedAmount) {
+                    leg.account.setBalanceCents(leg.balanceAfter);
+                }
+            }
+        } else if (!reapply(intent, legs)) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Leg leg : legs) {
+            if (!journaled.contains(leg.transactionNumber)) {
+                transactionManager.addTransaction(Transaction.restore(leg.transactionNumber,
+                        leg.account.getAccountNumber(), leg.type, intent.amountCents, leg.balanceAfter, now));
+            }
+        }
+        return true;
+    }
+
+    // Apply an intent that never took effect; false if the accounts moved on or it is rejected again
+    private static boolean reapply(WriteAheadLog.Record intent, List<Leg> legs) {
+        for (Leg leg : legs) {
+            if (leg.account.getBalanceCents() != leg.balanceAfter - leg.signedAmount) {
+                System.err.println("Write-ahead log intent " + intent.lsn
+                        + " no longer matches the balance of " + leg.account.getAccountNumber() + "; skipped");
+                return false;
+            }
+        }
+        try {
+            Account account = legs.get(0).account;
+            if (intent.operation == WriteAheadLog.DEPOSIT) {
+                account.depositCents(intent.amountCents);
+            } else if (intent.operation == WriteAheadLog.WITHDRAWAL) {
+                account.withdrawCents(intent.amountCents);
+            } else {
+                account.transferCents(legs.get(1).account, intent.amountCents);
+            }
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false; // Most likely rejected the first time too, before its abort was written
+        }
+    }
+
+    private static List<Leg> legsOf(WriteAheadLog.Record intent, AccountManager accountManager) {
+        Account account = accountManager.findAccount(intent.getAccountNumber());
+        List<Leg> legs = new ArrayList<>(2);
+        switch (intent.operation) {
+            case WriteAheadLog.DEPOSIT:
+                legs.add(new Leg(account, TransactionType.DEPOSIT, intent.transactionNumber,
+                        intent.amountCents, intent.balanceAfterCents));
+                break;
+            case WriteAheadLog.WITHDRAWAL:
+                legs.add(new Leg(account, TransactionType.WITHDRAWAL, intent.transactionNumber,
+                        -intent.amountCents, intent.balanceAfterCents));
+                break;
+            default:
+                legs.add(new Leg(account, TransactionType.TRANSFER_OUT, intent.transactionNumber,
+                        -intent.amountCents, intent.balanceAfterCents));
+                legs.add(new Leg(accountManager.findAccount(intent.getTargetAccountNumber()), TransactionType.TRANSFER_IN,
+                        intent.transactionNumber + 1, intent.amountCents, intent.targetBalanceAfterCents));
+                break;
+        }
+        return legs;
+    }
+
+    // One account's side of an intent
+    private static final class Leg {
+        final Account account; // Null if the account is not known
+        final String type;
+        final long transactionNumber;
+        final long signedAmount;
+        final long balanceAfter;
+
+        Leg(Account account, String type, long transactionNumber, long signedAmount, long balanceAfter) {
+            this.account = account;
+            this.type = type;
+            this.transactionNumber = transactionNumber;
+            this.signedAmount = signedAmount;
+            this.balanceAfter = balanceAfter;
+        }
+    }
+}
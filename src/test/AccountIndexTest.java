@@ -0,0 +1,150 @@
+package test;
+
+import account.Account;
+import account.AccountIndex;
+import account.AccountManager;
+import account.SavingsAccount;
+import customer.Customer;
+import customer.RegularCustomer;
+
+public class AccountIndexTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING ACCOUNT INDEX TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Lookups Survive Resizing
+        totalTests++;
+        if (testLookupsSurviveResizing()) {
+            passedTests++;
+            System.out.println("✓ Test 1: lookupsSurviveResizing() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: lookupsSurviveResizing() ...... FAILED");
+        }
+
+        // Test 2: Colliding Numbers Are Rejected
+        totalTests++;
+        if (testCollidingNumbersAreRejected()) {
+            passedTests++;
+            System.out.println("✓ Test 2: collidingNumbersAreRejected() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 2: collidingNumbersAreRejected() ...... FAILED");
+        }
+
+        // Test 3: Invalid Numbers Are Not Found
+        totalTests++;
+        if (testInvalidNumbersAreNotFound()) {
+            passedTests++;
+            System.out.println("✓ Test 3: invalidNumbersAreNotFound() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 3: invalidNumbersAreNotFound() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testLookupsSurviveResizing() {
+        try {
+            Customer customer = new RegularCustomer("Index Test", 30, "0551234567", "Accra");
+            AccountIndex index = new AccountIndex(1);
+            long initialOverhead = index.getOverheadBytes();
+            Account[] accounts = new Account[1_000];
+            for (int i = 0; i < accounts.length; i++) {
+                accounts[i] = new SavingsAccount(Account.formatAccountNumber(500_000 + i), customer, 100_000, "Active");
+                index.put(accounts[i]);
+            }
+            for (int i = 0; i < accounts.length; i++) {
+                if (index.get(accounts[i].getAccountNumber()) != accounts[i]) {
+                    return false;
+                }
+            }
+
+            // Putting the same number again replaces the entry without growing the index
+            Account replacement = new SavingsAccount(accounts[7].getAccountNumber(), customer, 200_000, "Active");
+            index.put(replacement);
+
+            return index.size() == 1_000
+                    && index.get(accounts[7].getAccountNumber()) == replacement
+                    && index.get(Account.formatAccountNumber(501_000)) == null
+                    && index.getOverheadBytes() > initialOverhead;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testCollidingNumbersAreRejected() {
+        try {
+            Customer customer = new RegularCustomer("Index Test", 30, "0551234567", "Accra");
+            AccountManager accountManager = new AccountManager();
+            Account padded = new SavingsAccount("ACC600001", customer, 100_000, "Active");
+            Account unpadded = new SavingsAccount("ACC0600001", customer, 100_000, "Active"); // Same key, 600001
+            accountManager.addAccount(padded);
+
+            boolean rejected = false;
+            try {
+                accountManager.addAccount(unpadded);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+
+            AccountIndex index = new AccountIndex();
+            boolean shortRejected = false;
+            try {
+                index.put(new SavingsAccount("ACC07", customer, 100_000, "Active")); // Would be read back as ACC007
+            } catch (IllegalArgumentException e) {
+                shortRejected = true;
+            }
+
+            return rejected
+                    && shortRejected
+                    && index.size() == 0
+                    && accountManager.getActualAccountCount() == 1
+                    && accountManager.findAccount("ACC600001") == padded
+                    && accountManager.findAccount("ACC0600001") == null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testInvalidNumbersAreNotFound() {
+        try {
+            Customer customer = new RegularCustomer("Index Test", 30, "0551234567", "Accra");
+            AccountIndex index = new AccountIndex();
+            index.put(new SavingsAccount("ACC700001", customer, 100_000, "Active"));
+
+            boolean unparseableRejected = false;
+            try {
+                new SavingsAccount("ACX700001", customer, 100_000, "Active");
+            } catch (IllegalArgumentException e) {
+                unparseableRejected = true;
+            }
+
+            return unparseableRejected
+                    && index.get(null) == null
+                    && index.get("") == null
+                    && index.get("ACC") == null
+                    && index.get("acc700001") == null
+                    && index.get("ACC7OOOO1") == null
+                    && index.get("ACC99999999999") == null
+                    && index.get("ACC700001") != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package test;
+
+import account.Account;
+import account.AccountStore;
+import account.CheckingAccount;
+import customer.Customer;
+import customer.RegularCustomer;
+
+public class AccountStoreTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING ACCOUNT STORE TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Accounts Keep Their Positions Across Pages
+        totalTests++;
+        if (testAccountsKeepTheirPositionsAcrossPages()) {
+            passedTests++;
+            System.out.println("✓ Test 1: accountsKeepTheirPositionsAcrossPages() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: accountsKeepTheirPositionsAcrossPages() ...... FAILED");
+        }
+
+        // Test 2: Out Of Range Positions Throw
+        totalTests++;
+        if (testOutOfRangePositionsThrow()) {
+            passedTests++;
+            System.out.println("✓ Test 2: outOfRangePositionsThrow() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 2: outOfRangePositionsThrow() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testAccountsKeepTheirPositionsAcrossPages() {
+        try {
+            Customer customer = new RegularCustomer("Store Test", 30, "0551234567", "Accra");
+            AccountStore store = new AccountStore();
+            // Eight full pages and one more, so the page directory (8 to start with) is grown once
+            int count = AccountStore.PAGE_SIZE * 8 + 1;
+            Account[] accounts = new Account[count];
+            for (int i = 0; i < count; i++) {
+                accounts[i] = new CheckingAccount(customer, 10.0);
+                if (store.add(accounts[i]) != i) {
+                    return false;
+                }
+                if (i == AccountStore.PAGE_SIZE * 2 && store.get(0) != accounts[0]) {
+                    return false; // Adding a page never moves earlier accounts
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                if (store.get(i) != accounts[i]) {
+                    return false;
+                }
+            }
+
+            return store.size() == count
+                    && store.getPageCount() == 9
+                    && store.getOverheadBytesPerAccount() < 5;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testOutOfRangePositionsThrow() {
+        AccountStore store = new AccountStore();
+        store.add(new CheckingAccount(new RegularCustomer("Store Test", 30, "0551234567", "Accra"), 10.0));
+        return throwsOutOfBounds(store, -1)
+                && throwsOutOfBounds(store, 1)
+                && store.getOverheadBytesPerAccount() > 0
+                && new AccountStore().getOverheadBytesPerAccount() == 0;
+    }
+
+    private static boolean throwsOutOfBounds(AccountStore store, int position) {
+        try {
+            store.get(position);
+            return false;
+        } catch (IndexOutOfBoundsException e) {
+            return true;
+        }
+    }
+}
@@ -5,6 +5,9 @@ import account.CheckingAccount;
 import account.SavingsAccount;
 import customer.Customer;
 import customer.RegularCustomer;
+import utils.Money;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AccountTest {
 
@@ -61,6 +64,42 @@ public class AccountTest {
             System.out.println("✗ Test 5: transferBetweenAccountsSucceeds() ...... FAILED");
         }
 
+        // Test 6: Concurrent Deposits Are Not Lost
+        totalTests++;
+        if (testConcurrentDepositsAreNotLost()) {
+            passedTests++;
+            System.out.println("✓ Test 6: concurrentDepositsAreNotLost() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 6: concurrentDepositsAreNotLost() ...... FAILED");
+        }
+
+        // Test 7: Concurrent Withdrawals Respect Minimum Balance
+        totalTests++;
+        if (testConcurrentWithdrawalsRespectMinimumBalance()) {
+            passedTests++;
+            System.out.println("✓ Test 7: concurrentWithdrawalsRespectMinimumBalance() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 7: concurrentWithdrawalsRespectMinimumBalance() ...... FAILED");
+        }
+
+        // Test 8: Opposite-Direction Transfers Conserve Money
+        totalTests++;
+        if (testOppositeTransfersConserveMoney()) {
+            passedTests++;
+            System.out.println("✓ Test 8: oppositeTransfersConserveMoney() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 8: oppositeTransfersConserveMoney() ...... FAILED");
+        }
+
+        // Test 9: Cent Amounts Add Up Exactly
+        totalTests++;
+        if (testCentAmountsAddUpExactly()) {
+            passedTests++;
+            System.out.println("✓ Test 9: centAmountsAddUpExactly() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 9: centAmountsAddUpExactly() ...... FAILED");
+        }
+
         // Summary
         System.out.println("\n" + "=".repeat(60));
         System.out.println("TEST SUMMARY");
@@ -198,4 +237,108 @@ public class AccountTest {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private static boolean testConcurrentDepositsAreNotLost() {
+        try {
+            Customer regularCustomer = new RegularCustomer("John Doe", 30, "0551234567", "Accra");
+            CheckingAccount checkingAccount = new CheckingAccount(regularCustomer, 0.0);
+
+            int threads = 8;
+            int depositsPerThread = 10_000;
+            runConcurrently(threads, () -> {
+                for (int i = 0; i < depositsPerThread; i++) {
+                    checkingAccount.deposit(1.0);
+                }
+            });
+
+            return Math.abs(threads * depositsPerThread - checkingAccount.getBalance()) < 0.01;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testConcurrentWithdrawalsRespectMinimumBalance() {
+        try {
+            Customer regularCustomer = new RegularCustomer("John Doe", 30, "0551234567", "Accra");
+            SavingsAccount savingsAccount = new SavingsAccount(regularCustomer, 1500.0);
+
+            // 8 threads race for 1000 withdrawals of $1; only 1000 may succeed
+            AtomicInteger successes = new AtomicInteger();
+            runConcurrently(8, () -> {
+                for (int i = 0; i < 1000; i++) {
+                    try {
+                        savingsAccount.withdraw(1.0);
+                        successes.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        // Minimum balance reached
+                    }
+                }
+            });
+
+            boolean balanceAtMinimum = Math.abs(500.0 - savingsAccount.getBalance()) < 0.01;
+            return balanceAtMinimum && successes.get() == 1000;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testOppositeTransfersConserveMoney() {
+        try {
+            Customer regularCustomer = new RegularCustomer("John Doe", 30, "0551234567", "Accra");
+            Account first = new CheckingAccount(regularCustomer, 10_000.0);
+            Account second = new CheckingAccount(regularCustomer, 10_000.0);
+
+            // Transfers in both directions at once must neither deadlock nor lose money
+            Thread forward = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    first.transfer(second, 1.0);
+                }
+            });
+            Thread backward = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    second.transfer(first, 1.0);
+                }
+            });
+            forward.start();
+            backward.start();
+            forward.join(10_000);
+            backward.join(10_000);
+            if (forward.isAlive() || backward.isAlive()) {
+                return false;
+            }
+
+            return Math.abs(20_000.0 - (first.getBalance() + second.getBalance())) < 0.01;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testCentAmountsAddUpExactly() {
+        try {
+            Customer regularCustomer = new RegularCustomer("John Doe", 30, "0551234567", "Accra");
+            CheckingAccount checkingAccount = new CheckingAccount(regularCustomer, 0.0);
+
+            // 0.10 added ten times drifts with doubles but is exact in cents
+            for (int i = 0; i < 10; i++) {
+                checkingAccount.deposit(0.10);
+            }
+
+            return checkingAccount.getBalanceCents() == 100
+                    && Money.format(checkingAccount.getBalanceCents()).equals("1.00")
+                    && Money.format(-5).equals("-0.05");
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void runConcurrently(int threadCount, Runnable task) throws InterruptedException {
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(task);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
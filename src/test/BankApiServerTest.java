@@ -0,0 +1,103 @@
+package test;
+
+import account.AccountManager;
+import api.BankApiServer;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+public class BankApiServerTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING BANK API SERVER TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Api Server Serves Accounts And Transactions
+        totalTests++;
+        if (testApiServerServesAccountsAndTransactions()) {
+            passedTests++;
+            System.out.println("✓ Test 1: apiServerServesAccountsAndTransactions() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: apiServerServesAccountsAndTransactions() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testApiServerServesAccountsAndTransactions() {
+        TransactionManager transactionManager = new TransactionManager();
+        try (BankApiServer server = new BankApiServer(0, new AccountManager(), transactionManager,
+                new TransactionProcessor(transactionManager))) {
+            server.start();
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + server.getPort() + "/accounts";
+
+            HttpResponse<String> created = post(client, base,
+                    "name=Api+Test&age=30&contact=0551234567&address=Accra&customerType=regular"
+                            + "&accountType=savings&initialDeposit=1000", null);
+            int numberStart = created.body().indexOf("\"accountNumber\":\"") + "\"accountNumber\":\"".length();
+            String accountNumber = created.body().substring(numberStart, created.body().indexOf('"', numberStart));
+            String accountUrl = base + "/" + accountNumber;
+
+            HttpResponse<String> deposit = post(client, accountUrl + "/deposit?amount=25.50", "", "key-1");
+            HttpResponse<String> retry = post(client, accountUrl + "/deposit?amount=25.50", "", "key-1");
+            HttpResponse<String> rejected = post(client, accountUrl + "/withdraw?amount=5000", "", null);
+            HttpResponse<String> account = client.send(HttpRequest.newBuilder(URI.create(accountUrl)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> history = client.send(
+                    HttpRequest.newBuilder(URI.create(accountUrl + "/transactions?limit=5")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> missing = client.send(HttpRequest.newBuilder(URI.create(base + "/ACC999999")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> badCursor = client.send(
+                    HttpRequest.newBuilder(URI.create(accountUrl + "/transactions?cursor=-5")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> oversized = post(client, accountUrl + "/deposit",
+                    "amount=1&padding=" + "x".repeat(64 * 1024), null);
+
+            return created.statusCode() == 201
+                    && deposit.statusCode() == 200 && deposit.body().contains("\"balanceAfter\":1025.50")
+                    && retry.body().equals(deposit.body())
+                    && rejected.statusCode() == 422 && rejected.body().startsWith("{\"error\":")
+                    && account.body().contains("\"balance\":1025.50")
+                    && history.body().contains("\"transactions\":[{") && history.body().endsWith("\"hasMore\":false}")
+                    && missing.statusCode() == 404
+                    && badCursor.statusCode() == 400
+                    && oversized.statusCode() == 413
+                    && transactionManager.getTransactionCount() == 1;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static HttpResponse<String> post(HttpClient client, String url, String form, String idempotencyKey)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
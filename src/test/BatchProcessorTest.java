@@ -0,0 +1,129 @@
+package test;
+
+import account.Account;
+import account.AccountManager;
+import account.SavingsAccount;
+import batch.BatchProcessor;
+import batch.BatchResult;
+import customer.RegularCustomer;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+import transaction.VelocityChecker;
+import transaction.VelocityRule;
+import utils.Money;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class BatchProcessorTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING BATCH PROCESSOR TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Batch File Applies Rows And Reports Each One
+        totalTests++;
+        if (testBatchFileAppliesRowsAndReportsEachOne()) {
+            passedTests++;
+            System.out.println("✓ Test 1: batchFileAppliesRowsAndReportsEachOne() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: batchFileAppliesRowsAndReportsEachOne() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testBatchFileAppliesRowsAndReportsEachOne() {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("batch-test");
+            AccountManager accountManager = new AccountManager();
+            RegularCustomer customer = new RegularCustomer("Batch Test", 30, "0551234567", "Accra");
+            Account first = new SavingsAccount(customer, 1000.0);
+            Account second = new SavingsAccount(customer, 1000.0);
+            accountManager.addAccount(first);
+            accountManager.addAccount(second);
+            TransactionManager transactionManager = new TransactionManager();
+
+            // Enough rows to span several chunks
+            StringBuilder input = new StringBuilder("type,account,amount,target\n# comment\n\n");
+            int deposits = BatchProcessor.CHUNK_SIZE * 2 + 10;
+            for (int i = 0; i < deposits; i++) {
+                input.append("deposit,").append(first.getAccountNumber()).append(",1.5\n");
+            }
+            input.append("TRANSFER, ").append(first.getAccountNumber()).append(" ,100,").append(second.getAccountNumber()).append('\n');
+            input.append("WITHDRAWAL,").append(second.getAccountNumber()).append(",999999\n");
+            input.append("DEPOSIT,ACC999999,10\n");
+            input.append("DEPOSIT,").append(first.getAccountNumber()).append(",1.234\n");
+            input.append("REFUND,").append(first.getAccountNumber()).append(",10\n");
+            Path inputPath = directory.resolve("in.csv");
+            Path outputPath = directory.resolve("out.csv");
+            Files.writeString(inputPath, input);
+
+            BatchResult result = new BatchProcessor(accountManager, new TransactionProcessor(transactionManager))
+                    .process(inputPath, outputPath);
+
+            List<String> lines = Files.readAllLines(outputPath);
+            int transferLine = deposits + 4;
+
+            // Batch debits go through the velocity rules like any other
+            VelocityChecker checker = new VelocityChecker(List.of(VelocityRule.maxCount("one-debit",
+                    VelocityRule.Scope.DEBITS, 1, 1, TimeUnit.HOURS, VelocityRule.Action.REJECT)));
+            Path limitedInput = directory.resolve("limited.csv");
+            Files.writeString(limitedInput, "WITHDRAWAL," + second.getAccountNumber() + ",1\n"
+                    + "WITHDRAWAL," + second.getAccountNumber() + ",1\n");
+            BatchResult limited = new BatchProcessor(accountManager,
+                    new TransactionProcessor(transactionManager, null, null, checker))
+                    .process(limitedInput, directory.resolve("limited-out.csv"));
+
+            return limited.getAppliedCount() == 1
+                    && limited.getRejectedCount() == 1
+                    && result.getRowCount() == deposits + 5
+                    && result.getAppliedCount() == deposits + 1
+                    && result.getRejectedCount() == 1
+                    && result.getInvalidCount() == 3
+                    && lines.size() == deposits + 6
+                    && lines.get(1).equals("4,OK,1001.50")
+                    && lines.get(deposits + 1).equals(transferLine + ",OK," + Money.format(100_000 + deposits * 150L - 10_000))
+                    && lines.get(deposits + 2).startsWith((transferLine + 1) + ",REJECTED,\"")
+                    && lines.get(deposits + 3).startsWith((transferLine + 2) + ",INVALID,")
+                    && first.getBalanceCents() == 100_000 + deposits * 150L - 10_000
+                    && second.getBalanceCents() == 110_000 - 100
+                    && transactionManager.getTransactionCount() == deposits + 3;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            deleteQuietly(directory);
+        }
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (Exception ignored) {
+        }
+    }
+}
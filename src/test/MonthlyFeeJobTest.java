@@ -0,0 +1,103 @@
+package test;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import batch.MonthlyFeeJob;
+import batch.PeriodLedger;
+import batch.PostingResult;
+import customer.PremiumCustomer;
+import customer.RegularCustomer;
+import transaction.TransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class MonthlyFeeJobTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING MONTHLY FEE JOB TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Fees Skip Premium And Respect Overdraft
+        totalTests++;
+        if (testFeesSkipPremiumAndRespectOverdraft()) {
+            passedTests++;
+            System.out.println("✓ Test 1: feesSkipPremiumAndRespectOverdraft() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: feesSkipPremiumAndRespectOverdraft() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testFeesSkipPremiumAndRespectOverdraft() {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("fee-test");
+            AccountManager accountManager = new AccountManager();
+            RegularCustomer regular = new RegularCustomer("Fee Test", 30, "0551234567", "Accra");
+            PremiumCustomer premium = new PremiumCustomer("Fee Premium", 40, "0551234568", "Accra");
+            Account charged = new CheckingAccount(regular, 1000.0);
+            Account waived = new CheckingAccount(premium, 1000.0);
+            Account overdrawn = new CheckingAccount(regular, 0.0);
+            Account savings = new SavingsAccount(regular, 1000.0);
+            overdrawn.withdrawCents(99_500); // 5.00 of overdraft left, less than the 10.00 fee
+            accountManager.addAccount(charged);
+            accountManager.addAccount(waived);
+            accountManager.addAccount(overdrawn);
+            accountManager.addAccount(savings);
+            TransactionManager transactionManager = new TransactionManager();
+
+            MonthlyFeeJob job = new MonthlyFeeJob(accountManager, transactionManager, new PeriodLedger(directory));
+            PostingResult result = job.run(YearMonth.of(2026, 1));
+
+            return result.getAccountsScanned() == 3
+                    && result.getPostedCount() == 1
+                    && result.getSkippedCount() == 1
+                    && result.getDeclinedCount() == 1
+                    && result.getTotalCents() == 1_000
+                    && charged.getBalanceCents() == 99_000
+                    && waived.getBalanceCents() == 100_000
+                    && overdrawn.getBalanceCents() == -99_500
+                    && savings.getBalanceCents() == 100_000
+                    && transactionManager.calculateTotalFees(charged.getAccountNumber()) == 1_000
+                    && transactionManager.getTransactionCount() == 1
+                    && job.run(YearMonth.of(2026, 1)).isAlreadyDone();
+        } catch (Exception e) {
+            return false;
+        } finally {
+            deleteQuietly(directory);
+        }
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (Exception ignored) {
+        }
+    }
+}
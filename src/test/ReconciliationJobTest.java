@@ -0,0 +1,124 @@
+package test;
+
+import account.Account;
+import account.AccountManager;
+import account.SavingsAccount;
+import batch.ReconciliationJob;
+import batch.ReconciliationResult;
+import customer.RegularCustomer;
+import transaction.Transaction;
+import transaction.TransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class ReconciliationJobTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING RECONCILIATION JOB TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Reconciliation Reports First Divergence Incrementally
+        totalTests++;
+        if (testReconciliationReportsFirstDivergenceIncrementally()) {
+            passedTests++;
+            System.out.println("✓ Test 1: reconciliationReportsFirstDivergenceIncrementally() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: reconciliationReportsFirstDivergenceIncrementally() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testReconciliationReportsFirstDivergenceIncrementally() {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("reconcile-test");
+            Path checkpoint = directory.resolve("reconciliation.checkpoint");
+            AccountManager accountManager = new AccountManager();
+            TransactionManager transactionManager = new TransactionManager();
+            RegularCustomer customer = new RegularCustomer("Reconcile Test", 30, "0551234567", "Accra");
+            Account clean = new SavingsAccount(customer, 1000.0);
+            Account drifted = new SavingsAccount(customer, 1000.0);
+            accountManager.addAccount(clean);
+            accountManager.addAccount(drifted);
+            for (int i = 0; i < 2; i++) {
+                transactionManager.addTransaction(new Transaction(clean.getAccountNumber(), "DEPOSIT", 100, clean.depositCents(100)));
+            }
+            transactionManager.addTransaction(new Transaction(drifted.getAccountNumber(), "WITHDRAWAL", 100, drifted.withdrawCents(100)));
+            drifted.depositCents(50); // Applied but never recorded
+
+            ReconciliationResult first = new ReconciliationJob(accountManager, transactionManager, checkpoint).run();
+            ReconciliationResult.Mismatch balanceOnly = first.getMismatches().get(0);
+
+            Transaction wrong = new Transaction(clean.getAccountNumber(), "DEPOSIT", 100, 999);
+            transactionManager.addTransaction(wrong);
+            transactionManager.addTransaction(new Transaction(clean.getAccountNumber(), "DEPOSIT", 100, 1_099));
+            ReconciliationResult second = new ReconciliationJob(accountManager, transactionManager, checkpoint).run();
+            ReconciliationResult.Mismatch divergence = second.getMismatches().get(0);
+
+            // Off before its first record: only the recorded opening balance shows it
+            AccountManager earlyAccounts = new AccountManager();
+            TransactionManager earlyTransactions = new TransactionManager();
+            Account early = new SavingsAccount(customer, 1000.0);
+            earlyAccounts.addAccount(early);
+            early.depositCents(70); // Applied but never recorded
+            Transaction firstRecord = new Transaction(early.getAccountNumber(), "DEPOSIT", 100, early.depositCents(100));
+            earlyTransactions.addTransaction(firstRecord);
+            ReconciliationResult third = new ReconciliationJob(earlyAccounts, earlyTransactions,
+                    directory.resolve("early.checkpoint")).run();
+            ReconciliationResult.Mismatch beforeFirst = third.getMismatches().isEmpty() ? null : third.getMismatches().get(0);
+
+            return first.getAccountsChecked() == 2
+                    && first.getTransactionsReplayed() == 3
+                    && first.getMismatches().size() == 1
+                    && balanceOnly.getAccountNumber().equals(drifted.getAccountNumber())
+                    && balanceOnly.getTransactionId() == null
+                    && balanceOnly.getExpectedCents() == 99_900
+                    && balanceOnly.getActualCents() == 99_950
+                    // Clean account resumes after its checkpoint; the drifted one is replayed again
+                    && second.getTransactionsReplayed() == 2
+                    && second.getMismatches().size() == 2
+                    && divergence.getAccountNumber().equals(clean.getAccountNumber())
+                    && divergence.getTransactionId().equals(wrong.getTransactionId())
+                    && divergence.getExpectedCents() == 100_300
+                    && divergence.getActualCents() == 999
+                    && third.getMismatches().size() == 1
+                    && beforeFirst.getTransactionId().equals(firstRecord.getTransactionId())
+                    && beforeFirst.getExpectedCents() == 100_100
+                    && beforeFirst.getActualCents() == 100_170;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            deleteQuietly(directory);
+        }
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (Exception ignored) {
+        }
+    }
+}
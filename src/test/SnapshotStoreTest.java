@@ -0,0 +1,139 @@
+package test;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import customer.RegularCustomer;
+import storage.SnapshotStore;
+import storage.TransactionJournal;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionPage;
+import transaction.TransactionProcessor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class SnapshotStoreTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING SNAPSHOT STORE TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Snapshot Plus Journal Tail Restores Accounts
+        totalTests++;
+        if (testSnapshotPlusJournalTailRestoresAccounts()) {
+            passedTests++;
+            System.out.println("✓ Test 1: snapshotPlusJournalTailRestoresAccounts() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: snapshotPlusJournalTailRestoresAccounts() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testSnapshotPlusJournalTailRestoresAccounts() {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("snapshot-test");
+            Account account = new SavingsAccount(new RegularCustomer("Snapshot Test", 30, "0551234567", "Accra"), 1000.0);
+            Account idle = new CheckingAccount(account.getCustomer(), 50.0);
+            String accountNumber = account.getAccountNumber();
+
+            int fullWritten;
+            int incrementalWritten;
+            boolean unknownRejected = false;
+            List<String> stillMarked;
+            try (TransactionJournal journal = new TransactionJournal(directory.resolve("transactions.journal"))) {
+                AccountManager accountManager = new AccountManager();
+                accountManager.addAccount(account);
+                accountManager.addAccount(idle);
+                TransactionManager transactionManager = new TransactionManager();
+                transactionManager.attachJournal(journal);
+                TransactionProcessor processor = new TransactionProcessor(transactionManager);
+                SnapshotStore snapshotStore = new SnapshotStore(directory.resolve("snapshots"), accountManager, journal);
+
+                processor.deposit(account, 10_000);
+                fullWritten = snapshotStore.snapshot();
+                processor.deposit(account, 500);
+                accountManager.updateStatus(idle, "Inactive");
+                incrementalWritten = snapshotStore.snapshot(); // Only the deposit's account and the status change
+
+                // An account that cannot be found fails the snapshot, and its mark is kept for the next one
+                accountManager.markChanged("ACC999999");
+                try {
+                    snapshotStore.snapshot();
+                } catch (IllegalStateException e) {
+                    unknownRejected = true;
+                }
+                stillMarked = accountManager.takeChangedAccounts();
+                processor.deposit(account, 2_500); // Only in the journal tail
+            }
+
+            AccountManager restoredAccounts = new AccountManager();
+            TransactionManager restoredTransactions = new TransactionManager();
+            long replayed;
+            TransactionPage page;
+            long deposits;
+            try (TransactionJournal journal = new TransactionJournal(directory.resolve("transactions.journal"))) {
+                SnapshotStore snapshotStore = new SnapshotStore(directory.resolve("snapshots"), restoredAccounts, journal);
+                long from = snapshotStore.load();
+                replayed = journal.replay(restoredTransactions, restoredAccounts, from);
+                restoredTransactions.deferHistory(journal, from);
+                // The records before the snapshot are read back from the journal on first use
+                page = restoredTransactions.getTransactionPage(accountNumber, TransactionPage.NEWEST, 10);
+                deposits = restoredTransactions.calculateTotalDeposits(accountNumber);
+            }
+
+            Account restored = restoredAccounts.findAccount(accountNumber);
+            List<Transaction> rows = page.getTransactions();
+            return restored != null
+                    && restored != account
+                    && restored.getCustomer().getName().equals("Snapshot Test")
+                    && fullWritten == 2 && incrementalWritten == 2
+                    && unknownRejected && stillMarked.equals(List.of("ACC999999"))
+                    && restoredAccounts.findAccount(idle.getAccountNumber()).getStatus().equals("Inactive")
+                    && replayed == 1
+                    && restored.getBalanceCents() == 113_000
+                    && restored.getOpeningBalanceCents() == 100_000
+                    && rows.size() == 3
+                    && rows.get(0).getAmountCents() == 2_500
+                    && rows.get(2).getAmountCents() == 10_000
+                    && deposits == 13_000;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            deleteQuietly(directory);
+        }
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (Exception ignored) {
+        }
+    }
+}
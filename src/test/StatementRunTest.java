@@ -0,0 +1,112 @@
+package test;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import batch.StatementRun;
+import batch.StatementRunResult;
+import customer.RegularCustomer;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionPage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class StatementRunTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING STATEMENT RUN TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Statement Archive Matches Per Account Files
+        totalTests++;
+        if (testStatementArchiveMatchesPerAccountFiles()) {
+            passedTests++;
+            System.out.println("✓ Test 1: statementArchiveMatchesPerAccountFiles() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: statementArchiveMatchesPerAccountFiles() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testStatementArchiveMatchesPerAccountFiles() {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("statement-test");
+            AccountManager accountManager = new AccountManager();
+            TransactionManager transactionManager = new TransactionManager();
+            RegularCustomer customer = new RegularCustomer("Statement Test", 30, "0551234567", "Accra");
+            // More accounts than one chunk, so the archive is assembled from several workers
+            int accountCount = StatementRun.CHUNK_SIZE * 3 + 7;
+            for (int i = 0; i < accountCount; i++) {
+                Account account = i % 2 == 0 ? new SavingsAccount(customer, 1000.0) : new CheckingAccount(customer, 1000.0);
+                accountManager.addAccount(account);
+                transactionManager.addTransaction(new Transaction(account.getAccountNumber(), "DEPOSIT", 2_550,
+                        account.depositCents(2_550)));
+            }
+            YearMonth period = YearMonth.now();
+            StatementRun statementRun = new StatementRun(accountManager, transactionManager, 3);
+
+            StatementRunResult files = statementRun.writeFiles(directory.resolve("files"), period, null);
+            StatementRunResult archive = statementRun.writeArchive(directory.resolve("all.txt"), period, null);
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < accountCount; i++) {
+                expected.append(Files.readString(directory.resolve("files")
+                        .resolve(accountManager.getAccount(i).getAccountNumber() + "-" + period + ".txt")));
+            }
+            String archiveText = Files.readString(directory.resolve("all.txt"));
+
+            Transaction first = transactionManager.getTransactionPage(accountManager.getAccount(0).getAccountNumber(),
+                    TransactionPage.NEWEST, 1).getTransactions().get(0);
+            String row = String.format("%-10s %-12s %-10s $%-11s $%-14s %-20s%n", first.getTransactionId(),
+                    first.getAccountNumber(), first.getType(), "25.50", "1025.50", first.getTimestamp());
+
+            StatementRunResult savingsOnly = statementRun.writeArchive(directory.resolve("savings.txt"), period,
+                    account -> account instanceof SavingsAccount);
+
+            return files.getStatementCount() == accountCount
+                    && archive.getStatementCount() == accountCount
+                    && archiveText.equals(expected.toString())
+                    && archive.getBytesWritten() == Files.size(directory.resolve("all.txt"))
+                    && archiveText.contains(row)
+                    && savingsOnly.getStatementCount() == (accountCount + 1) / 2
+                    && !Files.readString(directory.resolve("savings.txt")).contains("Account Type: Checking");
+        } catch (Exception e) {
+            return false;
+        } finally {
+            deleteQuietly(directory);
+        }
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (Exception ignored) {
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package test;
+
+import transaction.TransactionEvents;
+import transaction.Transaction;
+import transaction.TransactionManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TransactionEventsTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING TRANSACTION EVENTS TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Events Reach Subscribers In Batches Without Blocking
+        totalTests++;
+        if (testEventsReachSubscribersInBatchesWithoutBlocking()) {
+            passedTests++;
+            System.out.println("✓ Test 1: eventsReachSubscribersInBatchesWithoutBlocking() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: eventsReachSubscribersInBatchesWithoutBlocking() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testEventsReachSubscribersInBatchesWithoutBlocking() {
+        try (TransactionEvents events = new TransactionEvents(64)) {
+            TransactionManager transactionManager = new TransactionManager();
+            transactionManager.attachEvents(events);
+
+            AtomicInteger received = new AtomicInteger();
+            AtomicInteger largestBatch = new AtomicInteger();
+            CountDownLatch allReceived = new CountDownLatch(1);
+            events.subscribe(new TransactionEvents.BatchSubscriber(8, 10, batch -> {
+                largestBatch.accumulateAndGet(batch.size(), Math::max);
+                if (received.addAndGet(batch.size()) == 100) {
+                    allReceived.countDown();
+                }
+            }));
+            // A subscriber that never finishes its first batch must not hold up recording
+            CountDownLatch release = new CountDownLatch(1);
+            events.subscribe(new TransactionEvents.BatchSubscriber(1, 10, batch -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", 100, 100L * (i + 1)));
+                if (i % 8 == 7) {
+                    Thread.sleep(1); // Give the fast subscriber time to keep up with its small buffer
+                }
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            boolean delivered = allReceived.await(5, TimeUnit.SECONDS);
+            release.countDown();
+
+            return delivered
+                    && largestBatch.get() <= 8
+                    && events.getDroppedCount() > 0 // The stuck subscriber's buffer overflowed
+                    && elapsedMillis < 2_000;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
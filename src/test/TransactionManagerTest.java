@@ -0,0 +1,305 @@
+package test;
+
+import transaction.AccountHistory;
+import transaction.SegmentArchive;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionPage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TransactionManagerTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING TRANSACTION MANAGER TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Log Keeps More Than 200 Transactions
+        totalTests++;
+        if (testLogKeepsMoreThan200Transactions()) {
+            passedTests++;
+            System.out.println("✓ Test 1: logKeepsMoreThan200Transactions() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: logKeepsMoreThan200Transactions() ...... FAILED");
+        }
+
+        // Test 2: Account History Tracks Only That Account
+        totalTests++;
+        if (testAccountHistoryTracksOnlyThatAccount()) {
+            passedTests++;
+            System.out.println("✓ Test 2: accountHistoryTracksOnlyThatAccount() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 2: accountHistoryTracksOnlyThatAccount() ...... FAILED");
+        }
+
+        // Test 3: Running Totals Include Transfers
+        totalTests++;
+        if (testRunningTotalsIncludeTransfers()) {
+            passedTests++;
+            System.out.println("✓ Test 3: runningTotalsIncludeTransfers() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 3: runningTotalsIncludeTransfers() ...... FAILED");
+        }
+
+        // Test 4: Pages Walk History Newest First
+        totalTests++;
+        if (testPagesWalkHistoryNewestFirst()) {
+            passedTests++;
+            System.out.println("✓ Test 4: pagesWalkHistoryNewestFirst() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 4: pagesWalkHistoryNewestFirst() ...... FAILED");
+        }
+
+        // Test 5: Time Range Returns Only Entries In Window
+        totalTests++;
+        if (testTimeRangeReturnsOnlyEntriesInWindow()) {
+            passedTests++;
+            System.out.println("✓ Test 5: timeRangeReturnsOnlyEntriesInWindow() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 5: timeRangeReturnsOnlyEntriesInWindow() ...... FAILED");
+        }
+
+        // Test 6: Archived Segments Read Back Transparently
+        totalTests++;
+        if (testArchivedSegmentsReadBackTransparently()) {
+            passedTests++;
+            System.out.println("✓ Test 6: archivedSegmentsReadBackTransparently() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 6: archivedSegmentsReadBackTransparently() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testLogKeepsMoreThan200Transactions() {
+        try {
+            TransactionManager transactionManager = new TransactionManager();
+
+            long lastSequence = -1;
+            for (int i = 0; i < 10_000; i++) {
+                long sequence = transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", 100, 100L * (i + 1)));
+                if (sequence != lastSequence + 1) {
+                    return false;
+                }
+                lastSequence = sequence;
+            }
+
+            return transactionManager.getTransactionCount() == 10_000
+                    && transactionManager.getLastSequence() == 9_999;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testAccountHistoryTracksOnlyThatAccount() {
+        try {
+            TransactionManager transactionManager = new TransactionManager();
+
+            for (int i = 0; i < 100; i++) {
+                transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", 500, 0));
+                transactionManager.addTransaction(new Transaction("ACC002", "WITHDRAWAL", 200, 0));
+                if (i % 2 == 0) {
+                    transactionManager.addTransaction(new Transaction("ACC001", "WITHDRAWAL", 100, 0));
+                }
+            }
+
+            AccountHistory history = transactionManager.getAccountHistory("ACC001");
+            boolean countCorrect = history.size() == 150;
+            boolean totalsCorrect = transactionManager.calculateTotalDeposits("ACC001") == 100 * 500
+                    && transactionManager.calculateTotalWithdrawals("ACC001") == 50 * 100
+                    && transactionManager.calculateTotalWithdrawals("ACC002") == 100 * 200;
+            boolean unknownAccountEmpty = transactionManager.getAccountHistory("ACC999") == null
+                    && transactionManager.calculateTotalDeposits("ACC999") == 0;
+
+            return countCorrect && totalsCorrect && unknownAccountEmpty;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testRunningTotalsIncludeTransfers() {
+        try {
+            TransactionManager transactionManager = new TransactionManager();
+            transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", 10_000, 10_000));
+            transactionManager.addTransaction(new Transaction("ACC001", "TRANSFER_OUT", 3_000, 7_000));
+            transactionManager.addTransaction(new Transaction("ACC002", "TRANSFER_IN", 3_000, 3_000));
+            transactionManager.addTransaction(new Transaction("ACC001", "TRANSFER_IN", 500, 7_500));
+            transactionManager.addTransaction(new Transaction("ACC001", "WITHDRAWAL", 1_000, 6_500));
+
+            AccountHistory history = transactionManager.getAccountHistory("ACC001");
+            // Type codes are persisted without names, so only the known types are accepted
+            boolean unknownRejected = false;
+            try {
+                new Transaction("ACC001", "BONUS", 100, 6_600);
+            } catch (IllegalArgumentException e) {
+                unknownRejected = true;
+            }
+            boolean unknownTotalRejected = false;
+            try {
+                transactionManager.calculateBankTotal("BONUS");
+            } catch (IllegalArgumentException e) {
+                unknownTotalRejected = true;
+            }
+            return history.size() == 4
+                    && unknownRejected && unknownTotalRejected
+                    && transactionManager.calculateBankTotal("DEPOSIT") == 10_000
+                    && transactionManager.calculateTotalDeposits("ACC001") == 10_000
+                    && transactionManager.calculateTotalWithdrawals("ACC001") == 1_000
+                    && transactionManager.calculateTotalTransfersIn("ACC001") == 500
+                    && transactionManager.calculateTotalTransfersOut("ACC001") == 3_000
+                    && history.getNetChange() == 6_500
+                    && transactionManager.calculateTotalTransfersIn("ACC002") == 3_000;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testPagesWalkHistoryNewestFirst() {
+        try {
+            TransactionManager transactionManager = new TransactionManager();
+            for (int i = 1; i <= 45; i++) {
+                transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", i, 0));
+                transactionManager.addTransaction(new Transaction("ACC002", "DEPOSIT", 1_000 + i, 0));
+            }
+
+            TransactionPage page = transactionManager.getTransactionPage("ACC001", TransactionPage.NEWEST, 20);
+            long expectedAmount = 45;
+            int pages = 0;
+            while (true) {
+                pages++;
+                if (page.getTransactions().size() > 20) {
+                    return false;
+                }
+                for (Transaction transaction : page.getTransactions()) {
+                    if (transaction.getAmountCents() != expectedAmount--) {
+                        return false;
+                    }
+                }
+                if (!page.hasMore()) {
+                    break;
+                }
+                page = transactionManager.getTransactionPage("ACC001", page.getNextCursor(), 20);
+            }
+
+            boolean unknownEmpty = transactionManager.getTransactionPage("ACC999", TransactionPage.NEWEST, 20).isEmpty();
+            return pages == 3 && expectedAmount == 0 && unknownEmpty;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testTimeRangeReturnsOnlyEntriesInWindow() {
+        try {
+            TransactionManager transactionManager = new TransactionManager();
+            // One entry per day for each account, 100 days from a fixed start
+            long day = 24L * 60 * 60 * 1000;
+            long start = 1_700_000_000_000L;
+            for (int i = 0; i < 100; i++) {
+                transactionManager.restoreTransaction(Transaction.restore(2 * i + 1, "ACC001", "DEPOSIT", i, 0, start + i * day));
+                transactionManager.restoreTransaction(Transaction.restore(2 * i + 2, "ACC002", "DEPOSIT", i, 0, start + i * day));
+            }
+
+            List<Transaction> window = transactionManager.getTransactionsBetween("ACC001", start + 10 * day, start + 20 * day);
+            boolean accountWindow = window.size() == 10
+                    && window.get(0).getAmountCents() == 10
+                    && window.get(9).getAmountCents() == 19;
+            boolean globalWindow = transactionManager.getTransactionsBetween(start + 10 * day, start + 20 * day).size() == 20;
+            boolean emptyWindows = transactionManager.getTransactionsBetween("ACC001", start + 200 * day, start + 300 * day).isEmpty()
+                    && transactionManager.getTransactionsBetween("ACC001", start + 20 * day, start + 10 * day).isEmpty();
+            return accountWindow && globalWindow && emptyWindows;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean testArchivedSegmentsReadBackTransparently() {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("archive-test");
+            TransactionManager transactionManager = new TransactionManager();
+            // 10,000 entries a minute apart, all long in the past: two full segments plus a partial one
+            long minute = 60_000L;
+            long start = 1_600_000_000_000L;
+            for (int i = 0; i < 10_000; i++) {
+                String accountNumber = i % 2 == 0 ? "ACC001" : "ACC002";
+                transactionManager.restoreTransaction(Transaction.restore(i + 1, accountNumber,
+                        i % 3 == 0 ? "WITHDRAWAL" : "DEPOSIT", i, 1_000_000 - i * 7L, start + i * minute));
+            }
+            Transaction before = transactionManager.getTransaction(1_234);
+            long depositsBefore = transactionManager.calculateBankTotal("DEPOSIT");
+            long memoryBefore = transactionManager.getLogMemoryBytes();
+
+            SegmentArchive archive = new SegmentArchive(directory, 2);
+            transactionManager.enableArchiving(archive, 30L * 24 * 60 * minute);
+
+            Transaction after = transactionManager.getTransaction(1_234);
+            boolean sameRow = after.getTransactionNumber() == before.getTransactionNumber()
+                    && after.getAccountNumber().equals(before.getAccountNumber())
+                    && after.getType().equals(before.getType())
+                    && after.getAmountCents() == before.getAmountCents()
+                    && after.getBalanceAfterCents() == before.getBalanceAfterCents()
+                    && after.getTimestampMillis() == before.getTimestampMillis();
+            boolean rangeWorks = transactionManager.getTransactionsBetween("ACC001", start, start + 100 * minute).size() == 50;
+            transactionManager.getTransaction(1_235); // Same segment again, served from the cache
+
+            return transactionManager.getArchivedSegmentCount() == 2
+                    && transactionManager.getLogMemoryBytes() < memoryBefore
+                    && sameRow
+                    && rangeWorks
+                    && transactionManager.calculateBankTotal("DEPOSIT") == depositsBefore
+                    && archive.getCacheHits() > 0
+                    && transactionManager.getArchiveFailure() == null
+                    && archiveFailureIsReportedNotThrown(directory.resolve("broken"));
+        } catch (Exception e) {
+            return false;
+        } finally {
+            deleteQuietly(directory);
+        }
+    }
+
+    // An archive whose directory is gone stops archiving without failing the appends
+    private static boolean archiveFailureIsReportedNotThrown(Path directory) throws IOException {
+        TransactionManager transactionManager = new TransactionManager();
+        transactionManager.enableArchiving(new SegmentArchive(directory, 2), 60_000L);
+        Files.delete(directory);
+        Files.createFile(directory);
+        long start = 1_600_000_000_000L;
+        for (int i = 0; i < 10_000; i++) {
+            transactionManager.restoreTransaction(Transaction.restore(i + 1, "ACC001", "DEPOSIT", 1, i + 1, start + i));
+        }
+        return transactionManager.getTransactionCount() == 10_000
+                && transactionManager.getArchivedSegmentCount() == 0
+                && transactionManager.getArchiveFailure() != null;
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (Exception ignored) {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package test;
+
+import account.Account;
+import account.SavingsAccount;
+import customer.RegularCustomer;
+import exceptions.VelocityLimitExceededException;
+import transaction.IdempotencyCache;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+import transaction.VelocityChecker;
+import transaction.VelocityRule;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class VelocityCheckerTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING VELOCITY CHECKER TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Velocity Rules Reject And Flag Within Window
+        totalTests++;
+        if (testVelocityRulesRejectAndFlagWithinWindow()) {
+            passedTests++;
+            System.out.println("✓ Test 1: velocityRulesRejectAndFlagWithinWindow() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: velocityRulesRejectAndFlagWithinWindow() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testVelocityRulesRejectAndFlagWithinWindow() {
+        try {
+            AtomicLong clock = new AtomicLong(1_000_000);
+            VelocityChecker checker = new VelocityChecker(List.of(
+                    VelocityRule.maxCount("burst", VelocityRule.Scope.DEBITS, 3, 60, TimeUnit.SECONDS, VelocityRule.Action.REJECT),
+                    VelocityRule.maxAmount("large", VelocityRule.Scope.DEBITS, 100_00, 60, TimeUnit.SECONDS, VelocityRule.Action.FLAG)),
+                    clock::get);
+            TransactionManager transactionManager = new TransactionManager();
+            TransactionProcessor processor = new TransactionProcessor(transactionManager, null, new IdempotencyCache(), checker);
+            RegularCustomer customer = new RegularCustomer("Velocity Test", 30, "0551234567", "Accra");
+            Account source = new SavingsAccount(customer, 1000.0);
+            Account target = new SavingsAccount(customer, 1000.0);
+            AtomicInteger flags = new AtomicInteger();
+            AtomicBoolean notifiedUnlocked = new AtomicBoolean(true);
+            checker.setFlagListener((accountNumber, rule, amountCents) -> {
+                flags.incrementAndGet();
+                // Another thread must be able to lock the account while the listener runs
+                try {
+                    CompletableFuture.runAsync(() -> source.callLocked(() -> null)).get(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    notifiedUnlocked.set(false);
+                }
+            });
+
+            processor.withdraw(source, 10_00);
+            processor.transfer(source, target, 10_00);
+            processor.withdraw(source, 10_00);
+            boolean rejected = false;
+            try {
+                processor.withdraw(source, 10_00);
+            } catch (VelocityLimitExceededException e) {
+                rejected = e.getRule().getName().equals("burst");
+            }
+            long balanceAfterBurst = source.getBalanceCents();
+            processor.deposit(source, 10_00); // Credits are not limited by debit rules
+            processor.deposit(target, 10_00);
+
+            // Once the window has moved on, debits are allowed again; this one is flagged for its size
+            clock.addAndGet(61_000);
+            processor.withdraw(source, 150_00);
+            int trackedAfterSweep = checker.getTrackedAccountCount(); // Target never counted in a window
+
+            // Large enough to flag, but refused by the minimum balance: never recorded, so never flagged
+            boolean refused = false;
+            try {
+                processor.withdraw(source, 2_000_00);
+            } catch (IllegalArgumentException e) {
+                refused = true;
+            }
+            clock.addAndGet(61_000);
+            processor.deposit(target, 10_00);
+
+            return rejected
+                    && balanceAfterBurst == 97_000
+                    && refused
+                    && transactionManager.getTransactionCount() == 8
+                    && source.getBalanceCents() == 83_000
+                    && checker.getRejectedCount() == 1
+                    && checker.getFlaggedCount() == 1
+                    && flags.get() == 1
+                    && notifiedUnlocked.get()
+                    && trackedAfterSweep == 1
+                    && checker.getTrackedAccountCount() == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package test;
+
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import customer.RegularCustomer;
+import storage.TransactionJournal;
+import storage.WriteAheadLog;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class WriteAheadLogTest {
+
+    public static void runAllTests() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RUNNING WRITE-AHEAD LOG TESTS");
+        System.out.println("=".repeat(60) + "\n");
+
+        int totalTests = 0;
+        int passedTests = 0;
+
+        // Test 1: Write-Ahead Log Records Every Intent Before Acknowledging
+        totalTests++;
+        if (testWriteAheadLogRecordsEveryIntentBeforeAcknowledging()) {
+            passedTests++;
+            System.out.println("✓ Test 1: writeAheadLogRecordsEveryIntentBeforeAcknowledging() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 1: writeAheadLogRecordsEveryIntentBeforeAcknowledging() ...... FAILED");
+        }
+
+        // Test 2: Write Ahead Log Recovery Restores Lost Journal Tail
+        totalTests++;
+        if (testWriteAheadLogRecoveryRestoresLostJournalTail()) {
+            passedTests++;
+            System.out.println("✓ Test 2: writeAheadLogRecoveryRestoresLostJournalTail() ...... PASSED");
+        } else {
+            System.out.println("✗ Test 2: writeAheadLogRecoveryRestoresLostJournalTail() ...... FAILED");
+        }
+
+        // Summary
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("TEST SUMMARY");
+        System.out.println("=".repeat(60));
+        System.out.println("Total Tests: " + totalTests);
+        System.out.println("Passed: " + passedTests);
+        System.out.println("Failed: " + (totalTests - passedTests));
+
+        if (passedTests == totalTests) {
+            System.out.println("\n✓ All " + totalTests + " tests passed successfully!");
+        } else {
+            System.out.println("\n✗ " + (totalTests - passedTests) + " test(s) failed!");
+        }
+    }
+
+    private static boolean testWriteAheadLogRecordsEveryIntentBeforeAcknowledging() {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("wal-test");
+            Path walPath = directory.resolve("bank.wal");
+            Account account = new SavingsAccount(new RegularCustomer("WAL Test", 30, "0551234567", "Accra"), 1000.0);
+            int threads = 8;
+            int depositsPerThread = 50;
+
+            boolean acknowledged;
+            boolean rejected = false;
+            try (WriteAheadLog writeAheadLog = new WriteAheadLog(walPath, 100, TimeUnit.MICROSECONDS)) {
+                TransactionProcessor processor = new TransactionProcessor(new TransactionManager(), writeAheadLog);
+                Thread[] workers = new Thread[threads];
+                for (int t = 0; t < threads; t++) {
+                    workers[t] = new Thread(() -> {
+                        for (int i = 0; i < depositsPerThread; i++) {
+                            processor.deposit(account, 100);
+                        }
+                    });
+                    workers[t].start();
+                }
+                for (Thread worker : workers) {
+                    worker.join();
+                }
+                // Every deposit returned, so every intent must already be on disk
+                acknowledged = writeAheadLog.getDurableLsn() == threads * depositsPerThread - 1;
+
+                try {
+                    processor.withdraw(account, 10_000_000);
+                } catch (IllegalArgumentException e) {
+                    rejected = true;
+                }
+            }
+
+            List<WriteAheadLog.Record> records = WriteAheadLog.readRecords(walPath);
+            WriteAheadLog.Record abort = records.get(records.size() - 1);
+            return acknowledged && rejected
+                    && records.size() == threads * depositsPerThread + 2
+                    && abort.getOperation() == WriteAheadLog.ABORT
+                    && abort.getAmountCents() == records.get(records.size() - 2).getLsn()
+                    && account.getBalanceCents() == 100_000 + threads * depositsPerThread * 100;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            deleteQuietly(directory);
+        }
+    }
+
+    private static boolean testWriteAheadLogRecoveryRestoresLostJournalTail() {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("wal-recovery-test");
+            Path walPath = directory.resolve("bank.wal");
+            RegularCustomer customer = new RegularCustomer("Recovery Test", 30, "0551234567", "Accra");
+            Account source = new SavingsAccount(customer, 1000.0);
+            Account target = new CheckingAccount(customer, 100.0);
+
+            // No journal, as if its tail was lost: only the write-ahead log has these
+            Transaction[] transfer;
+            long depositNumber;
+            try (WriteAheadLog writeAheadLog = new WriteAheadLog(walPath)) {
+                TransactionProcessor processor = new TransactionProcessor(new TransactionManager(), writeAheadLog);
+                depositNumber = processor.deposit(source, 10_000).getTransactionNumber();
+                transfer = processor.transfer(source, target, 2_500);
+                try {
+                    processor.withdraw(target, 10_000_000);
+                    return false;
+                } catch (IllegalArgumentException expected) {
+                }
+            }
+            Files.copy(walPath, directory.resolve("snapshot-ahead.wal"));
+            Files.copy(walPath, directory.resolve("journal-intact.wal"));
+
+            // Restart with balances from before the run: both intents are applied again
+            Account[] restarted = recoveryAccounts(source, target, 100_000, 10_000);
+            TransactionManager transactionManager = new TransactionManager();
+            int reapplied;
+            long journaledAfterReapply;
+            try (TransactionJournal journal = new TransactionJournal(directory.resolve("reapply.journal"));
+                 WriteAheadLog writeAheadLog = new WriteAheadLog(walPath)) {
+                transactionManager.attachJournal(journal);
+                reapplied = writeAheadLog.recover(accountsOf(restarted), transactionManager, journal);
+                journaledAfterReapply = journal.getRecordCount();
+            }
+            boolean reappliedCorrectly = reapplied == 2
+                    && restarted[0].getBalanceCents() == 107_500
+                    && restarted[1].getBalanceCents() == 12_500
+                    && journaledAfterReapply == 3
+                    && transactionManager.getTransaction(0).getTransactionNumber() == depositNumber
+                    && transactionManager.getTransaction(2).getTransactionNumber() == transfer[1].getTransactionNumber()
+                    && WriteAheadLog.readRecords(walPath).isEmpty();
+
+            // Restart from a snapshot that already has the final balances: only the journal is filled in
+            Account[] ahead = recoveryAccounts(source, target, 107_500, 12_500);
+            int journaledOnly;
+            long journaledAhead;
+            try (TransactionJournal journal = new TransactionJournal(directory.resolve("ahead.journal"));
+                 WriteAheadLog writeAheadLog = new WriteAheadLog(directory.resolve("snapshot-ahead.wal"))) {
+                TransactionManager restored = new TransactionManager();
+                restored.attachJournal(journal);
+                journaledOnly = writeAheadLog.recover(accountsOf(ahead), restored, journal);
+                journaledAhead = journal.getRecordCount();
+            }
+            boolean aheadCorrect = journaledOnly == 2 && journaledAhead == 3
+                    && ahead[0].getBalanceCents() == 107_500
+                    && ahead[1].getBalanceCents() == 12_500;
+
+            // Restart with the journal written by the first restart: nothing left to do
+            Account[] replayed = recoveryAccounts(source, target, 100_000, 10_000);
+            int leftOver;
+            long journaledIntact;
+            try (TransactionJournal journal = new TransactionJournal(directory.resolve("reapply.journal"));
+                 WriteAheadLog writeAheadLog = new WriteAheadLog(directory.resolve("journal-intact.wal"))) {
+                TransactionManager restored = new TransactionManager();
+                AccountManager accountManager = accountsOf(replayed);
+                journal.replay(restored, accountManager, 0);
+                restored.attachJournal(journal);
+                leftOver = writeAheadLog.recover(accountManager, restored, journal);
+                journaledIntact = journal.getRecordCount();
+            }
+            return reappliedCorrectly && aheadCorrect
+                    && leftOver == 0 && journaledIntact == 3
+                    && replayed[0].getBalanceCents() == 107_500
+                    && replayed[1].getBalanceCents() == 12_500;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            deleteQuietly(directory);
+        }
+    }
+
+    // Fresh copies of the two accounts under the same numbers, as a restart would load them
+    private static Account[] recoveryAccounts(Account source, Account target, long sourceCents, long targetCents) {
+        return new Account[] {
+                new SavingsAccount(source.getAccountNumber(), source.getCustomer(), sourceCents, "Active"),
+                new CheckingAccount(target.getAccountNumber(), target.getCustomer(), targetCents, "Active")
+        };
+    }
+
+    private static AccountManager accountsOf(Account[] accounts) {
+        AccountManager accountManager = new AccountManager();
+        for (Account account : accounts) {
+            accountManager.addAccount(account);
+        }
+        return accountManager;
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (Exception ignored) {
+        }
+    }
+}
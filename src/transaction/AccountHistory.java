@@ -0,0 +1,136 @@
+package transaction;
+
+/**
+ * Posting list of one account's entries in the TransactionLog.
+ * Offsets are stored as primitive ints in a chain of blocks whose sizes
+ * double (16, 16, 32, 64, ...), so growing never copies earlier offsets
+ * and a quiet account costs only one small block. Int offsets cap the log
+ * at 2^31 entries; TransactionManager refuses appends past that.
+ *
+ * Running totals per transaction type are updated on every add, so
+ * summaries are O(1) and never scan the log.
+ *
+ * Appends must be serialized by the caller (TransactionManager holds its lock).
+ */
+public class AccountHistory {
+    private static final int FIRST_BLOCK_SHIFT = 4;
+    private static final int FIRST_BLOCK_SIZE = 1 << FIRST_BLOCK_SHIFT;
+
+    private final String accountNumber;
+    private final int ordinal;
+    private final int[][] blocks = new int[33 - FIRST_BLOCK_SHIFT][];
+    private volatile int size;
+
+    // Running totals in cents; single writer, so plain volatile stores are enough
+    private volatile long totalDeposits;
+    private volatile long totalWithdrawals;
+    private volatile long totalTransfersIn;
+    private volatile long totalTransfersOut;
+    private volatile long totalInterest;
+    private volatile long totalFees;
+
+    AccountHistory(String accountNumber, int ordinal) {
+        this.accountNumber = accountNumber;
+        this.ordinal = ordinal;
+    }
+
+    // Record the log offset of a new entry for this account and fold it into the totals
+    void add(int logOffset, byte typeCode, long amountCents) {
+        int position = size;
+        int block = blockIndex(position);
+        if (blocks[block] == null) {
+            blocks[block] = new int[blockSize(block)];
+        }
+        blocks[block][position - blockStart(block)] = logOffset;
+        size = position + 1;
+
+        switch (typeCode) {
+            case TransactionType.DEPOSIT_CODE: totalDeposits += amountCents; break;
+            case TransactionType.WITHDRAWAL_CODE: totalWithdrawals += amountCents; break;
+            case TransactionType.TRANSFER_IN_CODE: totalTransfersIn += amountCents; break;
+            case TransactionType.TRANSFER_OUT_CODE: totalTransfersOut += amountCents; break;
+            case TransactionType.INTEREST_CODE: totalInterest += amountCents; break;
+            case TransactionType.FEE_CODE: totalFees += amountCents; break;
+            default: break;
+        }
+    }
+
+    // Log offset of this account's n-th entry (0 = oldest)
+    public int getOffset(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of bounds for size " + size);
+        }
+        int block = blockIndex(position);
+        return blocks[block][position - blockStart(block)];
+    }
+
+    // First position whose log timestamp is >= timestampMillis (size() if none)
+    int lowerBound(TransactionLog log, long timestampMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (log.getTimestampMillis(getOffset(mid)) < timestampMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getTotalDeposits() {
+        return totalDeposits;
+    }
+
+    public long getTotalWithdrawals() {
+        return totalWithdrawals;
+    }
+
+    public long getTotalTransfersIn() {
+        return totalTransfersIn;
+    }
+
+    public long getTotalTransfersOut() {
+        return totalTransfersOut;
+    }
+
+    public long getTotalInterest() {
+        return totalInterest;
+    }
+
+    public long getTotalFees() {
+        return totalFees;
+    }
+
+    // Money in minus money out across every counted type, in cents
+    public long getNetChange() {
+        return totalDeposits + totalTransfersIn + totalInterest - totalWithdrawals - totalTransfersOut - totalFees;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    // Dense per-account number assigned in order of first transaction
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    // Block 0 holds positions [0, 16), block b >= 1 holds [16 << (b - 1), 16 << b)
+    private static int blockIndex(int position) {
+        return 32 - Integer.numberOfLeadingZeros(position >>> FIRST_BLOCK_SHIFT);
+    }
+
+    private static int blockStart(int block) {
+        return block == 0 ? 0 : FIRST_BLOCK_SIZE << (block - 1);
+    }
+
+    private static int blockSize(int block) {
+        return block == 0 ? FIRST_BLOCK_SIZE : FIRST_BLOCK_SIZE << (block - 1);
+    }
+}
@@ -0,0 +1,172 @@
+package transaction;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of recent requests by their client-supplied key, so a
+ * retried request returns the original result instead of being applied again.
+ * Entries expire after a fixed window and the oldest are evicted once the
+ * cache is full; lookups and inserts are O(1). Entries still running are
+ * never expired or evicted, so their keys cannot be reused mid-flight.
+ *
+ * Only a rejection (an IllegalArgumentException, e.g. validation, insufficient
+ * funds or a velocity limit) is known to come before anything was applied, so
+ * its key is released and a retry is evaluated again. Any other outcome is
+ * kept, including a failure after the change was applied (e.g. a
+ * DurabilityException): retries get the same exception instead of applying
+ * it twice. A retry that arrives while the first attempt is still running
+ * waits for it and shares its outcome. The cache lives in memory, so keys are
+ * forgotten on restart.
+ */
+public class IdempotencyCache {
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+    public static final long DEFAULT_EXPIRY_MINUTES = 24 * 60;
+
+    private final int maxEntries;
+    private final long expiryNanos;
+    // Insertion order is also expiry order, since every entry gets the same window
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public IdempotencyCache(int maxEntries, long expiry, TimeUnit unit) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (expiry <= 0) {
+            throw new IllegalArgumentException("Expiry window must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.expiryNanos = unit.toNanos(expiry);
+    }
+
+    public IdempotencyCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_EXPIRY_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Runs action once per key. The fingerprint describes the request (operation,
+     * accounts, amount); reusing a key for a different request is rejected.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String fingerprint, Supplier<T> action) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Idempotency key cannot be empty");
+        }
+
+        Entry entry;
+        boolean firstAttempt = false;
+        synchronized (this) {
+            long now = System.nanoTime();
+            evictExpired(now);
+            entry = entries.get(key);
+            if (entry == null) {
+                misses++;
+                entry = new Entry(fingerprint, now + expiryNanos);
+                entries.put(key, entry);
+                firstAttempt = true;
+                if (entries.size() > maxEntries) {
+                    evictEldestCompleted();
+                }
+            } else {
+                hits++;
+            }
+        }
+
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency key " + key + " was already used for a different request");
+        }
+        if (!firstAttempt) {
+            return (T) entry.await();
+        }
+
+        try {
+            T result = action.get();
+            entry.outcome.complete(result);
+            return result;
+        } catch (IllegalArgumentException e) {
+            synchronized (this) {
+                entries.remove(key, entry); // Rejected before anything was applied
+            }
+            entry.outcome.completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            entry.outcome.completeExceptionally(e); // May have been applied, so retries must not run it again
+            throw e;
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    // Entries dropped because the cache was full, not because they expired
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized int size() {
+        evictExpired(System.nanoTime());
+        return entries.size();
+    }
+
+    // Expired entries that are still running stay until they finish
+    private void evictExpired(long now) {
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (oldest.hasNext()) {
+            Entry entry = oldest.next();
+            if (entry.expiresAt - now > 0) {
+                return;
+            }
+            if (entry.outcome.isDone()) {
+                oldest.remove();
+            }
+        }
+    }
+
+    // Only skips past entries still running, so this stays O(requests in flight)
+    private void evictEldestCompleted() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (eldest.hasNext()) {
+            if (eldest.next().outcome.isDone()) {
+                eldest.remove();
+                evictions++;
+                return;
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        final long expiresAt;
+        final CompletableFuture<Object> outcome = new CompletableFuture<>();
+
+        Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        // Result of the first attempt, waiting for it if it is still running
+        Object await() {
+            try {
+                return outcome.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package transaction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * On-disk home of sealed TransactionLog segments that have aged out of the heap.
+ * Each segment is one file. Every column is varint-encoded: transaction numbers,
+ * balance-after and timestamps as deltas from the previous row, and amounts as
+ * plain zigzag varints. The result is then deflated. Decoded segments are kept
+ * in a small LRU cache so repeated reads of the same old period stay in memory.
+ */
+public class SegmentArchive {
+    private static final int MAGIC = 0x5345474D; // "SEGM"
+
+    private final Path directory;
+    private final Map<Integer, TransactionLog.Segment> cache;
+    private long cacheHits;
+    private long cacheMisses;
+    private long archivedBytes;
+
+    public SegmentArchive(Path directory, int cachedSegments) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        int capacity = Math.max(1, cachedSegments);
+        this.cache = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, TransactionLog.Segment> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // Encode and write one full segment durably; replaces any earlier file for the same index
+    void write(int index, TransactionLog.Segment segment) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(TransactionLog.SEGMENT_SIZE * 12);
+        long previousNumber = 0;
+        long previousBalance = 0;
+        long previousTimestamp = 0;
+        for (int row = 0; row < TransactionLog.SEGMENT_SIZE; row++) {
+            writeVarLong(raw, zigzag(segment.transactionNumbers[row] - previousNumber));
+            writeVarLong(raw, segment.accountOrdinals[row] & 0xFFFFFFFFL);
+            raw.write(segment.types[row]);
+            writeVarLong(raw, zigzag(segment.amounts[row]));
+            writeVarLong(raw, zigzag(segment.balancesAfter[row] - previousBalance));
+            writeVarLong(raw, zigzag(segment.timestamps[row] - previousTimestamp));
+            previousNumber = segment.transactionNumbers[row];
+            previousBalance = segment.balancesAfter[row];
+            previousTimestamp = segment.timestamps[row];
+        }
+
+        byte[] encoded = raw.toByteArray();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(encoded);
+        deflater.finish();
+        ByteArrayOutputStream file = new ByteArrayOutputStream(encoded.length / 2 + 16);
+        file.writeBytes(ByteBuffer.allocate(8).putInt(MAGIC).putInt(encoded.length).array());
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            file.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+
+        // The log drops its heap copy once this returns, so the file must be on disk before the rename
+        Path target = fileFor(index);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        ByteBuffer contents = ByteBuffer.wrap(file.toByteArray());
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (this) {
+            archivedBytes += file.size();
+        }
+    }
+
+    // Decoded segment, from the cache when possible
+    TransactionLog.Segment load(int index) {
+        synchronized (this) {
+            TransactionLog.Segment cached = cache.get(index);
+            if (cached != null) {
+                cacheHits++;
+                return cached;
+            }
+            cacheMisses++;
+        }
+
+        TransactionLog.Segment segment;
+        try {
+            segment = decode(Files.readAllBytes(fileFor(index)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived segment " + index, e);
+        }
+
+        synchronized (this) {
+            cache.put(index, segment);
+        }
+        return segment;
+    }
+
+    public synchronized long getCacheHits() {
+        return cacheHits;
+    }
+
+    public synchronized long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    // Bytes on disk for segments archived by this process
+    public synchronized long getArchivedBytes() {
+        return archivedBytes;
+    }
+
+    private TransactionLog.Segment decode(byte[] file) throws IOException {
+        if (file.length < 8) {
+            throw new IOException("Not an archived segment");
+        }
+        ByteBuffer header = ByteBuffer.wrap(file, 0, 8);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not an archived segment");
+        }
+        byte[] encoded = new byte[header.getInt()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(file, 8, file.length - 8);
+            int length = 0;
+            while (length < encoded.length && !inflater.finished()) {
+                length += inflater.inflate(encoded, length, encoded.length - length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archived segment", e);
+        } finally {
+            inflater.end();
+        }
+
+        TransactionLog.Segment segment = new TransactionLog.Segment();
+        int[] position = {0};
+        long number = 0;
+        long balance = 0;
+        long timestamp = 0;
+        for (int row = 0; row < TransactionLog.SEGMENT_SIZE; row++) {
+            number += unzigzag(readVarLong(encoded, position));
+            segment.transactionNumbers[row] = number;
+            segment.accountOrdinals[row] = (int) readVarLong(encoded, position);
+            segment.types[row] = encoded[position[0]++];
+            segment.amounts[row] = unzigzag(readVarLong(encoded, position));
+            balance += unzigzag(readVarLong(encoded, position));
+            segment.balancesAfter[row] = balance;
+            timestamp += unzigzag(readVarLong(encoded, position));
+            segment.timestamps[row] = timestamp;
+        }
+        return segment;
+    }
+
+    private Path fileFor(int index) {
+        return directory.resolve(String.format("segment-%08d.seg", index));
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // 7 bits per byte, high bit set on every byte but the last
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -1,52 +1,93 @@
 package transaction;
 
 import utils.CustomUtils;
+import utils.Money;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Transaction {
-    private static int transactionCounter = 0;
+    private static final AtomicLong transactionCounter = new AtomicLong();
+    private static final AtomicLong lastTimestamp = new AtomicLong();
+    // Formatters are immutable and thread-safe, so one instance serves every display
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+            DateTimeFormatter.ofPattern("dd-MM-yyyy hh:mm a").withZone(ZoneId.systemDefault());
 
-    private final String transactionId;
+    private final long transactionNumber;
     private final String accountNumber;
-    private final String type; // "DEPOSIT" or "WITHDRAWAL"
-    private final double amount;
-    private final double balanceAfter;
-    private final String timestamp;
-
-    public Transaction(String accountNumber, String type, double amount, double balanceAfter) {
-        this.transactionId = generateTransactionId();
+    private final String type; // One of the TransactionType names, e.g. "DEPOSIT" or "TRANSFER_IN"
+    private final long amountCents;
+    private final long balanceAfterCents;
+    private final long timestampMillis; // epoch millis, never decreasing across transactions
+
+    public Transaction(String accountNumber, String type, long amountCents, long balanceAfterCents) {
+        this.type = TransactionType.nameOf(TransactionType.codeOf(type.toUpperCase())); // Rejects unknown types
+        this.transactionNumber = transactionCounter.incrementAndGet();
         this.accountNumber = accountNumber;
-        this.type = type.toUpperCase();
-        this.amount = amount;
-        this.balanceAfter = balanceAfter;
-        this.timestamp = generateTimestamp();
+        this.amountCents = amountCents;
+        this.balanceAfterCents = balanceAfterCents;
+        this.timestampMillis = nextTimestamp();
     }
 
     // New constructor for transfers
-    public Transaction(String accountNumber, String type, double amount, double balanceAfter, String relatedAccount) {
-        this.transactionId = generateTransactionId();
+    public Transaction(String accountNumber, String type, long amountCents, long balanceAfterCents, String relatedAccount) {
+        this(accountNumber, type, amountCents, balanceAfterCents);
+    }
+
+    // A new transaction under a number taken earlier with reserveTransactionNumbers
+    Transaction(long transactionNumber, String accountNumber, String type, long amountCents, long balanceAfterCents) {
+        this(transactionNumber, accountNumber, type.toUpperCase(), amountCents, balanceAfterCents, nextTimestamp());
+    }
+
+    // Rebuilds a recorded transaction (e.g. a view over TransactionLog columns)
+    Transaction(long transactionNumber, String accountNumber, String type,
+                long amountCents, long balanceAfterCents, long timestampMillis) {
+        this.transactionNumber = transactionNumber;
         this.accountNumber = accountNumber;
-        this.type = type.toUpperCase();
-        this.amount = amount;
-        this.balanceAfter = balanceAfter;
-        this.timestamp = generateTimestamp();
+        this.type = type;
+        this.amountCents = amountCents;
+        this.balanceAfterCents = balanceAfterCents;
+        this.timestampMillis = timestampMillis;
     }
 
-    private String generateTransactionId() {
-        transactionCounter++;
-        return String.format("TXN%03d", transactionCounter);
+    // Recreates a persisted transaction and moves the id counter and clock past it
+    public static Transaction restore(long transactionNumber, String accountNumber, String type,
+                                      long amountCents, long balanceAfterCents, long timestampMillis) {
+        transactionCounter.accumulateAndGet(transactionNumber, Math::max);
+        lastTimestamp.accumulateAndGet(timestampMillis, Math::max);
+        return new Transaction(transactionNumber, accountNumber, type, amountCents, balanceAfterCents, timestampMillis);
     }
 
-    private String generateTimestamp() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy hh:mm a");
-        return LocalDateTime.now().format(formatter);
+    // Wall-clock millis, clamped so timestamps follow creation order even if the clock steps back
+    private static long nextTimestamp() {
+        long now = System.currentTimeMillis();
+        return lastTimestamp.accumulateAndGet(now, Math::max);
+    }
+
+    // Display format used across the application, e.g. "17-10-2026 06:22 PM"
+    public static String formatTimestamp(long epochMillis) {
+        return TIMESTAMP_FORMATTER.format(Instant.ofEpochMilli(epochMillis));
+    }
+
+    // e.g. 7 -> "TXN007", 1234 -> "TXN1234"
+    public static String formatTransactionId(long transactionNumber) {
+        String digits = Long.toString(transactionNumber);
+        if (digits.length() >= 3) {
+            return "TXN" + digits;
+        }
+        return digits.length() == 2 ? "TXN0" + digits : "TXN00" + digits;
     }
 
     // Getters
+    // Formatted on demand so construction does not allocate an id string
     public String getTransactionId() {
-        return transactionId;
+        return formatTransactionId(transactionNumber);
+    }
+
+    public long getTransactionNumber() {
+        return transactionNumber;
     }
 
     public String getAccountNumber() {
@@ -58,19 +99,42 @@ public class Transaction {
     }
 
     public double getAmount() {
-        return amount;
+        return Money.toDollars(amountCents);
+    }
+
+    public long getAmountCents() {
+        return amountCents;
     }
 
     public double getBalanceAfter() {
-        return balanceAfter;
+        return Money.toDollars(balanceAfterCents);
     }
 
+    public long getBalanceAfterCents() {
+        return balanceAfterCents;
+    }
+
+    // Formatted on demand; sort and compare with getTimestampMillis() instead
     public String getTimestamp() {
-        return timestamp;
+        return formatTimestamp(timestampMillis);
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public static long getTransactionCounter() {
+        return transactionCounter.get();
+    }
+
+    // Take count consecutive numbers for transactions created later, e.g. once logged as an intent; returns the first
+    static long reserveTransactionNumbers(int count) {
+        return transactionCounter.getAndAdd(count) + 1;
     }
 
-    public static int getTransactionCounter() {
-        return transactionCounter;
+    // Continue numbering after a persisted counter (e.g. from a snapshot)
+    public static void restoreTransactionCounter(long counter) {
+        transactionCounter.accumulateAndGet(counter, Math::max);
     }
 
 
@@ -0,0 +1,170 @@
+package transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Stream of newly recorded transactions for fraud checks, notifications and reports.
+ * Each subscriber gets its own bounded buffer and receives items only as fast as
+ * it requests them. Publishing never blocks: if a subscriber's buffer is full,
+ * the transaction is dropped for that subscriber and counted in getDroppedCount.
+ * Subscribers run on the given executor, never on the thread recording the transaction.
+ */
+public class TransactionEvents implements Flow.Publisher<Transaction>, AutoCloseable {
+    public static final int DEFAULT_BUFFER_SIZE = Flow.defaultBufferSize();
+
+    private final SubmissionPublisher<Transaction> publisher;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public TransactionEvents(Executor executor, int bufferSize) {
+        this.publisher = new SubmissionPublisher<>(executor, bufferSize);
+    }
+
+    // Delivers on daemon threads, so subscribers never keep the application alive
+    public TransactionEvents(int bufferSize) {
+        this(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-events");
+            thread.setDaemon(true);
+            return thread;
+        }), bufferSize);
+    }
+
+    public TransactionEvents() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Transaction> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    // Called on the recording path; returns immediately whatever the subscribers are doing
+    void publish(Transaction transaction) {
+        if (!publisher.hasSubscribers()) {
+            return;
+        }
+        published.increment();
+        publisher.offer(transaction, (subscriber, item) -> {
+            dropped.increment();
+            return false; // Do not retry; the caller must not wait
+        });
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    // Deliveries skipped because a subscriber's buffer was full
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getSubscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    @Override
+    public void close() {
+        publisher.close();
+    }
+
+    /**
+     * Subscriber that receives transactions in lists of up to batchSize.
+     * It requests batchSize items at a time, and a partial batch is handed
+     * over after lingerMillis so a quiet period does not hold events back.
+     */
+    public static class BatchSubscriber implements Flow.Subscriber<Transaction> {
+        private static final ScheduledExecutorService LINGER_TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-events-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private final int batchSize;
+        private final long lingerMillis;
+        private final Consumer<List<Transaction>> onBatch;
+        private Flow.Subscription subscription;
+        private List<Transaction> batch;
+        private int outstanding;
+        private ScheduledFuture<?> lingerTask;
+
+        public BatchSubscriber(int batchSize, long lingerMillis, Consumer<List<Transaction>> onBatch) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+            this.batchSize = batchSize;
+            this.lingerMillis = lingerMillis;
+            this.onBatch = onBatch;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = batchSize;
+            subscription.request(batchSize);
+        }
+
+        @Override
+        public synchronized void onNext(Transaction transaction) {
+            batch.add(transaction);
+            outstanding--;
+            if (batch.size() >= batchSize) {
+                flush();
+            } else if (lingerTask == null) {
+                // The timer only hands off, so one slow consumer cannot delay other subscribers' flushes
+                lingerTask = LINGER_TIMER.schedule(() -> ForkJoinPool.commonPool().execute(this::flushLingering),
+                        lingerMillis, TimeUnit.MILLISECONDS);
+            }
+            if (outstanding == 0) {
+                outstanding = batchSize;
+                subscription.request(batchSize);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            flush();
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            flush();
+        }
+
+        public synchronized void cancel() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        private synchronized void flushLingering() {
+            lingerTask = null;
+            flush();
+        }
+
+        private void flush() {
+            if (lingerTask != null) {
+                lingerTask.cancel(false);
+                lingerTask = null;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Transaction> full = batch;
+            batch = new ArrayList<>(batchSize);
+            onBatch.accept(full);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package transaction;
+
+import java.io.IOException;
+
+/**
+ * Append-only, columnar transaction log built from fixed-size segments.
+ * Each segment holds parallel primitive arrays (transaction number, account
+ * ordinal, type code, amount, balance after, timestamp), so a row costs
+ * 37 bytes and full-log scans walk flat arrays instead of chasing pointers.
+ * Transaction objects are only created as views by get().
+ *
+ * Appends never copy existing entries; only the small segment directory
+ * is doubled when it fills. Each entry's sequence number is its position
+ * in the log, so sequence numbers start at 0 and increase by one per append.
+ *
+ * The timestamp column never decreases: a transaction created just before
+ * another but appended after it is stamped with the later time. Time-range
+ * lookups can therefore binary search the log and the per-account histories.
+ *
+ * With a SegmentArchive attached, full segments whose newest entry is older
+ * than the archive age are written to disk and dropped from the heap; reads
+ * of those rows go through the archive's cache. Because timestamps are sorted,
+ * archived segments are always a prefix of the log. If a segment cannot be
+ * written as the log grows, archiving stops and getArchiveFailure() returns
+ * the cause; appends carry on with every later segment kept on the heap.
+ *
+ * Appends must be serialized by the caller (TransactionManager holds its lock);
+ * readers may run concurrently and see every entry below size().
+ */
+public class TransactionLog {
+    public static final int SEGMENT_SHIFT = 12;
+    public static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT; // 4096 entries per segment
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    // Bytes of column data per row: long + int + byte + long + long + long
+    public static final int BYTES_PER_ENTRY = 8 + 4 + 1 + 8 + 8 + 8;
+
+    private Segment[] segments;
+    private int segmentCount;
+    // Published after the entry is written, so readers never see a half-appended row
+    private volatile long size;
+    private long lastTimestamp;
+
+    private SegmentArchive archive;
+    private long archiveAgeMillis;
+    private int archivedSegments; // Segments [0, archivedSegments) live only in the archive
+    private volatile IOException archiveFailure;
+
+    public TransactionLog() {
+        this.segments = new Segment[16];
+        this.segmentCount = 0;
+        this.size = 0;
+    }
+
+    // Append a transaction and return its sequence number
+    public long append(Transaction transaction, int accountOrdinal) {
+        long sequence = size;
+        int segmentIndex = (int) (sequence >>> SEGMENT_SHIFT);
+        if (segmentIndex == segmentCount) {
+            addSegment();
+        }
+
+        Segment segment = segments[segmentIndex];
+        int row = (int) (sequence & SEGMENT_MASK);
+        segment.transactionNumbers[row] = transaction.getTransactionNumber();
+        segment.accountOrdinals[row] = accountOrdinal;
+        segment.types[row] = TransactionType.codeOf(transaction.getType());
+        segment.amounts[row] = transaction.getAmountCents();
+        segment.balancesAfter[row] = transaction.getBalanceAfterCents();
+        // Keep the column sorted; creation and append order can differ by a millisecond or two
+        lastTimestamp = Math.max(lastTimestamp, transaction.getTimestampMillis());
+        segment.timestamps[row] = lastTimestamp;
+
+        size = sequence + 1;
+        return sequence;
+    }
+
+    // Build a Transaction view of one row
+    public Transaction get(long sequence, String accountNumber) {
+        Segment segment = segmentFor(sequence);
+        int row = (int) (sequence & SEGMENT_MASK);
+        return new Transaction(
+                segment.transactionNumbers[row],
+                accountNumber,
+                TransactionType.nameOf(segment.types[row]),
+                segment.amounts[row],
+                segment.balancesAfter[row],
+                segment.timestamps[row]);
+    }
+
+    // Column accessors, for scans that should not allocate views
+    public int getAccountOrdinal(long sequence) {
+        return segmentFor(sequence).accountOrdinals[(int) (sequence & SEGMENT_MASK)];
+    }
+
+    public byte getTypeCode(long sequence) {
+        return segmentFor(sequence).types[(int) (sequence & SEGMENT_MASK)];
+    }
+
+    public long getAmountCents(long sequence) {
+        return segmentFor(sequence).amounts[(int) (sequence & SEGMENT_MASK)];
+    }
+
+    public long getBalanceAfterCents(long sequence) {
+        return segmentFor(sequence).balancesAfter[(int) (sequence & SEGMENT_MASK)];
+    }
+
+    public long getTimestampMillis(long sequence) {
+        return segmentFor(sequence).timestamps[(int) (sequence & SEGMENT_MASK)];
+    }
+
+    // Sum of amounts of one type over the whole log; a tight loop per segment column
+    public long sumAmounts(byte typeCode) {
+        long remaining = size;
+        long total = 0;
+        for (int s = 0; s < segmentCount && remaining > 0; s++) {
+            Segment segment = segmentAt(s);
+            int rows = (int) Math.min(remaining, SEGMENT_SIZE);
+            byte[] types = segment.types;
+            long[] amounts = segment.amounts;
+            for (int row = 0; row < rows; row++) {
+                total += types[row] == typeCode ? amounts[row] : 0;
+            }
+            remaining -= rows;
+        }
+        return total;
+    }
+
+    // First sequence whose timestamp is >= timestampMillis (size() if none)
+    public long lowerBound(long timestampMillis) {
+        long low = 0;
+        long high = size;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (getTimestampMillis(mid) < timestampMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Sequence number of the newest entry, or -1 if the log is empty
+    public long getLastSequence() {
+        return size - 1;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    public int getArchivedSegmentCount() {
+        return archivedSegments;
+    }
+
+    // Why archiving stopped, or null while it is running (or was never enabled)
+    public IOException getArchiveFailure() {
+        return archiveFailure;
+    }
+
+    // Heap bytes used by the log including column data; archived segments are not counted
+    public long getMemoryBytes() {
+        return 16 + (long) segments.length * 4 + (long) (segmentCount - archivedSegments) * Segment.BYTES;
+    }
+
+    // Archive full segments whose newest entry is more than maxAgeMillis old, now and as the log grows
+    public void enableArchiving(SegmentArchive archive, long maxAgeMillis) throws IOException {
+        this.archive = archive;
+        this.archiveAgeMillis = maxAgeMillis;
+        archiveAgedSegments();
+    }
+
+    private void archiveAgedSegments() throws IOException {
+        long cutoff = System.currentTimeMillis() - archiveAgeMillis;
+        int fullSegments = (int) (size >>> SEGMENT_SHIFT);
+        while (archivedSegments < fullSegments
+                && segments[archivedSegments].timestamps[SEGMENT_MASK] < cutoff) {
+            archive.write(archivedSegments, segments[archivedSegments]);
+            // Readers that already hold the segment keep using it; new reads go to the archive
+            segments[archivedSegments] = null;
+            archivedSegments++;
+        }
+    }
+
+    private Segment segmentFor(long sequence) {
+        if (sequence < 0 || sequence >= size) {
+            throw new IndexOutOfBoundsException("Sequence " + sequence + " out of bounds for size " + size);
+        }
+        return segmentAt((int) (sequence >>> SEGMENT_SHIFT));
+    }
+
+    private Segment segmentAt(int index) {
+        Segment segment = segments[index];
+        return segment != null ? segment : archive.load(index);
+    }
+
+    private void addSegment() {
+        if (archive != null && archiveFailure == null) {
+            // A segment just filled up; it may already be old enough (e.g. while replaying)
+            try {
+                archiveAgedSegments();
+            } catch (IOException e) {
+                archiveFailure = e; // The append itself must not fail; the caller checks getArchiveFailure
+            }
+        }
+        if (segmentCount == segments.length) {
+            // Only segment references are copied, never the entries
+            Segment[] newSegments = new Segment[segments.length * 2];
+            System.arraycopy(segments, 0, newSegments, 0, segmentCount);
+            segments = newSegments;
+        }
+        segments[segmentCount++] = new Segment();
+    }
+
+    static final class Segment {
+        // Column data plus six array headers and the segment object itself
+        static final long BYTES = (long) SEGMENT_SIZE * BYTES_PER_ENTRY + 6 * 16 + 40;
+
+        final long[] transactionNumbers = new long[SEGMENT_SIZE];
+        final int[] accountOrdinals = new int[SEGMENT_SIZE];
+        final byte[] types = new byte[SEGMENT_SIZE];
+        final long[] amounts = new long[SEGMENT_SIZE];
+        final long[] balancesAfter = new long[SEGMENT_SIZE];
+        final long[] timestamps = new long[SEGMENT_SIZE];
+    }
+}
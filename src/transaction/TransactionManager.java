@@ -1,49 +1,273 @@
 package transaction;
 
+import storage.TransactionJournal;
 import utils.CustomUtils;
+import utils.Money;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TransactionManager {
-    private Transaction[] transactions;
-    private int transactionCount;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    // Replaced only while historyDeferred is set; its volatile write publishes the new ones
+    private TransactionLog transactions;
+    // Per-account posting lists into the log, maintained by addTransaction
+    private ConcurrentHashMap<String, AccountHistory> accountHistories;
+    // Slots are only appended and the array is republished through the volatile field, so readers need no lock
+    private volatile AccountHistory[] historiesByOrdinal;
+    private int accountCount;
+    private TransactionJournal journal;
+    private TransactionEvents events;
+    private SegmentArchive archive;
+    private long archiveAgeMillis;
+
+    // Journal records [0, deferredRecords) not loaded yet; see deferHistory
+    private volatile boolean historyDeferred;
+    private TransactionJournal deferredJournal;
+    private long deferredRecords;
 
     public TransactionManager() {
-        this.transactions = new Transaction[200];
-        this.transactionCount = 0;
+        this.transactions = new TransactionLog();
+        this.accountHistories = new ConcurrentHashMap<>();
+        this.historiesByOrdinal = new AccountHistory[64];
+        this.accountCount = 0;
     }
 
+    // Capacity is no longer a limit; the log grows one segment at a time
     public TransactionManager(int capacity) {
-        this.transactions = new Transaction[capacity];
-        this.transactionCount = 0;
+        this();
     }
 
-    // Add transaction to array
-    public void addTransaction(Transaction transaction) {
-        if (transactionCount < transactions.length) {
-            transactions[transactionCount] = transaction;
-            transactionCount++;
+    // Move full log segments older than maxAgeMillis to the archive, now and as the log grows
+    public synchronized void enableArchiving(SegmentArchive archive, long maxAgeMillis) throws IOException {
+        this.archive = archive;
+        this.archiveAgeMillis = maxAgeMillis;
+        // Archived segments must be a prefix of the whole log, so a deferred history is loaded first
+        if (!historyDeferred) {
+            transactions.enableArchiving(archive, maxAgeMillis);
         }
     }
 
-    // View transactions for a specific account (newest first)
-    public void viewTransactionsByAccount(String accountNumber) {
-        Transaction[] accountTransactions = getTransactionsForAccount(accountNumber);
+    /**
+     * Leave journal records [0, toRecord) on disk until history is first read,
+     * then load them ahead of the transactions already in the log. For startup
+     * from a snapshot, whose balances already include those records: only the
+     * tail after it is replayed before transactions are taken. Call after that
+     * replay and before attaching the journal; the journal must stay open.
+     */
+    public synchronized void deferHistory(TransactionJournal journal, long toRecord) {
+        if (toRecord <= 0) {
+            return;
+        }
+        deferredJournal = journal;
+        deferredRecords = toRecord;
+        historyDeferred = true;
+    }
+
+    // Called first by every history read; after the one load it costs a volatile read
+    private void loadDeferredHistory() {
+        if (historyDeferred) {
+            loadDeferredHistoryLocked();
+        }
+    }
+
+    // Rebuild the log as the deferred records followed by everything added since
+    private synchronized void loadDeferredHistoryLocked() {
+        if (!historyDeferred) {
+            return;
+        }
+        TransactionLog tail = transactions;
+        AccountHistory[] tailHistories = historiesByOrdinal;
+        transactions = new TransactionLog();
+        accountHistories = new ConcurrentHashMap<>();
+        historiesByOrdinal = new AccountHistory[64];
+        accountCount = 0;
+        if (archive != null) {
+            try {
+                transactions.enableArchiving(archive, archiveAgeMillis);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to enable archiving", e); // Empty log, nothing written yet
+            }
+        }
 
-        if (accountTransactions.length == 0) {
+        deferredJournal.loadHistory(this, 0, deferredRecords);
+        for (long sequence = 0; sequence < tail.size(); sequence++) {
+            String accountNumber = tailHistories[tail.getAccountOrdinal(sequence)].getAccountNumber();
+            appendToLog(tail.get(sequence, accountNumber));
+        }
+        deferredJournal = null;
+        historyDeferred = false;
+    }
+
+    public int getArchivedSegmentCount() {
+        return transactions.getArchivedSegmentCount();
+    }
+
+    // Why archiving stopped, or null; once set, the log keeps every new segment on the heap
+    public IOException getArchiveFailure() {
+        return transactions.getArchiveFailure();
+    }
+
+    // Heap bytes held by the transaction log
+    public long getLogMemoryBytes() {
+        return transactions.getMemoryBytes();
+    }
+
+    // Journal every new transaction from now on; call after any recovery
+    public synchronized void attachJournal(TransactionJournal journal) {
+        this.journal = journal;
+    }
+
+    // Publish every new transaction to subscribers from now on
+    public synchronized void attachEvents(TransactionEvents events) {
+        this.events = events;
+    }
+
+    // Append transaction to the log (and journal, if attached) and return its sequence number
+    public synchronized long addTransaction(Transaction transaction) {
+        nextOffset(); // Refuse before journaling, so a full log leaves no record behind
+        if (journal != null) {
+            journal.append(transaction); // Durable copy first, then the in-memory log
+        }
+        long sequence = appendToLog(transaction);
+        if (events != null) {
+            events.publish(transaction); // Never blocks; slow subscribers drop instead
+        }
+        return sequence;
+    }
+
+    // Force journaled transactions to disk; false (and nothing done) without a journal
+    public boolean syncJournal() {
+        TransactionJournal attached;
+        synchronized (this) {
+            attached = journal;
+        }
+        if (attached != null) {
+            attached.sync();
+        }
+        return attached != null;
+    }
+
+    // Journal position the next transaction will be written at (0 without a journal)
+    public synchronized long getJournalPosition() {
+        return journal == null ? 0 : journal.getRecordCount();
+    }
+
+    // Re-add a transaction read back from persistent storage, without journaling it again
+    public synchronized long restoreTransaction(Transaction transaction) {
+        return appendToLog(transaction);
+    }
+
+    private long appendToLog(Transaction transaction) {
+        int offset = nextOffset();
+        AccountHistory history = historyFor(transaction.getAccountNumber());
+        long sequence = transactions.append(transaction, history.getOrdinal());
+        history.add(offset, TransactionType.codeOf(transaction.getType()), transaction.getAmountCents());
+        return sequence;
+    }
+
+    // Posting lists hold int offsets, so the log stops at 2^31 rows instead of wrapping
+    private int nextOffset() {
+        try {
+            return Math.toIntExact(transactions.size());
+        } catch (ArithmeticException e) {
+            throw new IllegalStateException("Transaction log is full at " + transactions.size() + " entries", e);
+        }
+    }
+
+    // Add several transactions as one unit, with no other entries in between
+    public synchronized void addTransactions(Transaction... batch) {
+        for (Transaction transaction : batch) {
+            addTransaction(transaction);
+        }
+    }
+
+    // View transactions for a specific account (newest first), one page at a time
+    public void viewTransactionsByAccount(String accountNumber) {
+        TransactionPage page = getTransactionPage(accountNumber, TransactionPage.NEWEST, DEFAULT_PAGE_SIZE);
+        if (page.isEmpty()) {
             CustomUtils.print("No transactions found for account: " + accountNumber);
             return;
         }
 
-        // Sort by timestamp in reverse chronological order
-        Arrays.sort(accountTransactions, new Comparator<Transaction>() {
-            @Override
-            public int compare(Transaction t1, Transaction t2) {
-                return t2.getTimestamp().compareTo(t1.getTimestamp());
-            }
-        });
+        printHistoryHeader(accountNumber);
+        printTransactionRows(page);
+        while (page.hasMore()) {
+            page = getTransactionPage(accountNumber, page.getNextCursor(), DEFAULT_PAGE_SIZE);
+            printTransactionRows(page);
+        }
+        printHistorySummary(accountNumber);
+    }
+
+    /**
+     * Up to pageSize of an account's transactions, newest first, starting just
+     * before cursor (TransactionPage.NEWEST for the first page). The posting list
+     * is already in the order the account's balance changed, so walking it
+     * backwards needs no sort and costs O(pageSize).
+     */
+    public TransactionPage getTransactionPage(String accountNumber, int cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (cursor < TransactionPage.NEWEST) {
+            throw new IllegalArgumentException("Cursor must be TransactionPage.NEWEST or a position, not " + cursor);
+        }
+        loadDeferredHistory();
 
+        AccountHistory history = accountHistories.get(accountNumber);
+        if (history == null) {
+            return new TransactionPage(Collections.emptyList(), 0);
+        }
+
+        int end = cursor == TransactionPage.NEWEST ? history.size() : Math.min(cursor, history.size());
+        int start = Math.max(0, end - pageSize);
+        List<Transaction> page = new ArrayList<>(end - start);
+        for (int position = end - 1; position >= start; position--) {
+            page.add(transactions.get(history.getOffset(position), accountNumber));
+        }
+        return new TransactionPage(page, start);
+    }
+
+    // An account's transactions with fromMillis <= timestamp < toMillis, oldest first; O(log n + k)
+    public List<Transaction> getTransactionsBetween(String accountNumber, long fromMillis, long toMillis) {
+        loadDeferredHistory();
+        AccountHistory history = accountHistories.get(accountNumber);
+        if (history == null || fromMillis >= toMillis) {
+            return Collections.emptyList();
+        }
+
+        int start = history.lowerBound(transactions, fromMillis);
+        int end = history.lowerBound(transactions, toMillis);
+        List<Transaction> result = new ArrayList<>(end - start);
+        for (int position = start; position < end; position++) {
+            result.add(transactions.get(history.getOffset(position), accountNumber));
+        }
+        return result;
+    }
+
+    // Every transaction with fromMillis <= timestamp < toMillis, oldest first; O(log n + k)
+    public List<Transaction> getTransactionsBetween(long fromMillis, long toMillis) {
+        loadDeferredHistory();
+        if (fromMillis >= toMillis) {
+            return Collections.emptyList();
+        }
+
+        long start = transactions.lowerBound(fromMillis);
+        long end = transactions.lowerBound(toMillis);
+        List<Transaction> result = new ArrayList<>((int) Math.min(end - start, Integer.MAX_VALUE - 8));
+        for (long sequence = start; sequence < end; sequence++) {
+            result.add(getTransaction(sequence));
+        }
+        return result;
+    }
+
+    public void printHistoryHeader(String accountNumber) {
         CustomUtils.print("\n" + "─".repeat(90));
         CustomUtils.print("TRANSACTION HISTORY - Account: " + accountNumber);
         CustomUtils.print("─".repeat(90));
@@ -51,71 +275,146 @@ public class TransactionManager {
         CustomUtils.printf("%-10s %-12s %-10s %-12s %-15s %-20s%n",
                 "ID", "Account", "Type", "Amount", "Balance After", "Timestamp");
         CustomUtils.print("─".repeat(90));
+    }
 
-        for (Transaction transaction : accountTransactions) {
-            CustomUtils.printf("%-10s %-12s %-10s $%-11.2f $%-14.2f %-20s%n",
+    public void printTransactionRows(TransactionPage page) {
+        printTransactionRows(page.getTransactions());
+    }
+
+    public void printTransactionRows(List<Transaction> rows) {
+        for (Transaction transaction : rows) {
+            CustomUtils.printf("%-10s %-12s %-10s $%-11s $%-14s %-20s%n",
                     transaction.getTransactionId(),
                     transaction.getAccountNumber(),
                     transaction.getType(),
-                    transaction.getAmount(),
-                    transaction.getBalanceAfter(),
+                    Money.format(transaction.getAmountCents()),
+                    Money.format(transaction.getBalanceAfterCents()),
                     transaction.getTimestamp());
         }
+    }
 
-        // Display summary
+    // Summary from the running totals; no rescan of the history
+    public void printHistorySummary(String accountNumber) {
+        loadDeferredHistory();
+        AccountHistory history = accountHistories.get(accountNumber);
+        if (history == null) {
+            return;
+        }
         CustomUtils.print("─".repeat(90));
-        double totalDeposits = calculateTotalDeposits(accountNumber);
-        double totalWithdrawals = calculateTotalWithdrawals(accountNumber);
-        double netChange = totalDeposits - totalWithdrawals;
-
-        CustomUtils.printf("Summary: Total Deposits: $%.2f | Total Withdrawals: $%.2f | Net Change: $%.2f%n",
-                totalDeposits, totalWithdrawals, netChange);
-        CustomUtils.print("Total Transactions: " + accountTransactions.length);
-    }
-
-    // Calculate total deposits for an account
-    public double calculateTotalDeposits(String accountNumber) {
-        double total = 0;
-        for (int i = 0; i < transactionCount; i++) {
-            Transaction transaction = transactions[i];
-            if (transaction.getAccountNumber().equals(accountNumber) &&
-                    transaction.getType().equals("DEPOSIT")) {
-                total += transaction.getAmount();
-            }
+        CustomUtils.print("Summary: Total Deposits: $" + Money.format(history.getTotalDeposits())
+                + " | Total Withdrawals: $" + Money.format(history.getTotalWithdrawals())
+                + " | Transfers In: $" + Money.format(history.getTotalTransfersIn())
+                + " | Transfers Out: $" + Money.format(history.getTotalTransfersOut()));
+        if (history.getTotalInterest() > 0) {
+            CustomUtils.print("Interest Earned: $" + Money.format(history.getTotalInterest()));
+        }
+        if (history.getTotalFees() > 0) {
+            CustomUtils.print("Fees Charged: $" + Money.format(history.getTotalFees()));
         }
-        return total;
+        CustomUtils.print("Net Change: $" + Money.format(history.getNetChange()));
+        CustomUtils.print("Total Transactions: " + history.size());
     }
 
-    // Calculate total withdrawals for an account
-    public double calculateTotalWithdrawals(String accountNumber) {
-        double total = 0;
-        for (int i = 0; i < transactionCount; i++) {
-            Transaction transaction = transactions[i];
-            if (transaction.getAccountNumber().equals(accountNumber) &&
-                    transaction.getType().equals("WITHDRAWAL")) {
-                total += transaction.getAmount();
-            }
-        }
-        return total;
+    // Total deposits for an account, in cents
+    public long calculateTotalDeposits(String accountNumber) {
+        loadDeferredHistory();
+        AccountHistory history = accountHistories.get(accountNumber);
+        return history == null ? 0 : history.getTotalDeposits();
     }
-    
 
-    // Helper method to get transactions for a specific account
-    private Transaction[] getTransactionsForAccount(String accountNumber) {
-        int count = 0;
-        for (int i = 0; i < transactionCount; i++) {
-            if (transactions[i].getAccountNumber().equals(accountNumber)) {
-                count++;
-            }
-        }
+    // Total withdrawals for an account, in cents
+    public long calculateTotalWithdrawals(String accountNumber) {
+        loadDeferredHistory();
+        AccountHistory history = accountHistories.get(accountNumber);
+        return history == null ? 0 : history.getTotalWithdrawals();
+    }
+
+    // Total received by transfer, in cents
+    public long calculateTotalTransfersIn(String accountNumber) {
+        loadDeferredHistory();
+        AccountHistory history = accountHistories.get(accountNumber);
+        return history == null ? 0 : history.getTotalTransfersIn();
+    }
+
+    // Total sent by transfer, in cents
+    public long calculateTotalTransfersOut(String accountNumber) {
+        loadDeferredHistory();
+        AccountHistory history = accountHistories.get(accountNumber);
+        return history == null ? 0 : history.getTotalTransfersOut();
+    }
+
+    // Interest posted to an account, in cents
+    public long calculateTotalInterest(String accountNumber) {
+        loadDeferredHistory();
+        AccountHistory history = accountHistories.get(accountNumber);
+        return history == null ? 0 : history.getTotalInterest();
+    }
+
+    // Fees charged to an account, in cents
+    public long calculateTotalFees(String accountNumber) {
+        loadDeferredHistory();
+        AccountHistory history = accountHistories.get(accountNumber);
+        return history == null ? 0 : history.getTotalFees();
+    }
+
+    // Total amount of one type (a TransactionType name) across every account, in cents
+    public long calculateBankTotal(String type) {
+        loadDeferredHistory();
+        return transactions.sumAmounts(TransactionType.codeOf(type));
+    }
+
+    // Posting list for an account, or null if it has no transactions
+    public AccountHistory getAccountHistory(String accountNumber) {
+        loadDeferredHistory();
+        return accountHistories.get(accountNumber);
+    }
 
-        Transaction[] result = new Transaction[count];
-        int index = 0;
-        for (int i = 0; i < transactionCount; i++) {
-            if (transactions[i].getAccountNumber().equals(accountNumber)) {
-                result[index++] = transactions[i];
+    private AccountHistory historyFor(String accountNumber) {
+        AccountHistory history = accountHistories.get(accountNumber);
+        if (history == null) {
+            AccountHistory[] histories = historiesByOrdinal;
+            if (accountCount == histories.length) {
+                histories = Arrays.copyOf(histories, histories.length * 2);
             }
+            history = new AccountHistory(accountNumber, accountCount);
+            histories[accountCount++] = history;
+            historiesByOrdinal = histories;
+            accountHistories.put(accountNumber, history);
         }
-        return result;
+        return history;
+    }
+
+    // Transaction view of one log entry
+    public Transaction getTransaction(long sequence) {
+        loadDeferredHistory();
+        int ordinal = transactions.getAccountOrdinal(sequence);
+        return transactions.get(sequence, historiesByOrdinal[ordinal].getAccountNumber());
+    }
+
+    // Column reads for one log entry (e.g. AccountHistory.getOffset), for scans that should not allocate views
+    public byte getTypeCode(long sequence) {
+        loadDeferredHistory();
+        return transactions.getTypeCode(sequence);
+    }
+
+    public long getAmountCents(long sequence) {
+        loadDeferredHistory();
+        return transactions.getAmountCents(sequence);
+    }
+
+    public long getBalanceAfterCents(long sequence) {
+        loadDeferredHistory();
+        return transactions.getBalanceAfterCents(sequence);
+    }
+
+    public long getTransactionCount() {
+        loadDeferredHistory();
+        return transactions.size();
+    }
+
+    // Sequence number of the newest transaction, or -1 if none recorded
+    public long getLastSequence() {
+        loadDeferredHistory();
+        return transactions.getLastSequence();
     }
 }
\ No newline at end of file
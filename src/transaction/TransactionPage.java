@@ -0,0 +1,39 @@
+package transaction;
+
+import java.util.List;
+
+/**
+ * One newest-first page of an account's transactions.
+ * The cursor is a position in the account's history (entries before it are
+ * older), so it stays valid while new transactions are appended.
+ */
+public class TransactionPage {
+    // Pass as the cursor to start from the newest transaction
+    public static final int NEWEST = -1;
+
+    private final List<Transaction> transactions;
+    private final int nextCursor;
+
+    TransactionPage(List<Transaction> transactions, int nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    // Transactions on this page, newest first
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    // Cursor for the next (older) page; 0 once the oldest entry has been returned
+    public int getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor > 0;
+    }
+
+    public boolean isEmpty() {
+        return transactions.isEmpty();
+    }
+}
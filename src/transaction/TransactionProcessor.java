@@ -0,0 +1,252 @@
+package transaction;
+
+import account.Account;
+import exceptions.DurabilityException;
+import storage.WriteAheadLog;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Applies balance changes and records their Transactions as one unit.
+ * Each operation holds the affected account locks (see Account.callLocked and
+ * Account.callWithBothLocked) while it mutates and records, so the log order
+ * for an account always matches the order its balance changed.
+ *
+ * With a WriteAheadLog, each intent is logged under the lock before the
+ * balance changes, and the operation only returns once that record is durable.
+ * The wait happens after the locks are released so concurrent callers can
+ * share one group commit. The intent carries the transaction numbers the
+ * operation will record, so recovery can tell whether it reached the journal.
+ * If the log cannot be flushed once the change is applied, the journal is
+ * forced instead; only if that fails too is a DurabilityException thrown,
+ * never an error that reads as a rejection.
+ *
+ * The overloads taking an idempotency key apply each keyed request at most
+ * once; a retry with the same key returns the original Transaction(s).
+ *
+ * With a VelocityChecker, every operation is checked against the velocity
+ * rules under the account locks before anything is logged or applied, and
+ * counted in the windows once it has been applied. The FLAG rules it broke
+ * are reported after the locks are released.
+ */
+public class TransactionProcessor {
+    private final TransactionManager transactionManager;
+    private final WriteAheadLog writeAheadLog;
+    private final IdempotencyCache idempotencyCache;
+    private final VelocityChecker velocityChecker;
+
+    public TransactionProcessor(TransactionManager transactionManager) {
+        this(transactionManager, null);
+    }
+
+    public TransactionProcessor(TransactionManager transactionManager, WriteAheadLog writeAheadLog) {
+        this(transactionManager, writeAheadLog, new IdempotencyCache());
+    }
+
+    public TransactionProcessor(TransactionManager transactionManager, WriteAheadLog writeAheadLog,
+                                IdempotencyCache idempotencyCache) {
+        this(transactionManager, writeAheadLog, idempotencyCache, null);
+    }
+
+    // Any of the log, cache and checker may be null; without a cache the keyed overloads are unavailable
+    public TransactionProcessor(TransactionManager transactionManager, WriteAheadLog writeAheadLog,
+                                IdempotencyCache idempotencyCache, VelocityChecker velocityChecker) {
+        this.transactionManager = transactionManager;
+        this.writeAheadLog = writeAheadLog;
+        this.idempotencyCache = idempotencyCache;
+        this.velocityChecker = velocityChecker;
+    }
+
+    public IdempotencyCache getIdempotencyCache() {
+        return idempotencyCache;
+    }
+
+    // Null if velocity checks are off
+    public VelocityChecker getVelocityChecker() {
+        return velocityChecker;
+    }
+
+    // Deposit or withdrawal by type name, mirroring Account.processTransaction
+    public Transaction processTransaction(Account account, long amountCents, String type) {
+        if (type.equalsIgnoreCase("DEPOSIT")) {
+            return deposit(account, amountCents);
+        } else if (type.equalsIgnoreCase("WITHDRAWAL")) {
+            return withdraw(account, amountCents);
+        }
+        throw new IllegalArgumentException("Invalid transaction type: " + type);
+    }
+
+    public Transaction deposit(Account account, long amountCents) {
+        long[] lsn = {-1};
+        long[] velocity = {0, 0}; // Time checked at, FLAG rules broken
+        Transaction result = account.callLocked(() -> {
+            long now = checkVelocity(account, false, amountCents);
+            velocity[0] = now;
+            long number = Transaction.reserveTransactionNumbers(1);
+            lsn[0] = writeAheadLog == null ? -1
+                    : writeAheadLog.logDeposit(account, amountCents, number, transactionManager.getJournalPosition());
+            long balanceAfter = applyOrAbort(lsn[0], () -> account.depositCents(amountCents));
+            Transaction transaction = new Transaction(number, account.getAccountNumber(), "DEPOSIT", amountCents, balanceAfter);
+            transactionManager.addTransaction(transaction);
+            markApplied(lsn[0]);
+            velocity[1] = recordVelocity(account, false, amountCents, now);
+            return transaction;
+        });
+        reportVelocity(account, amountCents, velocity[1], velocity[0]);
+        awaitDurable(lsn[0]);
+        return result;
+    }
+
+    public Transaction withdraw(Account account, long amountCents) {
+        long[] lsn = {-1};
+        long[] velocity = {0, 0}; // Time checked at, FLAG rules broken
+        Transaction result = account.callLocked(() -> {
+            long now = checkVelocity(account, true, amountCents);
+            velocity[0] = now;
+            long number = Transaction.reserveTransactionNumbers(1);
+            lsn[0] = writeAheadLog == null ? -1
+                    : writeAheadLog.logWithdrawal(account, amountCents, number, transactionManager.getJournalPosition());
+            long balanceAfter = applyOrAbort(lsn[0], () -> account.withdrawCents(amountCents));
+            Transaction transaction = new Transaction(number, account.getAccountNumber(), "WITHDRAWAL", amountCents, balanceAfter);
+            transactionManager.addTransaction(transaction);
+            markApplied(lsn[0]);
+            velocity[1] = recordVelocity(account, true, amountCents, now);
+            return transaction;
+        });
+        reportVelocity(account, amountCents, velocity[1], velocity[0]);
+        awaitDurable(lsn[0]);
+        return result;
+    }
+
+    // Returns the TRANSFER_OUT and TRANSFER_IN transactions, in that order
+    public Transaction[] transfer(Account sourceAccount, Account targetAccount, long amountCents) {
+        if (targetAccount == null) {
+            throw new IllegalArgumentException("Target account cannot be null");
+        }
+
+        long[] lsn = {-1};
+        long[] velocity = {0, 0, 0}; // Time checked at, FLAG rules broken by each leg
+        Transaction[] result = Account.callWithBothLocked(sourceAccount, targetAccount, () -> {
+            long now = checkVelocity(sourceAccount, true, amountCents);
+            velocity[0] = now;
+            checkVelocity(targetAccount, false, amountCents, now);
+            long number = Transaction.reserveTransactionNumbers(2);
+            lsn[0] = writeAheadLog == null ? -1 : writeAheadLog.logTransfer(sourceAccount, targetAccount, amountCents,
+                    number, transactionManager.getJournalPosition());
+            applyOrAbort(lsn[0], () -> {
+                sourceAccount.transferCents(targetAccount, amountCents);
+                return 0L;
+            });
+
+            Transaction withdrawalTransaction = new Transaction(number,
+                    sourceAccount.getAccountNumber(), "TRANSFER_OUT", amountCents, sourceAccount.getBalanceCents());
+            Transaction depositTransaction = new Transaction(number + 1,
+                    targetAccount.getAccountNumber(), "TRANSFER_IN", amountCents, targetAccount.getBalanceCents());
+            transactionManager.addTransactions(withdrawalTransaction, depositTransaction);
+            markApplied(lsn[0]);
+            velocity[1] = recordVelocity(sourceAccount, true, amountCents, now);
+            velocity[2] = recordVelocity(targetAccount, false, amountCents, now);
+
+            return new Transaction[]{withdrawalTransaction, depositTransaction};
+        });
+        if (velocityChecker != null) {
+            velocityChecker.reportFlags(sourceAccount.getAccountNumber(), amountCents, (int) velocity[1]);
+        }
+        reportVelocity(targetAccount, amountCents, velocity[2], velocity[0]);
+        awaitDurable(lsn[0]);
+        return result;
+    }
+
+    public Transaction deposit(String idempotencyKey, Account account, long amountCents) {
+        return keyedRequests().execute(idempotencyKey, "DEPOSIT " + account.getAccountNumber() + " " + amountCents,
+                () -> deposit(account, amountCents));
+    }
+
+    public Transaction withdraw(String idempotencyKey, Account account, long amountCents) {
+        return keyedRequests().execute(idempotencyKey, "WITHDRAWAL " + account.getAccountNumber() + " " + amountCents,
+                () -> withdraw(account, amountCents));
+    }
+
+    public Transaction[] transfer(String idempotencyKey, Account sourceAccount, Account targetAccount, long amountCents) {
+        if (targetAccount == null) {
+            throw new IllegalArgumentException("Target account cannot be null");
+        }
+        String fingerprint = "TRANSFER " + sourceAccount.getAccountNumber() + " "
+                + targetAccount.getAccountNumber() + " " + amountCents;
+        return keyedRequests().execute(idempotencyKey, fingerprint,
+                () -> transfer(sourceAccount, targetAccount, amountCents));
+    }
+
+    private IdempotencyCache keyedRequests() {
+        if (idempotencyCache == null) {
+            throw new IllegalStateException("This processor has no idempotency cache");
+        }
+        return idempotencyCache;
+    }
+
+    // Returns the time checked at, so the same reading is used for the other leg and the record
+    private long checkVelocity(Account account, boolean debit, long amountCents) {
+        if (velocityChecker == null) {
+            return 0;
+        }
+        long now = velocityChecker.now();
+        velocityChecker.check(account, debit, amountCents, now);
+        return now;
+    }
+
+    private void checkVelocity(Account account, boolean debit, long amountCents, long now) {
+        if (velocityChecker != null) {
+            velocityChecker.check(account, debit, amountCents, now);
+        }
+    }
+
+    // Returns the FLAG rules broken, for reportVelocity once the locks are released
+    private int recordVelocity(Account account, boolean debit, long amountCents, long now) {
+        return velocityChecker == null ? 0 : velocityChecker.record(account, debit, amountCents, now);
+    }
+
+    // Runs with no account locked: the listener may be slow and the sweep locks other accounts
+    private void reportVelocity(Account account, long amountCents, long flags, long now) {
+        if (velocityChecker != null) {
+            velocityChecker.reportFlags(account.getAccountNumber(), amountCents, (int) flags);
+            velocityChecker.evictIdle(now);
+        }
+    }
+
+    // Run the mutation; if it is rejected, log that its intent was never applied
+    private long applyOrAbort(long lsn, LongSupplier mutation) {
+        try {
+            return mutation.getAsLong();
+        } catch (RuntimeException e) {
+            if (lsn >= 0) {
+                writeAheadLog.logAbort(lsn);
+            }
+            throw e;
+        }
+    }
+
+    private void markApplied(long lsn) {
+        if (lsn >= 0) {
+            writeAheadLog.markApplied(lsn);
+        }
+    }
+
+    // The change is already applied and journaled, so a failed flush falls back to forcing the journal
+    private void awaitDurable(long lsn) {
+        if (lsn < 0) {
+            return;
+        }
+        try {
+            writeAheadLog.awaitDurable(lsn);
+        } catch (RuntimeException e) {
+            try {
+                if (transactionManager.syncJournal()) {
+                    return;
+                }
+            } catch (RuntimeException journalFailure) {
+                e.addSuppressed(journalFailure);
+            }
+            throw new DurabilityException("Transaction applied but not confirmed durable: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package transaction;
+
+/**
+ * Byte codes for transaction types, used by the columnar TransactionLog,
+ * the journal and the segment archive. The set of types is fixed: codes are
+ * persisted without their names, so an unknown name or code is rejected
+ * rather than given a code that would mean nothing after a restart.
+ */
+public final class TransactionType {
+    public static final String DEPOSIT = "DEPOSIT";
+    public static final String WITHDRAWAL = "WITHDRAWAL";
+    public static final String TRANSFER_IN = "TRANSFER_IN";
+    public static final String TRANSFER_OUT = "TRANSFER_OUT";
+    public static final String INTEREST = "INTEREST";
+    public static final String FEE = "FEE";
+
+    public static final byte DEPOSIT_CODE = 0;
+    public static final byte WITHDRAWAL_CODE = 1;
+    public static final byte TRANSFER_IN_CODE = 2;
+    public static final byte TRANSFER_OUT_CODE = 3;
+    public static final byte INTEREST_CODE = 4;
+    public static final byte FEE_CODE = 5;
+
+    private TransactionType() {}
+
+    public static byte codeOf(String type) {
+        switch (type) {
+            case DEPOSIT: return DEPOSIT_CODE;
+            case WITHDRAWAL: return WITHDRAWAL_CODE;
+            case TRANSFER_IN: return TRANSFER_IN_CODE;
+            case TRANSFER_OUT: return TRANSFER_OUT_CODE;
+            case INTEREST: return INTEREST_CODE;
+            case FEE: return FEE_CODE;
+            default: throw new IllegalArgumentException("Unknown transaction type: " + type);
+        }
+    }
+
+    public static String nameOf(byte code) {
+        switch (code) {
+            case DEPOSIT_CODE: return DEPOSIT;
+            case WITHDRAWAL_CODE: return WITHDRAWAL;
+            case TRANSFER_IN_CODE: return TRANSFER_IN;
+            case TRANSFER_OUT_CODE: return TRANSFER_OUT;
+            case INTEREST_CODE: return INTEREST;
+            case FEE_CODE: return FEE;
+            default: throw new IllegalArgumentException("Unknown transaction type code: " + code);
+        }
+    }
+
+    // +1 if the type adds to the balance, -1 if it takes from it
+    public static int signOf(byte code) {
+        switch (code) {
+            case DEPOSIT_CODE:
+            case TRANSFER_IN_CODE:
+            case INTEREST_CODE:
+                return 1;
+            case WITHDRAWAL_CODE:
+            case TRANSFER_OUT_CODE:
+            case FEE_CODE:
+                return -1;
+            default:
+                return 0;
+        }
+    }
+}
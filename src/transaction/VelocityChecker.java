@@ -0,0 +1,249 @@
+package transaction;
+
+import account.Account;
+import exceptions.VelocityLimitExceededException;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Velocity checks: per-account sliding-window counts and sums, evaluated
+ * against a list of VelocityRules. REJECT rules are checked before a balance
+ * changes; FLAG rules only once the transaction has been applied and recorded,
+ * so operations rejected for any reason are never flagged.
+ *
+ * Each rule's window is split into BUCKETS buckets held in a ring, with the
+ * window's count and sum kept as running totals. Moving the window forward
+ * clears at most BUCKETS expired buckets, so a check or record is O(1) and
+ * allocates nothing; an account's state is one long[] (3 + 2 * BUCKETS
+ * longs per rule), created on its first recorded transaction. Windows are
+ * therefore approximate to one bucket, i.e. 1/BUCKETS of the window.
+ *
+ * An account's state is dropped once every window it is in has expired; the
+ * sweep runs at most once per longest window and locks one account at a time.
+ *
+ * Not synchronized: call check and record with the account locked, as
+ * TransactionProcessor does, and record only transactions that were applied.
+ * The processor reports flags and sweeps only after releasing the locks, so
+ * a slow listener never holds up other operations on the account.
+ */
+public class VelocityChecker {
+    public static final int BUCKETS = 12;
+
+    // Layout of one rule's slice of an account's state
+    private static final int HEAD = 0; // Bucket epoch of the newest bucket
+    private static final int COUNT = 1;
+    private static final int SUM = 2;
+    private static final int RING = 3; // BUCKETS pairs of (count, sum)
+    private static final int STRIDE = RING + 2 * BUCKETS;
+
+    public interface FlagListener {
+        void flagged(String accountNumber, VelocityRule rule, long amountCents);
+    }
+
+    private final VelocityRule[] rules;
+    private final long[] bucketMillis;
+    private final LongSupplier clock;
+    private final long sweepIntervalMillis;
+    private final AtomicLong nextSweepMillis = new AtomicLong();
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder flagged = new LongAdder();
+    private volatile FlagListener flagListener;
+
+    public VelocityChecker(List<VelocityRule> rules, LongSupplier clockMillis) {
+        if (rules.size() > Integer.SIZE) {
+            throw new IllegalArgumentException("At most " + Integer.SIZE + " velocity rules are supported");
+        }
+        this.rules = rules.toArray(new VelocityRule[0]);
+        this.bucketMillis = new long[this.rules.length];
+        long longestWindow = 1;
+        for (int r = 0; r < this.rules.length; r++) {
+            bucketMillis[r] = this.rules[r].getWindowMillis() / BUCKETS;
+            longestWindow = Math.max(longestWindow, this.rules[r].getWindowMillis());
+        }
+        this.sweepIntervalMillis = longestWindow;
+        this.clock = clockMillis;
+    }
+
+    public VelocityChecker(List<VelocityRule> rules) {
+        this(rules, System::currentTimeMillis);
+    }
+
+    // Bursts of debits are refused; unusually large debit totals are let through but flagged
+    public static List<VelocityRule> defaultRules() {
+        return List.of(
+                VelocityRule.maxCount("debit-burst", VelocityRule.Scope.DEBITS, 10, 1, TimeUnit.MINUTES,
+                        VelocityRule.Action.REJECT),
+                VelocityRule.maxAmount("debit-hourly", VelocityRule.Scope.DEBITS, 50_000_00, 1, TimeUnit.HOURS,
+                        VelocityRule.Action.REJECT),
+                VelocityRule.maxAmount("debit-large", VelocityRule.Scope.DEBITS, 5_000_00, 10, TimeUnit.MINUTES,
+                        VelocityRule.Action.FLAG));
+    }
+
+    public void setFlagListener(FlagListener flagListener) {
+        this.flagListener = flagListener;
+    }
+
+    // Throws VelocityLimitExceededException if applying this transaction would break a REJECT rule
+    public void check(Account account, boolean debit, long amountCents) {
+        check(account, debit, amountCents, clock.getAsLong());
+    }
+
+    /**
+     * Counts an applied transaction in every window it falls under and reports
+     * any FLAG rule it broke to the listener straight away, i.e. under whatever
+     * lock the caller holds.
+     */
+    public void record(Account account, boolean debit, long amountCents) {
+        reportFlags(account.getAccountNumber(), amountCents, record(account, debit, amountCents, clock.getAsLong()));
+    }
+
+    // Drop the state of accounts whose windows have all expired; call with no account locked
+    public void evictIdle() {
+        evictIdle(clock.getAsLong());
+    }
+
+    // A clock read is a large share of a check's cost, so the processor reads it once per operation
+    long now() {
+        return clock.getAsLong();
+    }
+
+    void check(Account account, boolean debit, long amountCents, long now) {
+        Window window = windows.get(account.getAccountNumber());
+        long[] state = window == null ? null : window.state;
+        for (int r = 0; r < rules.length; r++) {
+            VelocityRule rule = rules[r];
+            if (!rule.covers(debit) || rule.getAction() != VelocityRule.Action.REJECT) {
+                continue;
+            }
+            long count = 1;
+            long sum = amountCents;
+            if (state != null) {
+                int base = r * STRIDE;
+                advance(state, base, now / bucketMillis[r]);
+                count += state[base + COUNT];
+                sum += state[base + SUM];
+            }
+            if (count > rule.getMaxCount() || sum > rule.getMaxAmountCents()) {
+                rejected.increment();
+                throw new VelocityLimitExceededException(account.getAccountNumber(), rule);
+            }
+        }
+    }
+
+    // Returns the FLAG rules the window totals break once this transaction is in them, one bit per rule
+    int record(Account account, boolean debit, long amountCents, long now) {
+        Window window = windows.get(account.getAccountNumber());
+        if (window == null) {
+            window = windows.computeIfAbsent(account.getAccountNumber(), number -> new Window(account, rules.length * STRIDE));
+        }
+        long[] state = window.state;
+        int flags = 0;
+        for (int r = 0; r < rules.length; r++) {
+            if (!rules[r].covers(debit)) {
+                continue;
+            }
+            int base = r * STRIDE;
+            long epoch = now / bucketMillis[r];
+            advance(state, base, epoch);
+            // A clock that stepped back lands in the newest bucket
+            int slot = base + RING + 2 * (int) (Math.max(epoch, state[base + HEAD]) % BUCKETS);
+            state[slot]++;
+            state[slot + 1] += amountCents;
+            state[base + COUNT]++;
+            state[base + SUM] += amountCents;
+            VelocityRule rule = rules[r];
+            if (rule.getAction() == VelocityRule.Action.FLAG
+                    && (state[base + COUNT] > rule.getMaxCount() || state[base + SUM] > rule.getMaxAmountCents())) {
+                flags |= 1 << r;
+            }
+        }
+        return flags;
+    }
+
+    // Hand the FLAG rules a recorded transaction broke to the listener
+    void reportFlags(String accountNumber, long amountCents, int flags) {
+        if (flags == 0) {
+            return;
+        }
+        FlagListener listener = flagListener;
+        for (int r = 0; r < rules.length; r++) {
+            if ((flags & (1 << r)) != 0) {
+                flagged.increment();
+                if (listener != null) {
+                    listener.flagged(accountNumber, rules[r], amountCents);
+                }
+            }
+        }
+    }
+
+    // One thread sweeps per interval; the unlocked idle test is only a hint, confirmed under the account's lock
+    void evictIdle(long now) {
+        long due = nextSweepMillis.get();
+        if (now < due || !nextSweepMillis.compareAndSet(due, now + sweepIntervalMillis)) {
+            return;
+        }
+        for (Window window : windows.values()) {
+            if (isIdle(window.state, now)) {
+                window.account.callLocked(() -> isIdle(window.state, now)
+                        && windows.remove(window.account.getAccountNumber(), window));
+            }
+        }
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getFlaggedCount() {
+        return flagged.sum();
+    }
+
+    // Accounts with window state, i.e. that have recorded a transaction in a window not yet swept away
+    public int getTrackedAccountCount() {
+        return windows.size();
+    }
+
+    // Clear the buckets that fall out of the window when the newest bucket moves to epoch
+    private static void advance(long[] state, int base, long epoch) {
+        long head = state[base + HEAD];
+        if (epoch <= head) {
+            return;
+        }
+        long steps = Math.min(epoch - head, BUCKETS);
+        for (long e = epoch - steps + 1; e <= epoch; e++) {
+            int slot = base + RING + 2 * (int) (e % BUCKETS);
+            state[base + COUNT] -= state[slot];
+            state[base + SUM] -= state[slot + 1];
+            state[slot] = 0;
+            state[slot + 1] = 0;
+        }
+        state[base + HEAD] = epoch;
+    }
+
+    // True if every bucket of every rule has fallen out of its window by now
+    private boolean isIdle(long[] state, long now) {
+        for (int r = 0; r < rules.length; r++) {
+            if (now / bucketMillis[r] - state[r * STRIDE + HEAD] < BUCKETS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // An account's window state, with the account so it can be locked when swept
+    private static final class Window {
+        final Account account;
+        final long[] state;
+
+        Window(Account account, int length) {
+            this.account = account;
+            this.state = new long[length];
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package transaction;
+
+import utils.Money;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A limit on how much activity one account may have in a sliding window,
+ * e.g. at most 10 debits per minute or at most $5,000 withdrawn per hour.
+ * A rule either rejects the transaction that would break it or lets it
+ * through and flags it. See VelocityChecker.
+ */
+public class VelocityRule {
+    public enum Scope { DEBITS, CREDITS, ALL }
+    public enum Action { REJECT, FLAG }
+
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final String name;
+    private final Scope scope;
+    private final long windowMillis;
+    private final long maxCount;
+    private final long maxAmountCents;
+    private final Action action;
+
+    public VelocityRule(String name, Scope scope, long window, TimeUnit unit,
+                        long maxCount, long maxAmountCents, Action action) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Rule name cannot be empty");
+        }
+        if (unit.toMillis(window) < VelocityChecker.BUCKETS) {
+            throw new IllegalArgumentException("Window must be at least " + VelocityChecker.BUCKETS + " ms");
+        }
+        if (maxCount <= 0 || maxAmountCents <= 0) {
+            throw new IllegalArgumentException("Limits must be positive");
+        }
+        this.name = name;
+        this.scope = scope;
+        this.windowMillis = unit.toMillis(window);
+        this.maxCount = maxCount;
+        this.maxAmountCents = maxAmountCents;
+        this.action = action;
+    }
+
+    // At most maxCount transactions in the window
+    public static VelocityRule maxCount(String name, Scope scope, long maxCount, long window, TimeUnit unit, Action action) {
+        return new VelocityRule(name, scope, window, unit, maxCount, UNLIMITED, action);
+    }
+
+    // At most maxAmountCents in total in the window
+    public static VelocityRule maxAmount(String name, Scope scope, long maxAmountCents, long window, TimeUnit unit, Action action) {
+        return new VelocityRule(name, scope, window, unit, UNLIMITED, maxAmountCents, action);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public long getMaxCount() {
+        return maxCount;
+    }
+
+    public long getMaxAmountCents() {
+        return maxAmountCents;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    boolean covers(boolean debit) {
+        return scope == Scope.ALL || (scope == Scope.DEBITS) == debit;
+    }
+
+    // e.g. "debit-burst: at most 10 debits per 60s"
+    @Override
+    public String toString() {
+        String what = scope == Scope.ALL ? "transactions" : scope.name().toLowerCase();
+        String limit;
+        if (maxCount != UNLIMITED && maxAmountCents != UNLIMITED) {
+            limit = maxCount + " " + what + " and $" + Money.format(maxAmountCents);
+        } else if (maxCount != UNLIMITED) {
+            limit = maxCount + " " + what;
+        } else {
+            limit = "$" + Money.format(maxAmountCents) + " of " + what;
+        }
+        return name + ": at most " + limit + " per " + windowMillis / 1000 + "s";
+    }
+}
@@ -104,7 +104,7 @@ public class AccountManagerUI {
                 "Change status from '" + account.getStatus() + "' to '" + newStatus + "'?");
 
         if (confirm) {
-            account.setStatus(newStatus);
+            accountManager.updateStatus(account, newStatus);
             CustomUtils.printSuccess("Account status updated successfully!");
             CustomUtils.print("New Status: " + account.getStatus());
         } else {
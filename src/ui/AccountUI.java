@@ -6,6 +6,7 @@ import java.util.Scanner;
 
 import  ui.AccountManagerUI;
 import utils.CustomUtils;
+import utils.Money;
 
 public class AccountUI {
     private AccountManager accountManager;
@@ -151,7 +152,6 @@ public class AccountUI {
     }
 
     private void searchByCustomerName(String customerName) {
-        Account[] accounts = accountManager.getAccounts();
         int accountCount = accountManager.getActualAccountCount();
 
         CustomUtils.print("\nSearch Results for: " + customerName);
@@ -159,9 +159,10 @@ public class AccountUI {
 
         boolean found = false;
         for (int i = 0; i < accountCount; i++) {
-            if (accounts[i].getCustomer().getName().toLowerCase()
+            Account account = accountManager.getAccount(i);
+            if (account.getCustomer().getName().toLowerCase()
                     .contains(customerName.toLowerCase())) {
-                accounts[i].displayAccountDetails();
+                account.displayAccountDetails();
                 CustomUtils.print("─".repeat(40));
                 found = true;
             }
@@ -173,21 +174,21 @@ public class AccountUI {
     }
 
     private void searchByAccountType(String accountType) {
-        Account[] accounts = accountManager.getAccounts();
         int accountCount = accountManager.getActualAccountCount();
 
         CustomUtils.print("\n" + accountType + " Accounts:");
         CustomUtils.print("─".repeat(80));
 
         int count = 0;
-        double totalBalance = 0;
+        long totalBalance = 0; // cents
 
         for (int i = 0; i < accountCount; i++) {
-            if (accounts[i].getAccountType().equals(accountType)) {
-                accounts[i].displayAccountDetails();
+            Account account = accountManager.getAccount(i);
+            if (account.getAccountType().equals(accountType)) {
+                account.displayAccountDetails();
                 CustomUtils.print("─".repeat(40));
                 count++;
-                totalBalance += accounts[i].getBalance();
+                totalBalance += account.getBalanceCents();
             }
         }
 
@@ -196,7 +197,7 @@ public class AccountUI {
         } else {
             CustomUtils.print("─".repeat(80));
             CustomUtils.print("Total " + accountType + " Accounts: " + count);
-            CustomUtils.print("Total Balance: $" + String.format("%.2f", totalBalance));
+            CustomUtils.print("Total Balance: $" + Money.format(totalBalance));
         }
     }
 
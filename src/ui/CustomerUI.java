@@ -3,6 +3,7 @@ package ui;
 import customer.Customer;
 import account.Account;
 import account.AccountManager;
+import utils.Money;
 import java.util.Scanner;
 import java.util.HashSet;
 import java.util.ArrayList;
@@ -67,7 +68,6 @@ public class CustomerUI {
     }
 
     public void viewAllCustomers() {
-        Account[] accounts = accountManager.getAccounts();
         int accountCount = accountManager.getActualAccountCount();
 
         if (accountCount == 0) {
@@ -88,7 +88,7 @@ public class CustomerUI {
         int premiumCount = 0;
 
         for (int i = 0; i < accountCount; i++) {
-            Customer customer = accounts[i].getCustomer();
+            Customer customer = accountManager.getAccount(i).getCustomer();
             String customerId = customer.getCustomerId();
 
             if (processedCustomerIds.contains(customerId)) {
@@ -98,7 +98,7 @@ public class CustomerUI {
             // Count accounts for this customer
             int accountCountForCustomer = 0;
             for (int j = 0; j < accountCount; j++) {
-                if (accounts[j].getCustomer().getCustomerId().equals(customerId)) {
+                if (accountManager.getAccount(j).getCustomer().getCustomerId().equals(customerId)) {
                     accountCountForCustomer++;
                 }
             }
@@ -140,7 +140,6 @@ public class CustomerUI {
     }
 
     public void viewCustomerDetailsById(String customerId) {
-        Account[] accounts = accountManager.getAccounts();
         int accountCount = accountManager.getActualAccountCount();
 
         Customer foundCustomer = null;
@@ -148,12 +147,13 @@ public class CustomerUI {
 
         // Find customer and their accounts
         for (int i = 0; i < accountCount; i++) {
-            Customer customer = accounts[i].getCustomer();
+            Account account = accountManager.getAccount(i);
+            Customer customer = account.getCustomer();
             if (customer.getCustomerId().equals(customerId)) {
                 if (foundCustomer == null) {
                     foundCustomer = customer;
                 }
-                customerAccounts.add(accounts[i]);
+                customerAccounts.add(account);
             }
         }
 
@@ -176,18 +176,18 @@ public class CustomerUI {
         if (customerAccounts.isEmpty()) {
             System.out.println("No accounts found for this customer.");
         } else {
-            double totalBalance = 0;
+            long totalBalance = 0; // cents
             for (Account account : customerAccounts) {
-                System.out.printf("%s | %s | Balance: $%.2f | Status: %s%n",
+                System.out.printf("%s | %s | Balance: $%s | Status: %s%n",
                         account.getAccountNumber(),
                         account.getAccountType(),
-                        account.getBalance(),
+                        Money.format(account.getBalanceCents()),
                         account.getStatus());
-                totalBalance += account.getBalance();
+                totalBalance += account.getBalanceCents();
             }
             System.out.println("─".repeat(60));
-            System.out.printf("Total Accounts: %d | Total Balance: $%.2f%n",
-                    customerAccounts.size(), totalBalance);
+            System.out.printf("Total Accounts: %d | Total Balance: $%s%n",
+                    customerAccounts.size(), Money.format(totalBalance));
         }
     }
 
@@ -242,7 +242,6 @@ public class CustomerUI {
     }
 
     private void searchCustomersByName(String customerName) {
-        Account[] accounts = accountManager.getAccounts();
         int accountCount = accountManager.getActualAccountCount();
 
         System.out.println("\nSearch Results for: " + customerName);
@@ -256,7 +255,7 @@ public class CustomerUI {
         System.out.println("─".repeat(80));
 
         for (int i = 0; i < accountCount; i++) {
-            Customer customer = accounts[i].getCustomer();
+            Customer customer = accountManager.getAccount(i).getCustomer();
             String customerId = customer.getCustomerId();
 
             if (processedCustomerIds.contains(customerId)) {
@@ -281,7 +280,6 @@ public class CustomerUI {
     }
 
     private void searchCustomersByType(String customerType) {
-        Account[] accounts = accountManager.getAccounts();
         int accountCount = accountManager.getActualAccountCount();
 
         System.out.println("\n" + customerType + " Customers:");
@@ -295,7 +293,7 @@ public class CustomerUI {
         System.out.println("─".repeat(80));
 
         for (int i = 0; i < accountCount; i++) {
-            Customer customer = accounts[i].getCustomer();
+            Customer customer = accountManager.getAccount(i).getCustomer();
             String customerId = customer.getCustomerId();
 
             if (processedCustomerIds.contains(customerId) ||
@@ -306,7 +304,7 @@ public class CustomerUI {
             // Count accounts for this customer
             int accountCountForCustomer = 0;
             for (int j = 0; j < accountCount; j++) {
-                if (accounts[j].getCustomer().getCustomerId().equals(customerId)) {
+                if (accountManager.getAccount(j).getCustomer().getCustomerId().equals(customerId)) {
                     accountCountForCustomer++;
                 }
             }
@@ -0,0 +1,54 @@
+package utils;
+
+/**
+ * Fixed-point money helpers. Amounts are primitive longs holding cents,
+ * so arithmetic is exact and never allocates.
+ */
+public final class Money {
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    private Money() {}
+
+    // Convert a dollar amount (e.g. user input) to cents, rounding half up
+    public static long toCents(double dollars) {
+        if (Double.isNaN(dollars) || Double.isInfinite(dollars)) {
+            throw new IllegalArgumentException("Amount must be a finite number");
+        }
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    public static double toDollars(long cents) {
+        return cents / (double) CENTS_PER_DOLLAR;
+    }
+
+    public static long add(long cents, long otherCents) {
+        return Math.addExact(cents, otherCents);
+    }
+
+    public static long subtract(long cents, long otherCents) {
+        return Math.subtractExact(cents, otherCents);
+    }
+
+    // Apply a percentage rate (e.g. 3.5 for 3.5%), rounding half up to the cent
+    public static long percentOf(long cents, double ratePercent) {
+        return Math.round(cents * ratePercent / 100.0);
+    }
+
+    // Format as "1234.56" (same output as String.format("%.2f") for cent values)
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(24), cents).toString();
+    }
+
+    public static StringBuilder appendTo(StringBuilder builder, long cents) {
+        long whole = cents / CENTS_PER_DOLLAR; // Truncates toward zero
+        long fraction = Math.abs(cents % CENTS_PER_DOLLAR);
+        if (cents < 0 && whole == 0) {
+            builder.append('-'); // e.g. -0.50
+        }
+        builder.append(whole).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction);
+    }
+}
@@ -0,0 +1,76 @@
+import account.Account;
+import account.AccountIndex;
+import account.AccountManager;
+import account.SavingsAccount;
+import customer.Customer;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountIndexTest {
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = new RegularCustomer("Index Test", 30, "0551234567", "Accra");
+    }
+
+    @Test
+    void lookupsSurviveResizing() {
+        AccountIndex index = new AccountIndex(1);
+        long initialOverhead = index.getOverheadBytes();
+        Account[] accounts = new Account[1_000];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = new SavingsAccount(Account.formatAccountNumber(500_000 + i), customer, 100_000, "Active");
+            index.put(accounts[i]);
+        }
+
+        for (Account account : accounts) {
+            assertSame(account, index.get(account.getAccountNumber()));
+        }
+        assertEquals(1_000, index.size());
+        assertNull(index.get(Account.formatAccountNumber(501_000)));
+        assertTrue(index.getOverheadBytes() > initialOverhead, "Table should have grown");
+
+        Account replacement = new SavingsAccount(accounts[7].getAccountNumber(), customer, 200_000, "Active");
+        index.put(replacement);
+        assertSame(replacement, index.get(accounts[7].getAccountNumber()));
+        assertEquals(1_000, index.size(), "Putting the same number again replaces the entry");
+    }
+
+    @Test
+    void collidingNumbersAreRejected() {
+        AccountManager accountManager = new AccountManager();
+        Account padded = new SavingsAccount("ACC600001", customer, 100_000, "Active");
+        Account unpadded = new SavingsAccount("ACC0600001", customer, 100_000, "Active"); // Same key, 600001
+        assertTrue(accountManager.addAccount(padded));
+
+        assertThrows(IllegalArgumentException.class, () -> accountManager.addAccount(unpadded));
+        assertEquals(1, accountManager.getActualAccountCount(), "A rejected account must not reach the store");
+        assertSame(padded, accountManager.findAccount("ACC600001"));
+        assertNull(accountManager.findAccount("ACC0600001"));
+
+        AccountIndex index = new AccountIndex();
+        assertThrows(IllegalArgumentException.class,
+                () -> index.put(new SavingsAccount("ACC07", customer, 100_000, "Active")),
+                "Would be read back from the journal as ACC007");
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void invalidNumbersAreNotFound() {
+        AccountIndex index = new AccountIndex();
+        index.put(new SavingsAccount("ACC700001", customer, 100_000, "Active"));
+
+        assertThrows(IllegalArgumentException.class, () -> new SavingsAccount("ACX700001", customer, 100_000, "Active"));
+        assertNull(index.get(null));
+        assertNull(index.get(""));
+        assertNull(index.get("ACC"));
+        assertNull(index.get("acc700001"));
+        assertNull(index.get("ACC7OOOO1"));
+        assertNull(index.get("ACC99999999999"), "Keys beyond int range are not account numbers");
+        assertNotNull(index.get("ACC700001"));
+    }
+}
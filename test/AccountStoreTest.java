@@ -0,0 +1,48 @@
+import account.Account;
+import account.AccountStore;
+import account.CheckingAccount;
+import customer.Customer;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountStoreTest {
+    private Customer customer;
+    private AccountStore store;
+
+    @BeforeEach
+    void setUp() {
+        customer = new RegularCustomer("Store Test", 30, "0551234567", "Accra");
+        store = new AccountStore();
+    }
+
+    @Test
+    void accountsKeepTheirPositionsAcrossPages() {
+        // Eight full pages and one more, so the page directory (8 to start with) is grown once
+        int count = AccountStore.PAGE_SIZE * 8 + 1;
+        Account[] accounts = new Account[count];
+        for (int i = 0; i < count; i++) {
+            accounts[i] = new CheckingAccount(customer, 10.0);
+            assertEquals(i, store.add(accounts[i]));
+        }
+
+        for (int i = 0; i < count; i++) {
+            assertSame(accounts[i], store.get(i));
+        }
+        assertEquals(count, store.size());
+        assertEquals(9, store.getPageCount());
+        assertTrue(store.getOverheadBytesPerAccount() < 5, "Overhead should approach one reference per account");
+    }
+
+    @Test
+    void outOfRangePositionsThrow() {
+        assertEquals(0, store.getOverheadBytesPerAccount());
+        store.add(new CheckingAccount(customer, 10.0));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(1));
+        assertTrue(store.getOverheadBytesPerAccount() > 0);
+    }
+}
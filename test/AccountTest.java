@@ -4,9 +4,12 @@ import account.CheckingAccount;
 import account.SavingsAccount;
 import customer.Customer;
 import customer.RegularCustomer;
+import utils.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class AccountTest {
@@ -109,4 +112,91 @@ public class AccountTest {
         assertEquals(800.0, target.getBalance(), 0.01,
                 "Target balance should increase by transfer amount");
     }
-}
\ No newline at end of file
+
+    @Test
+    void concurrentDepositsAreNotLost() throws InterruptedException {
+        CheckingAccount account = new CheckingAccount(regularCustomer, 0.0);
+        int threads = 8;
+        int depositsPerThread = 10_000;
+
+        runConcurrently(threads, () -> {
+            for (int i = 0; i < depositsPerThread; i++) {
+                account.deposit(1.0);
+            }
+        });
+
+        assertEquals(threads * depositsPerThread, account.getBalance(), 0.01,
+                "Every concurrent deposit should be reflected in the balance");
+    }
+
+    @Test
+    void concurrentWithdrawalsRespectMinimumBalance() throws InterruptedException {
+        AtomicInteger successes = new AtomicInteger();
+
+        runConcurrently(8, () -> {
+            for (int i = 0; i < 1000; i++) {
+                try {
+                    savingsAccount.withdraw(1.0);
+                    successes.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // Minimum balance reached
+                }
+            }
+        });
+
+        assertEquals(500.0, savingsAccount.getBalance(), 0.01,
+                "Concurrent withdrawals should stop exactly at the minimum balance");
+        assertEquals(1000, successes.get(),
+                "Only withdrawals down to the minimum balance should succeed");
+    }
+
+    @Test
+    void oppositeTransfersConserveMoney() throws InterruptedException {
+        Account first = new CheckingAccount(regularCustomer, 10_000.0);
+        Account second = new CheckingAccount(regularCustomer, 10_000.0);
+
+        Thread forward = new Thread(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                first.transfer(second, 1.0);
+            }
+        });
+        Thread backward = new Thread(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                second.transfer(first, 1.0);
+            }
+        });
+        forward.start();
+        backward.start();
+        forward.join(10_000);
+        backward.join(10_000);
+
+        assertFalse(forward.isAlive() || backward.isAlive(),
+                "Opposite-direction transfers should not deadlock");
+        assertEquals(20_000.0, first.getBalance() + second.getBalance(), 0.01,
+                "Transfers should conserve the total balance");
+    }
+
+    @Test
+    void centAmountsAddUpExactly() {
+        CheckingAccount account = new CheckingAccount(regularCustomer, 0.0);
+
+        for (int i = 0; i < 10; i++) {
+            account.deposit(0.10);
+        }
+
+        assertEquals(100, account.getBalanceCents(), "Ten deposits of $0.10 should total exactly $1.00");
+        assertEquals("1.00", Money.format(account.getBalanceCents()));
+        assertEquals("-0.05", Money.format(-5));
+    }
+
+    private static void runConcurrently(int threadCount, Runnable task) throws InterruptedException {
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(task);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import account.AccountManager;
+import api.BankApiServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BankApiServerTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void apiServerServesAccountsAndTransactions() throws Exception {
+        try (BankApiServer server = new BankApiServer(0, new AccountManager(), transactionManager,
+                new TransactionProcessor(transactionManager))) {
+            server.start();
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + server.getPort() + "/accounts";
+
+            HttpResponse<String> created = post(client, base,
+                    "name=Api+Test&age=30&contact=0551234567&address=Accra&customerType=regular"
+                            + "&accountType=savings&initialDeposit=1000", null);
+            assertEquals(201, created.statusCode(), created.body());
+            int numberStart = created.body().indexOf("\"accountNumber\":\"") + "\"accountNumber\":\"".length();
+            String accountUrl = base + "/" + created.body().substring(numberStart, created.body().indexOf('"', numberStart));
+
+            HttpResponse<String> deposit = post(client, accountUrl + "/deposit?amount=25.50", "", "key-1");
+            assertEquals(200, deposit.statusCode());
+            assertTrue(deposit.body().contains("\"balanceAfter\":1025.50"), deposit.body());
+            assertEquals(deposit.body(), post(client, accountUrl + "/deposit?amount=25.50", "", "key-1").body(),
+                    "A retry with the same key should return the original transaction");
+
+            HttpResponse<String> rejected = post(client, accountUrl + "/withdraw?amount=5000", "", null);
+            assertEquals(422, rejected.statusCode());
+            assertTrue(rejected.body().startsWith("{\"error\":"));
+
+            assertTrue(get(client, accountUrl).body().contains("\"balance\":1025.50"));
+            String history = get(client, accountUrl + "/transactions?limit=5").body();
+            assertTrue(history.contains("\"transactions\":[{"));
+            assertTrue(history.endsWith("\"hasMore\":false}"));
+            assertEquals(404, get(client, base + "/ACC999999").statusCode());
+            assertEquals(400, get(client, accountUrl + "/transactions?cursor=-5").statusCode(),
+                    "Cursors below NEWEST are bad input, not an account rule");
+            assertEquals(413, post(client, accountUrl + "/deposit", "amount=1&padding=" + "x".repeat(64 * 1024), null)
+                    .statusCode(), "Bodies over the limit should be refused, not truncated");
+            assertEquals(1, transactionManager.getTransactionCount());
+        }
+    }
+
+    private static HttpResponse<String> get(HttpClient client, String url) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(HttpClient client, String url, String form, String idempotencyKey)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,90 @@
+import account.Account;
+import account.AccountManager;
+import account.SavingsAccount;
+import batch.BatchProcessor;
+import batch.BatchResult;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+import transaction.VelocityChecker;
+import transaction.VelocityRule;
+import utils.Money;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchProcessorTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void batchFileAppliesRowsAndReportsEachOne(@TempDir Path directory) throws IOException {
+        AccountManager accountManager = new AccountManager();
+        RegularCustomer customer = new RegularCustomer("Batch Test", 30, "0551234567", "Accra");
+        Account first = new SavingsAccount(customer, 1000.0);
+        Account second = new SavingsAccount(customer, 1000.0);
+        accountManager.addAccount(first);
+        accountManager.addAccount(second);
+
+        // Enough rows to span several chunks
+        StringBuilder input = new StringBuilder("type,account,amount,target\n# comment\n\n");
+        int deposits = BatchProcessor.CHUNK_SIZE * 2 + 10;
+        for (int i = 0; i < deposits; i++) {
+            input.append("deposit,").append(first.getAccountNumber()).append(",1.5\n");
+        }
+        input.append("TRANSFER, ").append(first.getAccountNumber()).append(" ,100,").append(second.getAccountNumber()).append('\n');
+        input.append("WITHDRAWAL,").append(second.getAccountNumber()).append(",999999\n");
+        input.append("DEPOSIT,ACC999999,10\n");
+        input.append("DEPOSIT,").append(first.getAccountNumber()).append(",1.234\n");
+        input.append("REFUND,").append(first.getAccountNumber()).append(",10\n");
+        Path inputPath = directory.resolve("in.csv");
+        Path outputPath = directory.resolve("out.csv");
+        Files.writeString(inputPath, input);
+
+        BatchResult result = new BatchProcessor(accountManager, new TransactionProcessor(transactionManager))
+                .process(inputPath, outputPath);
+
+        assertEquals(deposits + 5, result.getRowCount());
+        assertEquals(deposits + 1, result.getAppliedCount());
+        assertEquals(1, result.getRejectedCount());
+        assertEquals(3, result.getInvalidCount());
+
+        List<String> lines = Files.readAllLines(outputPath);
+        int transferLine = deposits + 4;
+        long firstBalance = 100_000 + deposits * 150L - 10_000;
+        assertEquals(deposits + 6, lines.size(), "One result line per row plus the header");
+        assertEquals("4,OK,1001.50", lines.get(1), "Line numbers should count skipped lines");
+        assertEquals(transferLine + ",OK," + Money.format(firstBalance), lines.get(deposits + 1));
+        assertTrue(lines.get(deposits + 2).startsWith((transferLine + 1) + ",REJECTED,\""));
+        assertTrue(lines.get(deposits + 3).startsWith((transferLine + 2) + ",INVALID,"));
+
+        assertEquals(firstBalance, first.getBalanceCents());
+        assertEquals(110_000, second.getBalanceCents());
+        assertEquals(deposits + 2, transactionManager.getTransactionCount());
+
+        // Batch debits go through the velocity rules like any other
+        VelocityChecker checker = new VelocityChecker(List.of(VelocityRule.maxCount("one-debit",
+                VelocityRule.Scope.DEBITS, 1, 1, TimeUnit.HOURS, VelocityRule.Action.REJECT)));
+        Path limitedInput = directory.resolve("limited.csv");
+        Files.writeString(limitedInput, "WITHDRAWAL," + second.getAccountNumber() + ",1\n"
+                + "WITHDRAWAL," + second.getAccountNumber() + ",1\n");
+        BatchResult limited = new BatchProcessor(accountManager,
+                new TransactionProcessor(transactionManager, null, null, checker))
+                .process(limitedInput, directory.resolve("limited-out.csv"));
+        assertEquals(1, limited.getAppliedCount());
+        assertEquals(1, limited.getRejectedCount(), "Second debit breaks the velocity limit");
+        assertEquals(109_900, second.getBalanceCents());
+    }
+}
@@ -0,0 +1,85 @@
+import account.Account;
+import account.SavingsAccount;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import transaction.IdempotencyCache;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyCacheTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void retriedKeysApplyOnlyOnce() throws InterruptedException {
+        IdempotencyCache cache = new IdempotencyCache(2, 200, TimeUnit.MILLISECONDS);
+        TransactionProcessor processor = new TransactionProcessor(transactionManager, null, cache);
+        Account account = new SavingsAccount(new RegularCustomer("Retry Test", 30, "0551234567", "Accra"), 1000.0);
+
+        Transaction first = processor.deposit("req-1", account, 5_000);
+        assertSame(first, processor.deposit("req-1", account, 5_000), "A retry should return the original transaction");
+        assertEquals(105_000, account.getBalanceCents());
+        assertThrows(IllegalArgumentException.class, () -> processor.deposit("req-1", account, 7_000),
+                "A key cannot be reused for a different request");
+
+        // A rejected request keeps nothing, so its key can be retried once funds allow
+        assertThrows(IllegalArgumentException.class, () -> processor.withdraw("req-2", account, 200_000));
+        processor.deposit("req-3", account, 200_000);
+        processor.withdraw("req-2", account, 200_000);
+        assertEquals(105_000, account.getBalanceCents());
+
+        assertEquals(1, cache.getEvictions(), "req-1 should be evicted once the cache is full");
+        assertEquals(2, cache.size());
+        Thread.sleep(300);
+        assertEquals(0, cache.size(), "Entries should expire after the window");
+        processor.deposit("req-1", account, 5_000);
+
+        assertEquals(110_000, account.getBalanceCents());
+        assertEquals(2, cache.getHits());
+        assertEquals(5, cache.getMisses());
+
+        // A failure after the change was applied is kept, so a retry does not apply it twice
+        IdempotencyCache small = new IdempotencyCache(1, 1, TimeUnit.MINUTES);
+        AtomicInteger runs = new AtomicInteger();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThrows(IllegalStateException.class, () -> small.execute("req-4", "POST", () -> {
+                runs.incrementAndGet();
+                throw new IllegalStateException("Applied, then failed");
+            }));
+        }
+        assertEquals(1, runs.get());
+
+        // A request still running is not evicted when the cache fills up behind it
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread slow = new Thread(() -> small.execute("req-5", "SLOW", () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "done";
+        }));
+        slow.start();
+        running.await();
+        small.execute("req-6", "FAST", () -> "fast");
+        release.countDown();
+        slow.join();
+        assertEquals("done", small.execute("req-5", "SLOW", () -> "again"));
+        assertEquals(2, runs.get());
+    }
+}
@@ -0,0 +1,73 @@
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import batch.InterestAccrualJob;
+import batch.PeriodLedger;
+import batch.PostingResult;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import transaction.TransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InterestAccrualJobTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void interestPostsOncePerPeriod(@TempDir Path directory) throws IOException {
+        AccountManager accountManager = new AccountManager();
+        RegularCustomer customer = new RegularCustomer("Interest Test", 30, "0551234567", "Accra");
+        Account savings = new SavingsAccount(customer, 1000.0);
+        Account checking = new CheckingAccount(customer, 1000.0);
+        accountManager.addAccount(savings);
+        accountManager.addAccount(checking);
+        PeriodLedger ledger = new PeriodLedger(directory);
+        InterestAccrualJob job = new InterestAccrualJob(accountManager, transactionManager, ledger);
+
+        // 3.5% a year on 1000.00 is 2.92 a month
+        YearMonth january = YearMonth.of(2026, 1);
+        PostingResult first = job.run(january);
+        assertEquals(1, first.getPostedCount(), "Only savings accounts earn interest");
+        assertEquals(292, first.getTotalCents());
+        assertTrue(job.run(january).isAlreadyDone());
+        assertEquals(100_292, savings.getBalanceCents());
+        assertEquals(100_000, checking.getBalanceCents());
+        assertEquals(292, transactionManager.calculateTotalInterest(savings.getAccountNumber()));
+
+        // A crash after posting but before the period was marked done
+        YearMonth february = january.plusMonths(1);
+        job.run(february);
+        long afterFebruary = savings.getBalanceCents();
+        Files.delete(directory.resolve(InterestAccrualJob.JOB_NAME + "-" + february + ".done"));
+        PostingResult resumed = job.run(february);
+
+        assertEquals(0, resumed.getPostedCount());
+        assertEquals(1, resumed.getSkippedCount());
+        assertEquals(afterFebruary, savings.getBalanceCents());
+        assertEquals(2, transactionManager.getTransactionCount());
+        assertTrue(ledger.isDone(InterestAccrualJob.JOB_NAME, february));
+
+        // A second run while another (here, another ledger on the same directory) holds the period
+        YearMonth march = february.plusMonths(1);
+        try (PeriodLedger.Claim claim = new PeriodLedger(directory).claim(InterestAccrualJob.JOB_NAME, march)) {
+            assertNotNull(claim);
+            assertThrows(IllegalStateException.class, () -> job.run(march));
+        }
+        assertEquals(afterFebruary, savings.getBalanceCents(), "The refused run should post nothing");
+        assertFalse(ledger.isDone(InterestAccrualJob.JOB_NAME, march));
+        assertEquals(1, job.run(march).getPostedCount(), "The claim is released once its run ends");
+    }
+}
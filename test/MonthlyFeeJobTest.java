@@ -0,0 +1,60 @@
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import batch.MonthlyFeeJob;
+import batch.PeriodLedger;
+import batch.PostingResult;
+import customer.PremiumCustomer;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import transaction.TransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonthlyFeeJobTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void feesSkipPremiumAndRespectOverdraft(@TempDir Path directory) throws IOException {
+        AccountManager accountManager = new AccountManager();
+        RegularCustomer regular = new RegularCustomer("Fee Test", 30, "0551234567", "Accra");
+        PremiumCustomer premium = new PremiumCustomer("Fee Premium", 40, "0551234568", "Accra");
+        Account charged = new CheckingAccount(regular, 1000.0);
+        Account waived = new CheckingAccount(premium, 1000.0);
+        Account overdrawn = new CheckingAccount(regular, 0.0);
+        Account savings = new SavingsAccount(regular, 1000.0);
+        overdrawn.withdrawCents(99_500); // 5.00 of overdraft left, less than the 10.00 fee
+        accountManager.addAccount(charged);
+        accountManager.addAccount(waived);
+        accountManager.addAccount(overdrawn);
+        accountManager.addAccount(savings);
+
+        MonthlyFeeJob job = new MonthlyFeeJob(accountManager, transactionManager, new PeriodLedger(directory));
+        PostingResult result = job.run(YearMonth.of(2026, 1));
+
+        assertEquals(3, result.getAccountsScanned(), "Only checking accounts are charged");
+        assertEquals(1, result.getPostedCount());
+        assertEquals(1, result.getSkippedCount(), "Premium fee should be waived");
+        assertEquals(1, result.getDeclinedCount(), "Fee beyond the overdraft limit should be declined");
+        assertEquals(1_000, result.getTotalCents());
+        assertEquals(99_000, charged.getBalanceCents());
+        assertEquals(100_000, waived.getBalanceCents());
+        assertEquals(-99_500, overdrawn.getBalanceCents());
+        assertEquals(100_000, savings.getBalanceCents());
+        assertEquals(1_000, transactionManager.calculateTotalFees(charged.getAccountNumber()));
+        assertEquals(1, transactionManager.getTransactionCount());
+        assertTrue(job.run(YearMonth.of(2026, 1)).isAlreadyDone());
+    }
+}
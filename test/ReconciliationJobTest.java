@@ -0,0 +1,80 @@
+import account.Account;
+import account.AccountManager;
+import account.SavingsAccount;
+import batch.ReconciliationJob;
+import batch.ReconciliationResult;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import transaction.Transaction;
+import transaction.TransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReconciliationJobTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void reconciliationReportsFirstDivergenceIncrementally(@TempDir Path directory) throws IOException {
+        Path checkpoint = directory.resolve("reconciliation.checkpoint");
+        AccountManager accountManager = new AccountManager();
+        RegularCustomer customer = new RegularCustomer("Reconcile Test", 30, "0551234567", "Accra");
+        Account clean = new SavingsAccount(customer, 1000.0);
+        Account drifted = new SavingsAccount(customer, 1000.0);
+        accountManager.addAccount(clean);
+        accountManager.addAccount(drifted);
+        for (int i = 0; i < 2; i++) {
+            transactionManager.addTransaction(new Transaction(clean.getAccountNumber(), "DEPOSIT", 100, clean.depositCents(100)));
+        }
+        transactionManager.addTransaction(new Transaction(drifted.getAccountNumber(), "WITHDRAWAL", 100, drifted.withdrawCents(100)));
+        drifted.depositCents(50); // Applied but never recorded
+
+        ReconciliationResult first = new ReconciliationJob(accountManager, transactionManager, checkpoint).run();
+        assertEquals(2, first.getAccountsChecked());
+        assertEquals(3, first.getTransactionsReplayed());
+        assertEquals(1, first.getMismatches().size());
+        ReconciliationResult.Mismatch balanceOnly = first.getMismatches().get(0);
+        assertEquals(drifted.getAccountNumber(), balanceOnly.getAccountNumber());
+        assertNull(balanceOnly.getTransactionId(), "Every transaction agrees; only the balance is off");
+        assertEquals(99_900, balanceOnly.getExpectedCents());
+        assertEquals(99_950, balanceOnly.getActualCents());
+
+        Transaction wrong = new Transaction(clean.getAccountNumber(), "DEPOSIT", 100, 999);
+        transactionManager.addTransaction(wrong);
+        transactionManager.addTransaction(new Transaction(clean.getAccountNumber(), "DEPOSIT", 100, 1_099));
+        ReconciliationResult second = new ReconciliationJob(accountManager, transactionManager, checkpoint).run();
+
+        assertEquals(2, second.getTransactionsReplayed(), "Clean account should resume after its checkpoint");
+        assertEquals(2, second.getMismatches().size(), "Drifted account keeps being reported");
+        ReconciliationResult.Mismatch divergence = second.getMismatches().get(0);
+        assertEquals(clean.getAccountNumber(), divergence.getAccountNumber());
+        assertEquals(wrong.getTransactionId(), divergence.getTransactionId());
+        assertEquals(100_300, divergence.getExpectedCents());
+        assertEquals(999, divergence.getActualCents());
+
+        AccountManager earlyAccounts = new AccountManager();
+        TransactionManager earlyTransactions = new TransactionManager();
+        Account early = new SavingsAccount(customer, 1000.0);
+        earlyAccounts.addAccount(early);
+        early.depositCents(70); // Applied but never recorded
+        Transaction firstRecord = new Transaction(early.getAccountNumber(), "DEPOSIT", 100, early.depositCents(100));
+        earlyTransactions.addTransaction(firstRecord);
+        ReconciliationResult third = new ReconciliationJob(earlyAccounts, earlyTransactions,
+                directory.resolve("early.checkpoint")).run();
+
+        assertEquals(1, third.getMismatches().size(), "Divergence before the first record should be reported");
+        ReconciliationResult.Mismatch beforeFirst = third.getMismatches().get(0);
+        assertEquals(firstRecord.getTransactionId(), beforeFirst.getTransactionId());
+        assertEquals(100_100, beforeFirst.getExpectedCents(), "Replay starts from the recorded opening balance");
+        assertEquals(100_170, beforeFirst.getActualCents());
+    }
+}
@@ -0,0 +1,83 @@
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.SnapshotStore;
+import storage.TransactionJournal;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionPage;
+import transaction.TransactionProcessor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotStoreTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void snapshotPlusJournalTailRestoresAccounts(@TempDir Path directory) throws IOException {
+        Account account = new SavingsAccount(new RegularCustomer("Snapshot Test", 30, "0551234567", "Accra"), 1000.0);
+        Account idle = new CheckingAccount(account.getCustomer(), 50.0);
+        String accountNumber = account.getAccountNumber();
+
+        try (TransactionJournal journal = new TransactionJournal(directory.resolve("transactions.journal"))) {
+            AccountManager accountManager = new AccountManager();
+            accountManager.addAccount(account);
+            accountManager.addAccount(idle);
+            transactionManager.attachJournal(journal);
+            TransactionProcessor processor = new TransactionProcessor(transactionManager);
+            SnapshotStore snapshotStore = new SnapshotStore(directory.resolve("snapshots"), accountManager, journal);
+
+            processor.deposit(account, 10_000);
+            assertEquals(2, snapshotStore.snapshot());
+            processor.deposit(account, 500);
+            accountManager.updateStatus(idle, "Inactive");
+            assertEquals(2, snapshotStore.snapshot(), "Only the deposit's account and the status change");
+
+            accountManager.markChanged("ACC999999");
+            assertThrows(IllegalStateException.class, snapshotStore::snapshot,
+                    "An account that cannot be found must fail the snapshot, not be skipped");
+            assertEquals(List.of("ACC999999"), accountManager.takeChangedAccounts(), "Mark is kept for the next snapshot");
+            processor.deposit(account, 2_500); // Only in the journal tail
+        }
+
+        AccountManager restoredAccounts = new AccountManager();
+        TransactionManager restoredTransactions = new TransactionManager();
+        try (TransactionJournal journal = new TransactionJournal(directory.resolve("transactions.journal"))) {
+            SnapshotStore snapshotStore = new SnapshotStore(directory.resolve("snapshots"), restoredAccounts, journal);
+            long from = snapshotStore.load();
+            assertEquals(1, journal.replay(restoredTransactions, restoredAccounts, from),
+                    "Only the record after the snapshot should be replayed");
+            restoredTransactions.deferHistory(journal, from);
+
+            // The records before the snapshot are read back from the journal on first use
+            List<Transaction> rows = restoredTransactions
+                    .getTransactionPage(accountNumber, TransactionPage.NEWEST, 10).getTransactions();
+            assertEquals(3, rows.size());
+            assertEquals(2_500, rows.get(0).getAmountCents());
+            assertEquals(10_000, rows.get(2).getAmountCents());
+            assertEquals(13_000, restoredTransactions.calculateTotalDeposits(accountNumber));
+        }
+
+        Account restored = restoredAccounts.findAccount(accountNumber);
+        assertNotNull(restored);
+        assertNotSame(account, restored);
+        assertEquals("Snapshot Test", restored.getCustomer().getName());
+        assertEquals("Inactive", restoredAccounts.findAccount(idle.getAccountNumber()).getStatus());
+        assertEquals(113_000, restored.getBalanceCents());
+        assertEquals(100_000, restored.getOpeningBalanceCents(), "Opening balance is kept for reconciliation");
+    }
+}
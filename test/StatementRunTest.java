@@ -0,0 +1,70 @@
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import batch.StatementRun;
+import batch.StatementRunResult;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionPage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementRunTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void statementArchiveMatchesPerAccountFiles(@TempDir Path directory) throws IOException {
+        AccountManager accountManager = new AccountManager();
+        RegularCustomer customer = new RegularCustomer("Statement Test", 30, "0551234567", "Accra");
+        // More accounts than one chunk, so the archive is assembled from several workers
+        int accountCount = StatementRun.CHUNK_SIZE * 3 + 7;
+        for (int i = 0; i < accountCount; i++) {
+            Account account = i % 2 == 0 ? new SavingsAccount(customer, 1000.0) : new CheckingAccount(customer, 1000.0);
+            accountManager.addAccount(account);
+            transactionManager.addTransaction(new Transaction(account.getAccountNumber(), "DEPOSIT", 2_550,
+                    account.depositCents(2_550)));
+        }
+        YearMonth period = YearMonth.now();
+        StatementRun statementRun = new StatementRun(accountManager, transactionManager, 3);
+
+        StatementRunResult files = statementRun.writeFiles(directory.resolve("files"), period, null);
+        StatementRunResult archive = statementRun.writeArchive(directory.resolve("all.txt"), period, null);
+        assertEquals(accountCount, files.getStatementCount());
+        assertEquals(accountCount, archive.getStatementCount());
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < accountCount; i++) {
+            expected.append(Files.readString(directory.resolve("files")
+                    .resolve(accountManager.getAccount(i).getAccountNumber() + "-" + period + ".txt")));
+        }
+        String archiveText = Files.readString(directory.resolve("all.txt"));
+        assertEquals(expected.toString(), archiveText, "Archive should hold the statements in account order");
+        assertEquals(Files.size(directory.resolve("all.txt")), archive.getBytesWritten());
+
+        // Rows keep the layout of the printf-based transaction listing
+        Transaction first = transactionManager.getTransactionPage(accountManager.getAccount(0).getAccountNumber(),
+                TransactionPage.NEWEST, 1).getTransactions().get(0);
+        assertTrue(archiveText.contains(String.format("%-10s %-12s %-10s $%-11s $%-14s %-20s%n", first.getTransactionId(),
+                first.getAccountNumber(), first.getType(), "25.50", "1025.50", first.getTimestamp())));
+
+        StatementRunResult savingsOnly = statementRun.writeArchive(directory.resolve("savings.txt"), period,
+                account -> account instanceof SavingsAccount);
+        assertEquals((accountCount + 1) / 2, savingsOnly.getStatementCount());
+        assertFalse(Files.readString(directory.resolve("savings.txt")).contains("Account Type: Checking"));
+    }
+}
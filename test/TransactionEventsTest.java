@@ -0,0 +1,61 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import transaction.TransactionEvents;
+import transaction.Transaction;
+import transaction.TransactionManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionEventsTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void eventsReachSubscribersInBatchesWithoutBlocking() throws InterruptedException {
+        try (TransactionEvents events = new TransactionEvents(64)) {
+            transactionManager.attachEvents(events);
+
+            AtomicInteger received = new AtomicInteger();
+            AtomicInteger largestBatch = new AtomicInteger();
+            CountDownLatch allReceived = new CountDownLatch(1);
+            events.subscribe(new TransactionEvents.BatchSubscriber(8, 10, batch -> {
+                largestBatch.accumulateAndGet(batch.size(), Math::max);
+                if (received.addAndGet(batch.size()) == 100) {
+                    allReceived.countDown();
+                }
+            }));
+            // A subscriber that never finishes its first batch must not hold up recording
+            CountDownLatch release = new CountDownLatch(1);
+            events.subscribe(new TransactionEvents.BatchSubscriber(1, 10, batch -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", 100, 100L * (i + 1)));
+                if (i % 8 == 7) {
+                    Thread.sleep(1); // Give the fast subscriber time to keep up
+                }
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(allReceived.await(5, TimeUnit.SECONDS), "The fast subscriber should get every transaction");
+            release.countDown();
+            assertTrue(largestBatch.get() <= 8);
+            assertTrue(events.getDroppedCount() > 0, "The stuck subscriber's buffer should overflow and drop");
+            assertTrue(elapsedMillis < 2_000, "Recording must not wait for slow subscribers");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+import account.Account;
+import account.AccountManager;
+import account.SavingsAccount;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.TransactionJournal;
+import transaction.Transaction;
+import transaction.TransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionJournalTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void journalRecoveryRebuildsHistoryAndBalances(@TempDir Path directory) throws IOException {
+        Path journalPath = directory.resolve("transactions.journal");
+        Account account = new SavingsAccount(new RegularCustomer("Journal Test", 30, "0551234567", "Accra"), 1000.0);
+        String accountNumber = account.getAccountNumber();
+
+        try (TransactionJournal journal = new TransactionJournal(journalPath)) {
+            transactionManager.attachJournal(journal);
+            transactionManager.addTransaction(new Transaction(accountNumber, "DEPOSIT", 50_000, 150_000));
+            transactionManager.addTransaction(new Transaction(accountNumber, "WITHDRAWAL", 20_025, 129_975));
+        }
+
+        // Simulate a restart: fresh manager, account balance back at its opening value
+        AccountManager accountManager = new AccountManager();
+        accountManager.addAccount(account);
+        account.setBalanceCents(100_000);
+        TransactionManager recovered = new TransactionManager();
+        try (TransactionJournal journal = new TransactionJournal(journalPath)) {
+            assertEquals(2, journal.recover(recovered, accountManager));
+        }
+
+        assertEquals(2, recovered.getAccountHistory(accountNumber).size());
+        assertEquals(50_000, recovered.calculateTotalDeposits(accountNumber));
+        assertEquals(20_025, recovered.calculateTotalWithdrawals(accountNumber));
+        assertEquals(129_975, account.getBalanceCents(), "Balance should come back from the last journaled record");
+    }
+}
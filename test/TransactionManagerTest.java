@@ -0,0 +1,174 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import transaction.AccountHistory;
+import transaction.SegmentArchive;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionPage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionManagerTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void logKeepsMoreThan200Transactions() {
+        for (int i = 0; i < 10_000; i++) {
+            long sequence = transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", 100, 100L * (i + 1)));
+            assertEquals(i, sequence, "Sequence numbers should increase by one per append");
+        }
+
+        assertEquals(10_000, transactionManager.getTransactionCount(),
+                "No transaction should be dropped once the log passes 200 entries");
+        assertEquals(9_999, transactionManager.getLastSequence());
+    }
+
+    @Test
+    void accountHistoryTracksOnlyThatAccount() {
+        for (int i = 0; i < 100; i++) {
+            transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", 500, 0));
+            transactionManager.addTransaction(new Transaction("ACC002", "WITHDRAWAL", 200, 0));
+            if (i % 2 == 0) {
+                transactionManager.addTransaction(new Transaction("ACC001", "WITHDRAWAL", 100, 0));
+            }
+        }
+
+        AccountHistory history = transactionManager.getAccountHistory("ACC001");
+        assertEquals(150, history.size(), "History should only contain ACC001 entries");
+        assertEquals(100 * 500, transactionManager.calculateTotalDeposits("ACC001"));
+        assertEquals(50 * 100, transactionManager.calculateTotalWithdrawals("ACC001"));
+        assertEquals(100 * 200, transactionManager.calculateTotalWithdrawals("ACC002"));
+        assertNull(transactionManager.getAccountHistory("ACC999"));
+        assertEquals(0, transactionManager.calculateTotalDeposits("ACC999"));
+    }
+
+    @Test
+    void runningTotalsIncludeTransfers() {
+        transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", 10_000, 10_000));
+        transactionManager.addTransaction(new Transaction("ACC001", "TRANSFER_OUT", 3_000, 7_000));
+        transactionManager.addTransaction(new Transaction("ACC002", "TRANSFER_IN", 3_000, 3_000));
+        transactionManager.addTransaction(new Transaction("ACC001", "TRANSFER_IN", 500, 7_500));
+        transactionManager.addTransaction(new Transaction("ACC001", "WITHDRAWAL", 1_000, 6_500));
+
+        AccountHistory history = transactionManager.getAccountHistory("ACC001");
+        assertEquals(4, history.size());
+        assertEquals(10_000, transactionManager.calculateTotalDeposits("ACC001"));
+        assertEquals(1_000, transactionManager.calculateTotalWithdrawals("ACC001"));
+        assertEquals(500, transactionManager.calculateTotalTransfersIn("ACC001"));
+        assertEquals(3_000, transactionManager.calculateTotalTransfersOut("ACC001"));
+        assertEquals(6_500, history.getNetChange(), "Net change should count transfers as well");
+        assertEquals(3_000, transactionManager.calculateTotalTransfersIn("ACC002"));
+
+        // Type codes are persisted without names, so only the known types are accepted
+        assertThrows(IllegalArgumentException.class, () -> new Transaction("ACC001", "BONUS", 100, 6_600));
+        assertThrows(IllegalArgumentException.class, () -> transactionManager.calculateBankTotal("BONUS"));
+        assertEquals(10_000, transactionManager.calculateBankTotal("DEPOSIT"));
+    }
+
+    @Test
+    void pagesWalkHistoryNewestFirst() {
+        for (int i = 1; i <= 45; i++) {
+            transactionManager.addTransaction(new Transaction("ACC001", "DEPOSIT", i, 0));
+            transactionManager.addTransaction(new Transaction("ACC002", "DEPOSIT", 1_000 + i, 0));
+        }
+
+        TransactionPage page = transactionManager.getTransactionPage("ACC001", TransactionPage.NEWEST, 20);
+        long expectedAmount = 45;
+        int pages = 0;
+        while (true) {
+            pages++;
+            assertTrue(page.getTransactions().size() <= 20, "A page should never exceed the page size");
+            for (Transaction transaction : page.getTransactions()) {
+                assertEquals(expectedAmount--, transaction.getAmountCents(), "Pages should run newest to oldest");
+            }
+            if (!page.hasMore()) {
+                break;
+            }
+            page = transactionManager.getTransactionPage("ACC001", page.getNextCursor(), 20);
+        }
+
+        assertEquals(3, pages);
+        assertEquals(0, expectedAmount, "Every ACC001 entry should be returned exactly once");
+        assertTrue(transactionManager.getTransactionPage("ACC999", TransactionPage.NEWEST, 20).isEmpty());
+    }
+
+    @Test
+    void timeRangeReturnsOnlyEntriesInWindow() {
+        // One entry per day for each account, 100 days from a fixed start
+        long day = 24L * 60 * 60 * 1000;
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < 100; i++) {
+            transactionManager.restoreTransaction(Transaction.restore(2 * i + 1, "ACC001", "DEPOSIT", i, 0, start + i * day));
+            transactionManager.restoreTransaction(Transaction.restore(2 * i + 2, "ACC002", "DEPOSIT", i, 0, start + i * day));
+        }
+
+        List<Transaction> window = transactionManager.getTransactionsBetween("ACC001", start + 10 * day, start + 20 * day);
+        assertEquals(10, window.size(), "The range should be [from, to)");
+        assertEquals(10, window.get(0).getAmountCents());
+        assertEquals(19, window.get(9).getAmountCents());
+        assertEquals(20, transactionManager.getTransactionsBetween(start + 10 * day, start + 20 * day).size());
+        assertTrue(transactionManager.getTransactionsBetween("ACC001", start + 200 * day, start + 300 * day).isEmpty());
+        assertTrue(transactionManager.getTransactionsBetween("ACC001", start + 20 * day, start + 10 * day).isEmpty());
+    }
+
+    @Test
+    void archivedSegmentsReadBackTransparently(@TempDir Path directory) throws IOException {
+        // 10,000 entries a minute apart, all long in the past: two full segments plus a partial one
+        long minute = 60_000L;
+        long start = 1_600_000_000_000L;
+        for (int i = 0; i < 10_000; i++) {
+            String accountNumber = i % 2 == 0 ? "ACC001" : "ACC002";
+            transactionManager.restoreTransaction(Transaction.restore(i + 1, accountNumber,
+                    i % 3 == 0 ? "WITHDRAWAL" : "DEPOSIT", i, 1_000_000 - i * 7L, start + i * minute));
+        }
+        Transaction before = transactionManager.getTransaction(1_234);
+        long depositsBefore = transactionManager.calculateBankTotal("DEPOSIT");
+        long memoryBefore = transactionManager.getLogMemoryBytes();
+
+        SegmentArchive archive = new SegmentArchive(directory, 2);
+        transactionManager.enableArchiving(archive, 30L * 24 * 60 * minute);
+
+        assertEquals(2, transactionManager.getArchivedSegmentCount(), "Only full segments should be archived");
+        assertTrue(transactionManager.getLogMemoryBytes() < memoryBefore);
+
+        Transaction after = transactionManager.getTransaction(1_234);
+        assertEquals(before.getTransactionNumber(), after.getTransactionNumber());
+        assertEquals(before.getAccountNumber(), after.getAccountNumber());
+        assertEquals(before.getType(), after.getType());
+        assertEquals(before.getAmountCents(), after.getAmountCents());
+        assertEquals(before.getBalanceAfterCents(), after.getBalanceAfterCents());
+        assertEquals(before.getTimestampMillis(), after.getTimestampMillis());
+
+        assertEquals(50, transactionManager.getTransactionsBetween("ACC001", start, start + 100 * minute).size());
+        assertEquals(depositsBefore, transactionManager.calculateBankTotal("DEPOSIT"));
+        transactionManager.getTransaction(1_235); // Same segment again, served from the cache
+        assertTrue(archive.getCacheHits() > 0);
+    }
+
+    @Test
+    void archiveFailureIsReportedNotThrown(@TempDir Path directory) throws IOException {
+        Path broken = directory.resolve("broken");
+        transactionManager.enableArchiving(new SegmentArchive(broken, 2), 60_000L);
+        Files.delete(broken);
+        Files.createFile(broken); // Segment files can no longer be written
+        long start = 1_600_000_000_000L;
+        for (int i = 0; i < 10_000; i++) {
+            transactionManager.restoreTransaction(Transaction.restore(i + 1, "ACC001", "DEPOSIT", 1, i + 1, start + i));
+        }
+
+        assertEquals(10_000, transactionManager.getTransactionCount(), "Appends must not fail with the archive");
+        assertEquals(0, transactionManager.getArchivedSegmentCount());
+        assertNotNull(transactionManager.getArchiveFailure(), "The stopped archive should be visible to the caller");
+    }
+}
@@ -0,0 +1,81 @@
+import account.Account;
+import account.SavingsAccount;
+import customer.RegularCustomer;
+import exceptions.VelocityLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import transaction.IdempotencyCache;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+import transaction.VelocityChecker;
+import transaction.VelocityRule;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VelocityCheckerTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void velocityRulesRejectAndFlagWithinWindow() {
+        AtomicLong clock = new AtomicLong(1_000_000);
+        VelocityChecker checker = new VelocityChecker(List.of(
+                VelocityRule.maxCount("burst", VelocityRule.Scope.DEBITS, 3, 60, TimeUnit.SECONDS, VelocityRule.Action.REJECT),
+                VelocityRule.maxAmount("large", VelocityRule.Scope.DEBITS, 100_00, 60, TimeUnit.SECONDS, VelocityRule.Action.FLAG)),
+                clock::get);
+        TransactionProcessor processor = new TransactionProcessor(transactionManager, null, new IdempotencyCache(), checker);
+        RegularCustomer customer = new RegularCustomer("Velocity Test", 30, "0551234567", "Accra");
+        Account source = new SavingsAccount(customer, 1000.0);
+        Account target = new SavingsAccount(customer, 1000.0);
+        AtomicInteger flags = new AtomicInteger();
+        AtomicBoolean notifiedUnlocked = new AtomicBoolean(true);
+        checker.setFlagListener((accountNumber, rule, amountCents) -> {
+            flags.incrementAndGet();
+            // Another thread must be able to lock the account while the listener runs
+            try {
+                CompletableFuture.runAsync(() -> source.callLocked(() -> null)).get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                notifiedUnlocked.set(false);
+            }
+        });
+
+        processor.withdraw(source, 10_00);
+        processor.transfer(source, target, 10_00);
+        processor.withdraw(source, 10_00);
+        VelocityLimitExceededException e = assertThrows(VelocityLimitExceededException.class,
+                () -> processor.withdraw(source, 10_00));
+        assertEquals("burst", e.getRule().getName());
+        assertEquals(97_000, source.getBalanceCents(), "Rejected withdrawal must not change the balance");
+        processor.deposit(source, 10_00); // Credits are not limited by debit rules
+        processor.deposit(target, 10_00);
+
+        // Once the window has moved on, debits are allowed again; this one is flagged for its size
+        clock.addAndGet(61_000);
+        processor.withdraw(source, 150_00);
+        assertEquals(1, checker.getTrackedAccountCount(), "Target never counted in a window, so it is swept");
+
+        // Large enough to flag, but refused by the minimum balance: never recorded, so never flagged
+        assertThrows(IllegalArgumentException.class, () -> processor.withdraw(source, 2_000_00));
+        clock.addAndGet(61_000);
+        processor.deposit(target, 10_00);
+
+        assertEquals(8, transactionManager.getTransactionCount());
+        assertEquals(83_000, source.getBalanceCents());
+        assertEquals(1, checker.getRejectedCount());
+        assertEquals(1, checker.getFlaggedCount());
+        assertEquals(1, flags.get());
+        assertTrue(notifiedUnlocked.get(), "Flag listener must run with the account unlocked");
+        assertEquals(0, checker.getTrackedAccountCount(), "Idle windows should be evicted");
+    }
+}
@@ -0,0 +1,141 @@
+import account.Account;
+import account.AccountManager;
+import account.CheckingAccount;
+import account.SavingsAccount;
+import customer.RegularCustomer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.TransactionJournal;
+import storage.WriteAheadLog;
+import transaction.Transaction;
+import transaction.TransactionManager;
+import transaction.TransactionProcessor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteAheadLogTest {
+    private TransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new TransactionManager();
+    }
+
+    @Test
+    void writeAheadLogRecordsEveryIntentBeforeAcknowledging(@TempDir Path directory) throws Exception {
+        Path walPath = directory.resolve("bank.wal");
+        Account account = new SavingsAccount(new RegularCustomer("WAL Test", 30, "0551234567", "Accra"), 1000.0);
+        int threads = 8;
+        int depositsPerThread = 50;
+
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(walPath, 100, TimeUnit.MICROSECONDS)) {
+            TransactionProcessor processor = new TransactionProcessor(transactionManager, writeAheadLog);
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < depositsPerThread; i++) {
+                        processor.deposit(account, 100);
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            assertEquals(threads * depositsPerThread - 1, writeAheadLog.getDurableLsn(),
+                    "Every acknowledged deposit should already be on disk");
+
+            assertThrows(IllegalArgumentException.class, () -> processor.withdraw(account, 10_000_000));
+        }
+
+        List<WriteAheadLog.Record> records = WriteAheadLog.readRecords(walPath);
+        assertEquals(threads * depositsPerThread + 2, records.size());
+        WriteAheadLog.Record abort = records.get(records.size() - 1);
+        assertEquals(WriteAheadLog.ABORT, abort.getOperation(), "A rejected withdrawal should be marked aborted");
+        assertEquals(records.get(records.size() - 2).getLsn(), abort.getAmountCents());
+        assertEquals(100_000 + threads * depositsPerThread * 100, account.getBalanceCents());
+    }
+
+    @Test
+    void writeAheadLogRecoveryRestoresLostJournalTail(@TempDir Path directory) throws Exception {
+        Path walPath = directory.resolve("bank.wal");
+        RegularCustomer customer = new RegularCustomer("Recovery Test", 30, "0551234567", "Accra");
+        Account source = new SavingsAccount(customer, 1000.0);
+        Account target = new CheckingAccount(customer, 100.0);
+
+        // No journal, as if its tail was lost: only the write-ahead log has these
+        Transaction deposit;
+        Transaction[] transfer;
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(walPath)) {
+            TransactionProcessor processor = new TransactionProcessor(transactionManager, writeAheadLog);
+            deposit = processor.deposit(source, 10_000);
+            transfer = processor.transfer(source, target, 2_500);
+            assertThrows(IllegalArgumentException.class, () -> processor.withdraw(target, 10_000_000));
+        }
+        Files.copy(walPath, directory.resolve("snapshot-ahead.wal"));
+        Files.copy(walPath, directory.resolve("journal-intact.wal"));
+
+        // Restart with balances from before the run: both intents are applied again
+        Account[] restarted = recoveryAccounts(source, target, 100_000, 10_000);
+        TransactionManager reapplied = new TransactionManager();
+        try (TransactionJournal journal = new TransactionJournal(directory.resolve("reapply.journal"));
+             WriteAheadLog writeAheadLog = new WriteAheadLog(walPath)) {
+            reapplied.attachJournal(journal);
+            assertEquals(2, writeAheadLog.recover(accountsOf(restarted), reapplied, journal));
+            assertEquals(3, journal.getRecordCount());
+        }
+        assertEquals(107_500, restarted[0].getBalanceCents());
+        assertEquals(12_500, restarted[1].getBalanceCents());
+        assertEquals(deposit.getTransactionNumber(), reapplied.getTransaction(0).getTransactionNumber());
+        assertEquals(transfer[1].getTransactionNumber(), reapplied.getTransaction(2).getTransactionNumber());
+        assertTrue(WriteAheadLog.readRecords(walPath).isEmpty(), "Recovery should end with an empty log");
+
+        // Restart from a snapshot that already has the final balances: only the journal is filled in
+        Account[] ahead = recoveryAccounts(source, target, 107_500, 12_500);
+        try (TransactionJournal journal = new TransactionJournal(directory.resolve("ahead.journal"));
+             WriteAheadLog writeAheadLog = new WriteAheadLog(directory.resolve("snapshot-ahead.wal"))) {
+            TransactionManager restored = new TransactionManager();
+            restored.attachJournal(journal);
+            assertEquals(2, writeAheadLog.recover(accountsOf(ahead), restored, journal));
+            assertEquals(3, journal.getRecordCount());
+        }
+        assertEquals(107_500, ahead[0].getBalanceCents());
+        assertEquals(12_500, ahead[1].getBalanceCents());
+
+        // Restart with the journal written by the first restart: nothing left to do
+        Account[] replayed = recoveryAccounts(source, target, 100_000, 10_000);
+        try (TransactionJournal journal = new TransactionJournal(directory.resolve("reapply.journal"));
+             WriteAheadLog writeAheadLog = new WriteAheadLog(directory.resolve("journal-intact.wal"))) {
+            TransactionManager restored = new TransactionManager();
+            AccountManager accountManager = accountsOf(replayed);
+            journal.replay(restored, accountManager, 0);
+            restored.attachJournal(journal);
+            assertEquals(0, writeAheadLog.recover(accountManager, restored, journal));
+            assertEquals(3, journal.getRecordCount());
+        }
+        assertEquals(107_500, replayed[0].getBalanceCents());
+        assertEquals(12_500, replayed[1].getBalanceCents());
+    }
+
+    // Fresh copies of the two accounts under the same numbers, as a restart would load them
+    private static Account[] recoveryAccounts(Account source, Account target, long sourceCents, long targetCents) {
+        return new Account[] {
+                new SavingsAccount(source.getAccountNumber(), source.getCustomer(), sourceCents, "Active"),
+                new CheckingAccount(target.getAccountNumber(), target.getCustomer(), targetCents, "Active")
+        };
+    }
+
+    private static AccountManager accountsOf(Account[] accounts) {
+        AccountManager accountManager = new AccountManager();
+        for (Account account : accounts) {
+            accountManager.addAccount(account);
+        }
+        return accountManager;
+    }
+}